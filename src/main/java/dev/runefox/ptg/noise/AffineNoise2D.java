@@ -0,0 +1,111 @@
+/*
+ * Copyright 2020-2026 O. W. Nankman
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "
+ * AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package dev.runefox.ptg.noise;
+
+/**
+ * A noise generator that applies an affine transformation to the coordinates and to the output of another noise
+ * generator. Chains of {@link #scale}, {@link #translate}, {@link #add}, {@link #multiply}, {@link #lerp} and alike fold
+ * into one instance of this class, so such a chain costs one extra call per sample instead of one per operation.
+ * Folding may change results in the last bits, as the folded constants are rounded differently than the original chain.
+ */
+final class AffineNoise2D implements Noise2D {
+    private final Noise2D noise;
+    private final double scaleX;
+    private final double scaleY;
+    private final double offsetX;
+    private final double offsetY;
+    private final double multiplier;
+    private final double addend;
+
+    AffineNoise2D(Noise2D noise, double scaleX, double scaleY, double offsetX, double offsetY, double multiplier, double addend) {
+        this.noise = noise;
+        this.scaleX = scaleX;
+        this.scaleY = scaleY;
+        this.offsetX = offsetX;
+        this.offsetY = offsetY;
+        this.multiplier = multiplier;
+        this.addend = addend;
+    }
+
+    static Noise2D coordinates(Noise2D noise, double scaleX, double scaleY, double offsetX, double offsetY) {
+        return new AffineNoise2D(noise, scaleX, scaleY, offsetX, offsetY, 1, 0);
+    }
+
+    static Noise2D output(Noise2D noise, double multiplier, double addend) {
+        return new AffineNoise2D(noise, 1, 1, 0, 0, multiplier, addend);
+    }
+
+    @Override
+    public double generate(double x, double y) {
+        return noise.generate(x * scaleX + offsetX, y * scaleY + offsetY) * multiplier + addend;
+    }
+
+    // The spacing is scaled like the coordinates, along the axis that shrinks it most, so that no detail is left out
+    // that is still visible along another axis
+    @Override
+    public double generateLod(double x, double y, double spacing) {
+        double scale = Math.min(Math.abs(scaleX), Math.abs(scaleY));
+        return noise.generateLod(x * scaleX + offsetX, y * scaleY + offsetY, spacing * scale) * multiplier + addend;
+    }
+
+    private Noise2D withOutput(double multiplier, double addend) {
+        return new AffineNoise2D(noise, scaleX, scaleY, offsetX, offsetY, multiplier, addend);
+    }
+
+    @Override
+    public Noise2D add(double amount) {
+        return withOutput(multiplier, addend + amount);
+    }
+
+    @Override
+    public Noise2D subtract(double amount) {
+        return withOutput(multiplier, addend - amount);
+    }
+
+    @Override
+    public Noise2D multiply(double amount) {
+        return withOutput(multiplier * amount, addend * amount);
+    }
+
+    @Override
+    public Noise2D divide(double amount) {
+        return withOutput(multiplier / amount, addend / amount);
+    }
+
+    @Override
+    public Noise2D inverse() {
+        return withOutput(-multiplier, -addend);
+    }
+
+    @Override
+    public Noise2D lerp(double min, double max) {
+        double half = (max - min) / 2;
+        return withOutput(multiplier * half, (addend + 1) * half + min);
+    }
+
+    @Override
+    public Noise2D scale(double scale) {
+        return scale(scale, scale);
+    }
+
+    @Override
+    public Noise2D scale(double x, double y) {
+        return new AffineNoise2D(noise, scaleX * x, scaleY * y, offsetX, offsetY, multiplier, addend);
+    }
+
+    @Override
+    public Noise2D translate(double x, double y) {
+        return new AffineNoise2D(noise, scaleX, scaleY, offsetX + x * scaleX, offsetY + y * scaleY, multiplier, addend);
+    }
+}
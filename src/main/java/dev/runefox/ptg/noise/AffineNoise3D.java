@@ -0,0 +1,115 @@
+/*
+ * Copyright 2020-2026 O. W. Nankman
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "
+ * AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package dev.runefox.ptg.noise;
+
+/**
+ * A noise generator that applies an affine transformation to the coordinates and to the output of another noise
+ * generator. Chains of {@link #scale}, {@link #translate}, {@link #add}, {@link #multiply}, {@link #lerp} and alike fold
+ * into one instance of this class, so such a chain costs one extra call per sample instead of one per operation.
+ * Folding may change results in the last bits, as the folded constants are rounded differently than the original chain.
+ */
+final class AffineNoise3D implements Noise3D {
+    private final Noise3D noise;
+    private final double scaleX;
+    private final double scaleY;
+    private final double scaleZ;
+    private final double offsetX;
+    private final double offsetY;
+    private final double offsetZ;
+    private final double multiplier;
+    private final double addend;
+
+    AffineNoise3D(Noise3D noise, double scaleX, double scaleY, double scaleZ, double offsetX, double offsetY, double offsetZ, double multiplier, double addend) {
+        this.noise = noise;
+        this.scaleX = scaleX;
+        this.scaleY = scaleY;
+        this.scaleZ = scaleZ;
+        this.offsetX = offsetX;
+        this.offsetY = offsetY;
+        this.offsetZ = offsetZ;
+        this.multiplier = multiplier;
+        this.addend = addend;
+    }
+
+    static Noise3D coordinates(Noise3D noise, double scaleX, double scaleY, double scaleZ, double offsetX, double offsetY, double offsetZ) {
+        return new AffineNoise3D(noise, scaleX, scaleY, scaleZ, offsetX, offsetY, offsetZ, 1, 0);
+    }
+
+    static Noise3D output(Noise3D noise, double multiplier, double addend) {
+        return new AffineNoise3D(noise, 1, 1, 1, 0, 0, 0, multiplier, addend);
+    }
+
+    @Override
+    public double generate(double x, double y, double z) {
+        return noise.generate(x * scaleX + offsetX, y * scaleY + offsetY, z * scaleZ + offsetZ) * multiplier + addend;
+    }
+
+    // The spacing is scaled like the coordinates, along the axis that shrinks it most, so that no detail is left out
+    // that is still visible along another axis
+    @Override
+    public double generateLod(double x, double y, double z, double spacing) {
+        double scale = Math.min(Math.abs(scaleX), Math.min(Math.abs(scaleY), Math.abs(scaleZ)));
+        return noise.generateLod(x * scaleX + offsetX, y * scaleY + offsetY, z * scaleZ + offsetZ, spacing * scale) * multiplier + addend;
+    }
+
+    private Noise3D withOutput(double multiplier, double addend) {
+        return new AffineNoise3D(noise, scaleX, scaleY, scaleZ, offsetX, offsetY, offsetZ, multiplier, addend);
+    }
+
+    @Override
+    public Noise3D add(double amount) {
+        return withOutput(multiplier, addend + amount);
+    }
+
+    @Override
+    public Noise3D subtract(double amount) {
+        return withOutput(multiplier, addend - amount);
+    }
+
+    @Override
+    public Noise3D multiply(double amount) {
+        return withOutput(multiplier * amount, addend * amount);
+    }
+
+    @Override
+    public Noise3D divide(double amount) {
+        return withOutput(multiplier / amount, addend / amount);
+    }
+
+    @Override
+    public Noise3D inverse() {
+        return withOutput(-multiplier, -addend);
+    }
+
+    @Override
+    public Noise3D lerp(double min, double max) {
+        double half = (max - min) / 2;
+        return withOutput(multiplier * half, (addend + 1) * half + min);
+    }
+
+    @Override
+    public Noise3D scale(double scale) {
+        return scale(scale, scale, scale);
+    }
+
+    @Override
+    public Noise3D scale(double x, double y, double z) {
+        return new AffineNoise3D(noise, scaleX * x, scaleY * y, scaleZ * z, offsetX, offsetY, offsetZ, multiplier, addend);
+    }
+
+    @Override
+    public Noise3D translate(double x, double y, double z) {
+        return new AffineNoise3D(noise, scaleX, scaleY, scaleZ, offsetX + x * scaleX, offsetY + y * scaleY, offsetZ + z * scaleZ, multiplier, addend);
+    }
+}
@@ -13,6 +13,8 @@
 
 package dev.runefox.ptg.noise;
 
+import dev.runefox.ptg.noise.util.HashFamily;
+import dev.runefox.ptg.noise.util.LatticeHash2D;
 import dev.runefox.ptg.noise.util.NoiseMath;
 
 /**
@@ -23,6 +25,10 @@ public abstract class BaseNoise2D implements Noise2D {
     protected final double scaleX;
     protected final double scaleY;
 
+    private HashFamily hashFamily = HashFamily.CLASSIC;
+    private LatticeHash2D lattice;
+    private int latticeSeed;
+
     /**
      * Generic constructor for a 2D noise generator
      *
@@ -94,6 +100,60 @@ public abstract class BaseNoise2D implements Noise2D {
         this.seed = seed;
     }
 
+    /**
+     * Sets the hash family this generator hashes lattice coordinates with. This changes the generated noise.
+     *
+     * @param family The new hash family
+     */
+    public void setHashFamily(HashFamily family) {
+        if (family == null)
+            throw new NullPointerException("family");
+        this.hashFamily = family;
+        this.lattice = null;
+    }
+
+    /**
+     * Returns the hash family this generator hashes lattice coordinates with, {@link HashFamily#CLASSIC} by default.
+     */
+    public HashFamily getHashFamily() {
+        return hashFamily;
+    }
+
+    /**
+     * Returns the lattice hash of this generator for its current seed. The lattice hash is created again when the seed
+     * has changed since the last call.
+     */
+    protected LatticeHash2D lattice() {
+        LatticeHash2D lattice = this.lattice;
+        if (lattice == null || latticeSeed != seed) {
+            lattice = createLattice();
+            latticeSeed = seed;
+            this.lattice = lattice;
+        }
+        return lattice;
+    }
+
+    /**
+     * Creates the lattice hash of this generator for its current seed. Generators that need more than one hash per
+     * lattice point override this to create a lattice hash with multiple channels.
+     */
+    protected LatticeHash2D createLattice() {
+        return LatticeHash2D.of(hashFamily, seed);
+    }
+
+    /**
+     * Returns whether this generator and the given generator are both exactly of the given class and have the same
+     * scaling. Such generators evaluate the same coordinates, so generators that override
+     * {@link #generatePair generatePair} may share the work on those coordinates. Subclasses of the given class are
+     * excluded, since they may generate noise differently.
+     */
+    protected boolean canFuse(Noise2D other, Class<? extends BaseNoise2D> type) {
+        if (getClass() != type || other.getClass() != type)
+            return false;
+        BaseNoise2D o = (BaseNoise2D) other;
+        return o.scaleX == scaleX && o.scaleY == scaleY;
+    }
+
     /**
      * Returns the seed of this generator
      */
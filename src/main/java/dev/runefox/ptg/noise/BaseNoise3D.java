@@ -13,6 +13,8 @@
 
 package dev.runefox.ptg.noise;
 
+import dev.runefox.ptg.noise.util.HashFamily;
+import dev.runefox.ptg.noise.util.LatticeHash3D;
 import dev.runefox.ptg.noise.util.NoiseMath;
 
 /**
@@ -24,6 +26,10 @@ public abstract class BaseNoise3D implements Noise3D {
     protected final double scaleY;
     protected final double scaleZ;
 
+    private HashFamily hashFamily = HashFamily.CLASSIC;
+    private LatticeHash3D lattice;
+    private int latticeSeed;
+
     /**
      * Generic constructor for a 3D noise generator
      *
@@ -80,6 +86,61 @@ public abstract class BaseNoise3D implements Noise3D {
         this.seed = seed;
     }
 
+    /**
+     * Sets the hash family this generator hashes lattice coordinates with. This changes the generated noise.
+     *
+     * @param family The new hash family
+     */
+    public void setHashFamily(HashFamily family) {
+        if (family == null)
+            throw new NullPointerException("family");
+        this.hashFamily = family;
+        this.lattice = null;
+    }
+
+    /**
+     * Returns the hash family this generator hashes lattice coordinates with, {@link HashFamily#CLASSIC} by default.
+     */
+    public HashFamily getHashFamily() {
+        return hashFamily;
+    }
+
+    /**
+     * Returns the lattice hash of this generator for its current seed. The lattice hash is created again when the seed
+     * has changed since the last call.
+     */
+    protected LatticeHash3D lattice() {
+        LatticeHash3D lattice = this.lattice;
+        if (lattice == null || latticeSeed != seed) {
+            lattice = createLattice();
+            latticeSeed = seed;
+            this.lattice = lattice;
+        }
+        return lattice;
+    }
+
+    /**
+     * Creates the lattice hash of this generator for its current seed. Generators that need more than one hash per
+     * lattice point override this to create a lattice hash with multiple channels.
+     */
+    protected LatticeHash3D createLattice() {
+        return LatticeHash3D.of(hashFamily, seed);
+    }
+
+    /**
+     * Creates a slice of the fractal noise field made of the given octaves, with the scaling of this generator. The
+     * octave at index {@code i} is sampled at the coordinates multiplied by {@code 2^i} and its value is divided by
+     * {@code 2^i}, or the other way around if {@code inverse} is true.
+     *
+     * @param octaves The octaves
+     * @param inverse Whether the fractal noise is inverse
+     * @param z       The Z coordinate of the slice
+     * @return The created slice
+     */
+    protected NoiseSlice fractalSlice(Noise3D[] octaves, boolean inverse, double z) {
+        return new FractalNoiseSlice(octaves, inverse, scaleX, scaleY, scaleZ, z);
+    }
+
     /**
      * Generates a noise and multiplies it by a specific amount.
      *
@@ -107,4 +168,20 @@ public abstract class BaseNoise3D implements Noise3D {
     public double generateInRange(double x, double y, double z, double min, double max) {
         return NoiseMath.lerp(min, max, (generate(x, y, z) + 1) / 2);
     }
+
+    /**
+     * Returns whether this generator and the given generators are all exactly of the given class and have the same
+     * scaling. Such generators evaluate the same coordinates, so generators that override
+     * {@link #generateTriple generateTriple} may share the work on those coordinates. Subclasses of the given class are
+     * excluded, since they may generate noise differently.
+     */
+    protected boolean canFuse(Noise3D b, Noise3D c, Class<? extends BaseNoise3D> type) {
+        if (getClass() != type || b.getClass() != type || c.getClass() != type)
+            return false;
+        return hasScaleOf((BaseNoise3D) b) && hasScaleOf((BaseNoise3D) c);
+    }
+
+    private boolean hasScaleOf(BaseNoise3D other) {
+        return other.scaleX == scaleX && other.scaleY == scaleY && other.scaleZ == scaleZ;
+    }
 }
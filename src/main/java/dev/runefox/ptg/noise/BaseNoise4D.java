@@ -0,0 +1,177 @@
+/*
+ * Copyright 2020-2026 O. W. Nankman
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "
+ * AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package dev.runefox.ptg.noise;
+
+import dev.runefox.ptg.noise.util.HashFamily;
+import dev.runefox.ptg.noise.util.LatticeHash4D;
+import dev.runefox.ptg.noise.util.NoiseMath;
+
+/**
+ * Generic class for 4D noise generator implementations ({@link Noise4D} generators).
+ */
+public abstract class BaseNoise4D implements Noise4D {
+    protected int seed;
+    protected final double scaleX;
+    protected final double scaleY;
+    protected final double scaleZ;
+    protected final double scaleW;
+
+    private HashFamily hashFamily = HashFamily.CLASSIC;
+    private LatticeHash4D lattice;
+    private int latticeSeed;
+
+    /**
+     * Generic constructor for a 4D noise generator
+     *
+     * @param seed The seed, may be any {@link int}
+     */
+    public BaseNoise4D(int seed) {
+        this.seed = seed;
+        this.scaleX = 1;
+        this.scaleY = 1;
+        this.scaleZ = 1;
+        this.scaleW = 1;
+    }
+
+    /**
+     * Generic constructor for a 4D noise generator
+     *
+     * @param seed  The seed, may be any {@link int}
+     * @param scale The scaling of the noise field along all axes
+     */
+    public BaseNoise4D(int seed, double scale) {
+        this.seed = seed;
+        this.scaleX = scale;
+        this.scaleY = scale;
+        this.scaleZ = scale;
+        this.scaleW = scale;
+    }
+
+    /**
+     * Generic constructor for a 4D noise generator
+     *
+     * @param seed   The seed, may be any {@link int}
+     * @param scaleX The scaling of the noise field along X axis
+     * @param scaleY The scaling of the noise field along Y axis
+     * @param scaleZ The scaling of the noise field along Z axis
+     * @param scaleW The scaling of the noise field along W axis
+     */
+    public BaseNoise4D(int seed, double scaleX, double scaleY, double scaleZ, double scaleW) {
+        this.seed = seed;
+        this.scaleX = scaleX;
+        this.scaleY = scaleY;
+        this.scaleZ = scaleZ;
+        this.scaleW = scaleW;
+    }
+
+    /**
+     * Returns the seed of this generator
+     */
+    public int getSeed() {
+        return seed;
+    }
+
+    /**
+     * Sets the seed of this generator
+     *
+     * @param seed The new seed
+     */
+    public void setSeed(int seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Sets the hash family this generator hashes lattice coordinates with. This changes the generated noise.
+     *
+     * @param family The new hash family
+     */
+    public void setHashFamily(HashFamily family) {
+        if (family == null)
+            throw new NullPointerException("family");
+        this.hashFamily = family;
+        this.lattice = null;
+    }
+
+    /**
+     * Returns the hash family this generator hashes lattice coordinates with, {@link HashFamily#CLASSIC} by default.
+     */
+    public HashFamily getHashFamily() {
+        return hashFamily;
+    }
+
+    /**
+     * Returns the lattice hash of this generator for its current seed. The lattice hash is created again when the seed
+     * has changed since the last call.
+     */
+    protected LatticeHash4D lattice() {
+        LatticeHash4D lattice = this.lattice;
+        if (lattice == null || latticeSeed != seed) {
+            lattice = createLattice();
+            latticeSeed = seed;
+            this.lattice = lattice;
+        }
+        return lattice;
+    }
+
+    /**
+     * Creates the lattice hash of this generator for its current seed.
+     */
+    protected LatticeHash4D createLattice() {
+        return LatticeHash4D.of(hashFamily, seed);
+    }
+
+    /**
+     * Returns the coordinates of the points of a grid along one axis: {@code start + i * spacing} for every {@code i}
+     * from 0 to {@code count - 1}. These are the coordinates that
+     * {@link Noise4D#generateGrid(double, double, double, double, double, double, double, int, int, int, double[], int)}
+     * generates noise at.
+     */
+    protected static double[] gridCoordinates(double start, double spacing, int count) {
+        double[] coords = new double[count];
+        for (int i = 0; i < count; i++) {
+            coords[i] = start + i * spacing;
+        }
+        return coords;
+    }
+
+    /**
+     * Generates a noise and multiplies it by a specific amount.
+     *
+     * @param x    The x coordinate
+     * @param y    The y coordinate
+     * @param z    The z coordinate
+     * @param w    The w coordinate
+     * @param mult The multiplier
+     * @return The generated noise value
+     */
+    @Override
+    public double generateMultiplied(double x, double y, double z, double w, double mult) {
+        return generate(x, y, z, w) * mult;
+    }
+
+    /**
+     * Generates a noise value in a specific range.
+     *
+     * @param x   The x coordinate
+     * @param y   The y coordinate
+     * @param z   The z coordinate
+     * @param w   The w coordinate
+     * @param min The minimum limit of the range
+     * @param max The maximum limit of the range
+     * @return The generated noise value
+     */
+    public double generateInRange(double x, double y, double z, double w, double min, double max) {
+        return NoiseMath.lerp(min, max, (generate(x, y, z, w) + 1) / 2);
+    }
+}
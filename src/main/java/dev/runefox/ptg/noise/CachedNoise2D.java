@@ -0,0 +1,60 @@
+/*
+ * Copyright 2020-2026 O. W. Nankman
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "
+ * AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package dev.runefox.ptg.noise;
+
+/**
+ * A noise generator that caches the samples of another noise generator at the points of a lattice, in tiles of 16x16
+ * lattice points. Points that are not on the lattice are passed on to the other generator directly.
+ */
+final class CachedNoise2D implements Noise2D {
+    private static final int TILE_BITS = 4;
+    private static final int TILE_MASK = (1 << TILE_BITS) - 1;
+
+    private final Noise2D noise;
+    private final double spacing;
+    private final SampleCache cache;
+
+    CachedNoise2D(Noise2D noise, double spacing, int capacity) {
+        if (!(spacing > 0)) {
+            throw new IllegalArgumentException("Spacing must be positive.");
+        }
+        this.noise = noise;
+        this.spacing = spacing;
+        this.cache = new SampleCache(1 << TILE_BITS * 2, capacity);
+    }
+
+    @Override
+    public double generate(double x, double y) {
+        double fx = Math.floor(x / spacing);
+        double fy = Math.floor(y / spacing);
+        long ix = (long) fx;
+        long iy = (long) fy;
+
+        // Only exact lattice points are cached, and only where tile coordinates fit in 32 bits
+        if (ix * spacing != x || iy * spacing != y || (int) (ix >> TILE_BITS) != ix >> TILE_BITS || (int) (iy >> TILE_BITS) != iy >> TILE_BITS) {
+            return noise.generate(x, y);
+        }
+
+        long key = (ix >> TILE_BITS) << 32 | (iy >> TILE_BITS) & 0xFFFFFFFFL;
+        int index = (int) (iy & TILE_MASK) << TILE_BITS | (int) (ix & TILE_MASK);
+
+        SampleCache.Tile tile = cache.tile(key);
+        double value = tile.get(index);
+        if (Double.isNaN(value)) {
+            value = noise.generate(x, y);
+            tile.set(index, value);
+        }
+        return value;
+    }
+}
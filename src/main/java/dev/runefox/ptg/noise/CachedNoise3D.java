@@ -0,0 +1,71 @@
+/*
+ * Copyright 2020-2026 O. W. Nankman
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "
+ * AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package dev.runefox.ptg.noise;
+
+/**
+ * A noise generator that caches the samples of another noise generator at the points of a lattice, in tiles of 8x8x8
+ * lattice points. Points that are not on the lattice are passed on to the other generator directly.
+ */
+final class CachedNoise3D implements Noise3D {
+    private static final int TILE_BITS = 3;
+    private static final int TILE_MASK = (1 << TILE_BITS) - 1;
+    private static final int KEY_BITS = 21;
+    private static final long KEY_MASK = (1L << KEY_BITS) - 1;
+
+    private final Noise3D noise;
+    private final double spacing;
+    private final SampleCache cache;
+
+    CachedNoise3D(Noise3D noise, double spacing, int capacity) {
+        if (!(spacing > 0)) {
+            throw new IllegalArgumentException("Spacing must be positive.");
+        }
+        this.noise = noise;
+        this.spacing = spacing;
+        this.cache = new SampleCache(1 << TILE_BITS * 3, capacity);
+    }
+
+    private static boolean fitsKey(long tile) {
+        return tile >> KEY_BITS - 1 == 0 || tile >> KEY_BITS - 1 == -1;
+    }
+
+    @Override
+    public double generate(double x, double y, double z) {
+        double fx = Math.floor(x / spacing);
+        double fy = Math.floor(y / spacing);
+        double fz = Math.floor(z / spacing);
+        long ix = (long) fx;
+        long iy = (long) fy;
+        long iz = (long) fz;
+        long tx = ix >> TILE_BITS;
+        long ty = iy >> TILE_BITS;
+        long tz = iz >> TILE_BITS;
+
+        // Only exact lattice points are cached, and only where tile coordinates fit in 21 bits
+        if (ix * spacing != x || iy * spacing != y || iz * spacing != z || !fitsKey(tx) || !fitsKey(ty) || !fitsKey(tz)) {
+            return noise.generate(x, y, z);
+        }
+
+        long key = (tx & KEY_MASK) << KEY_BITS * 2 | (ty & KEY_MASK) << KEY_BITS | tz & KEY_MASK;
+        int index = ((int) (iz & TILE_MASK) << TILE_BITS | (int) (iy & TILE_MASK)) << TILE_BITS | (int) (ix & TILE_MASK);
+
+        SampleCache.Tile tile = cache.tile(key);
+        double value = tile.get(index);
+        if (Double.isNaN(value)) {
+            value = noise.generate(x, y, z);
+            tile.set(index, value);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2020-2026 O. W. Nankman
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "
+ * AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package dev.runefox.ptg.noise;
+
+/**
+ * A noise generator that generates a constant value. Operations on the output fold into a new constant, and operations
+ * on the coordinates return this generator itself.
+ */
+final class ConstantNoise2D implements Noise2D {
+    private final double value;
+
+    ConstantNoise2D(double value) {
+        this.value = value;
+    }
+
+    @Override
+    public double generate(double x, double y) {
+        return value;
+    }
+
+    @Override
+    public Noise2D add(double amount) {
+        return new ConstantNoise2D(value + amount);
+    }
+
+    @Override
+    public Noise2D subtract(double amount) {
+        return new ConstantNoise2D(value - amount);
+    }
+
+    @Override
+    public Noise2D multiply(double amount) {
+        return new ConstantNoise2D(value * amount);
+    }
+
+    @Override
+    public Noise2D divide(double amount) {
+        return new ConstantNoise2D(value / amount);
+    }
+
+    @Override
+    public Noise2D inverse() {
+        return new ConstantNoise2D(-value);
+    }
+
+    @Override
+    public Noise2D lerp(double min, double max) {
+        return new ConstantNoise2D(min + (value + 1) / 2 * (max - min));
+    }
+
+    @Override
+    public Noise2D ridge() {
+        return new ConstantNoise2D(-(Math.abs(value) * 2 - 1));
+    }
+
+    @Override
+    public Noise2D scale(double scale) {
+        return this;
+    }
+
+    @Override
+    public Noise2D scale(double x, double y) {
+        return this;
+    }
+
+    @Override
+    public Noise2D translate(double x, double y) {
+        return this;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2020-2026 O. W. Nankman
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "
+ * AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package dev.runefox.ptg.noise;
+
+/**
+ * A noise generator that generates a constant value. Operations on the output fold into a new constant, and operations
+ * on the coordinates return this generator itself.
+ */
+final class ConstantNoise3D implements Noise3D {
+    private final double value;
+
+    ConstantNoise3D(double value) {
+        this.value = value;
+    }
+
+    @Override
+    public double generate(double x, double y, double z) {
+        return value;
+    }
+
+    @Override
+    public Noise3D add(double amount) {
+        return new ConstantNoise3D(value + amount);
+    }
+
+    @Override
+    public Noise3D subtract(double amount) {
+        return new ConstantNoise3D(value - amount);
+    }
+
+    @Override
+    public Noise3D multiply(double amount) {
+        return new ConstantNoise3D(value * amount);
+    }
+
+    @Override
+    public Noise3D divide(double amount) {
+        return new ConstantNoise3D(value / amount);
+    }
+
+    @Override
+    public Noise3D inverse() {
+        return new ConstantNoise3D(-value);
+    }
+
+    @Override
+    public Noise3D lerp(double min, double max) {
+        return new ConstantNoise3D(min + (value + 1) / 2 * (max - min));
+    }
+
+    @Override
+    public Noise3D ridge() {
+        return new ConstantNoise3D(-(Math.abs(value) * 2 - 1));
+    }
+
+    @Override
+    public Noise3D scale(double scale) {
+        return this;
+    }
+
+    @Override
+    public Noise3D scale(double x, double y, double z) {
+        return this;
+    }
+
+    @Override
+    public Noise3D translate(double x, double y, double z) {
+        return this;
+    }
+}
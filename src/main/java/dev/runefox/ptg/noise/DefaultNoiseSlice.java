@@ -0,0 +1,42 @@
+/*
+ * Copyright 2020-2026 O. W. Nankman
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "
+ * AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package dev.runefox.ptg.noise;
+
+/**
+ * The slice of a 3D noise generator that does not compute anything ahead, it simply passes the Z coordinate on.
+ */
+final class DefaultNoiseSlice implements NoiseSlice {
+    private final Noise3D noise;
+    private double z;
+
+    DefaultNoiseSlice(Noise3D noise, double z) {
+        this.noise = noise;
+        this.z = z;
+    }
+
+    @Override
+    public double generate(double x, double y) {
+        return noise.generate(x, y, z);
+    }
+
+    @Override
+    public double getZ() {
+        return z;
+    }
+
+    @Override
+    public void setZ(double z) {
+        this.z = z;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2020-2026 O. W. Nankman
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "
+ * AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package dev.runefox.ptg.noise;
+
+/**
+ * The slice of a fractal noise generator, made of the slices of its octaves. The octave at index {@code i} is sampled
+ * at the coordinates multiplied by {@code 2^i} and its value is divided by {@code 2^i}, or the other way around for
+ * inverse fractal noise.
+ */
+final class FractalNoiseSlice implements NoiseSlice {
+    private final NoiseSlice[] octaves;
+    private final boolean inverse;
+    private final double scaleX;
+    private final double scaleY;
+    private final double scaleZ;
+    private double z;
+
+    FractalNoiseSlice(Noise3D[] octaves, boolean inverse, double scaleX, double scaleY, double scaleZ, double z) {
+        this.octaves = new NoiseSlice[octaves.length];
+        this.inverse = inverse;
+        this.scaleX = scaleX;
+        this.scaleY = scaleY;
+        this.scaleZ = scaleZ;
+        this.z = z;
+
+        z /= scaleZ;
+        double d = 1;
+        for (int i = 0; i < octaves.length; i++) {
+            this.octaves[i] = octaves[i].slice(inverse ? z / d : z * d);
+            d *= 2;
+        }
+    }
+
+    @Override
+    public double generate(double x, double y) {
+        x /= scaleX;
+        y /= scaleY;
+
+        double d = 1;
+        double n = 0;
+
+        if (inverse) {
+            for (NoiseSlice octave : octaves) {
+                n += octave.generate(x / d, y / d) * d;
+                d *= 2;
+            }
+        } else {
+            for (NoiseSlice octave : octaves) {
+                n += octave.generate(x * d, y * d) / d;
+                d *= 2;
+            }
+        }
+        return n;
+    }
+
+    @Override
+    public double getZ() {
+        return z;
+    }
+
+    @Override
+    public void setZ(double z) {
+        this.z = z;
+
+        z /= scaleZ;
+        double d = 1;
+        for (NoiseSlice octave : octaves) {
+            octave.setZ(inverse ? z / d : z * d);
+            d *= 2;
+        }
+    }
+}
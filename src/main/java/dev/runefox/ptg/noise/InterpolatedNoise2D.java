@@ -0,0 +1,122 @@
+/*
+ * Copyright 2020-2026 O. W. Nankman
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "
+ * AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package dev.runefox.ptg.noise;
+
+import dev.runefox.ptg.noise.util.NoiseMath;
+
+import java.nio.DoubleBuffer;
+import java.util.Objects;
+
+import static dev.runefox.ptg.noise.InterpolatedNoise3D.*;
+
+/**
+ * A noise generator that samples another noise generator on a coarse lattice and interpolates bilinearly in between.
+ * The lattice points lie at integer multiples of the spacing, so they do not depend on which area is generated. Grids
+ * that touch each other therefore agree on their shared values, and a single point generates the same value as the
+ * same point in a grid.
+ */
+final class InterpolatedNoise2D implements Noise2D {
+    private final Noise2D noise;
+    private final double spacingX;
+    private final double spacingY;
+
+    InterpolatedNoise2D(Noise2D noise, double spacingX, double spacingY) {
+        if (!(spacingX > 0 && spacingY > 0)) {
+            throw new IllegalArgumentException("Spacing must be positive.");
+        }
+        this.noise = noise;
+        this.spacingX = spacingX;
+        this.spacingY = spacingY;
+    }
+
+    @Override
+    public double generate(double x, double y) {
+        double fx = x / spacingX, fy = y / spacingY;
+        long ix = (long) Math.floor(fx), iy = (long) Math.floor(fy);
+
+        double x0 = ix * spacingX, x1 = (ix + 1) * spacingX;
+        double y0 = iy * spacingY, y1 = (iy + 1) * spacingY;
+        double tx = fx - ix, ty = fy - iy;
+
+        double x00 = NoiseMath.lerp(noise.generate(x0, y0), noise.generate(x1, y0), tx);
+        double x10 = NoiseMath.lerp(noise.generate(x0, y1), noise.generate(x1, y1), tx);
+        return NoiseMath.lerp(x00, x10, ty);
+    }
+
+    @Override
+    public void generateGrid(double x0, double y0, double dx, double dy, int nx, int ny, double[] out, int offset) {
+        Objects.checkFromIndexSize(offset, nx * ny, out.length);
+        generateGrid(x0, y0, dx, dy, nx, ny, out, offset, null);
+    }
+
+    @Override
+    public void generateGrid(double x0, double y0, double dx, double dy, int nx, int ny, DoubleBuffer out) {
+        int index = out.position();
+        Objects.checkFromIndexSize(index, nx * ny, out.limit());
+        generateGrid(x0, y0, dx, dy, nx, ny, null, index, out);
+    }
+
+    private void generateGrid(double x0, double y0, double dx, double dy, int nx, int ny, double[] arr, int offset, DoubleBuffer buf) {
+        if (nx <= 0 || ny <= 0) {
+            return;
+        }
+
+        // Lattice cell and position in the cell of every grid coordinate, per axis
+        long[] ix = new long[nx], iy = new long[ny];
+        double[] tx = new double[nx], ty = new double[ny];
+        cells(x0, dx, spacingX, ix, tx);
+        cells(y0, dy, spacingY, iy, ty);
+
+        long minX = min(ix), minY = min(iy);
+        int cx = (int) (max(ix) - minX) + 2;
+        int cy = (int) (max(iy) - minY) + 2;
+
+        if ((long) cx * cy > 4L * nx * ny) {
+            // The grid is sparser than the lattice, interpolating every grid point on its own is cheaper
+            int index = offset;
+            for (int j = 0; j < ny; j++) {
+                double y = y0 + j * dy;
+                for (int i = 0; i < nx; i++) {
+                    double v = generate(x0 + i * dx, y);
+                    if (arr != null) arr[index++] = v;
+                    else buf.put(index++, v);
+                }
+            }
+            return;
+        }
+
+        // Every lattice point is generated once, no matter how many grid points it is shared by
+        double[] lattice = new double[cx * cy];
+        int n = 0;
+        for (int j = 0; j < cy; j++) {
+            double y = (minY + j) * spacingY;
+            for (int i = 0; i < cx; i++) {
+                lattice[n++] = noise.generate((minX + i) * spacingX, y);
+            }
+        }
+
+        int index = offset;
+        for (int j = 0; j < ny; j++) {
+            int by = (int) (iy[j] - minY) * cx;
+            for (int i = 0; i < nx; i++) {
+                int c = by + (int) (ix[i] - minX);
+                double x00 = NoiseMath.lerp(lattice[c], lattice[c + 1], tx[i]);
+                double x10 = NoiseMath.lerp(lattice[c + cx], lattice[c + cx + 1], tx[i]);
+                double v = NoiseMath.lerp(x00, x10, ty[j]);
+                if (arr != null) arr[index++] = v;
+                else buf.put(index++, v);
+            }
+        }
+    }
+}
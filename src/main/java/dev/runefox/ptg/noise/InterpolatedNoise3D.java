@@ -0,0 +1,164 @@
+/*
+ * Copyright 2020-2026 O. W. Nankman
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "
+ * AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package dev.runefox.ptg.noise;
+
+import dev.runefox.ptg.noise.util.NoiseMath;
+
+import java.nio.DoubleBuffer;
+import java.util.Objects;
+
+/**
+ * A noise generator that samples another noise generator on a coarse lattice and interpolates trilinearly in between.
+ * The lattice points lie at integer multiples of the spacing, so they do not depend on which area is generated. Grids
+ * that touch each other therefore agree on their shared values, and a single point generates the same value as the
+ * same point in a grid.
+ */
+final class InterpolatedNoise3D implements Noise3D {
+    private final Noise3D noise;
+    private final double spacingX;
+    private final double spacingY;
+    private final double spacingZ;
+
+    InterpolatedNoise3D(Noise3D noise, double spacingX, double spacingY, double spacingZ) {
+        if (!(spacingX > 0 && spacingY > 0 && spacingZ > 0)) {
+            throw new IllegalArgumentException("Spacing must be positive.");
+        }
+        this.noise = noise;
+        this.spacingX = spacingX;
+        this.spacingY = spacingY;
+        this.spacingZ = spacingZ;
+    }
+
+    private static double interpolate(double[] c, int i000, int sx, int sy, int sz, double tx, double ty, double tz) {
+        int i010 = i000 + sy, i001 = i000 + sz, i011 = i010 + sz;
+        double x00 = NoiseMath.lerp(c[i000], c[i000 + sx], tx);
+        double x10 = NoiseMath.lerp(c[i010], c[i010 + sx], tx);
+        double x01 = NoiseMath.lerp(c[i001], c[i001 + sx], tx);
+        double x11 = NoiseMath.lerp(c[i011], c[i011 + sx], tx);
+        return NoiseMath.lerp(NoiseMath.lerp(x00, x10, ty), NoiseMath.lerp(x01, x11, ty), tz);
+    }
+
+    @Override
+    public double generate(double x, double y, double z) {
+        double fx = x / spacingX, fy = y / spacingY, fz = z / spacingZ;
+        long ix = (long) Math.floor(fx), iy = (long) Math.floor(fy), iz = (long) Math.floor(fz);
+
+        double x0 = ix * spacingX, x1 = (ix + 1) * spacingX;
+        double y0 = iy * spacingY, y1 = (iy + 1) * spacingY;
+        double z0 = iz * spacingZ, z1 = (iz + 1) * spacingZ;
+        double tx = fx - ix, ty = fy - iy, tz = fz - iz;
+
+        double x00 = NoiseMath.lerp(noise.generate(x0, y0, z0), noise.generate(x1, y0, z0), tx);
+        double x10 = NoiseMath.lerp(noise.generate(x0, y1, z0), noise.generate(x1, y1, z0), tx);
+        double x01 = NoiseMath.lerp(noise.generate(x0, y0, z1), noise.generate(x1, y0, z1), tx);
+        double x11 = NoiseMath.lerp(noise.generate(x0, y1, z1), noise.generate(x1, y1, z1), tx);
+        return NoiseMath.lerp(NoiseMath.lerp(x00, x10, ty), NoiseMath.lerp(x01, x11, ty), tz);
+    }
+
+    @Override
+    public void generateGrid(double x0, double y0, double z0, double dx, double dy, double dz, int nx, int ny, int nz, double[] out, int offset) {
+        Objects.checkFromIndexSize(offset, nx * ny * nz, out.length);
+        generateGrid(x0, y0, z0, dx, dy, dz, nx, ny, nz, out, offset, null);
+    }
+
+    @Override
+    public void generateGrid(double x0, double y0, double z0, double dx, double dy, double dz, int nx, int ny, int nz, DoubleBuffer out) {
+        int index = out.position();
+        Objects.checkFromIndexSize(index, nx * ny * nz, out.limit());
+        generateGrid(x0, y0, z0, dx, dy, dz, nx, ny, nz, null, index, out);
+    }
+
+    private void generateGrid(double x0, double y0, double z0, double dx, double dy, double dz, int nx, int ny, int nz, double[] arr, int offset, DoubleBuffer buf) {
+        if (nx <= 0 || ny <= 0 || nz <= 0) {
+            return;
+        }
+
+        // Lattice cell and position in the cell of every grid coordinate, per axis
+        long[] ix = new long[nx], iy = new long[ny], iz = new long[nz];
+        double[] tx = new double[nx], ty = new double[ny], tz = new double[nz];
+        cells(x0, dx, spacingX, ix, tx);
+        cells(y0, dy, spacingY, iy, ty);
+        cells(z0, dz, spacingZ, iz, tz);
+
+        long minX = min(ix), minY = min(iy), minZ = min(iz);
+        int cx = (int) (max(ix) - minX) + 2;
+        int cy = (int) (max(iy) - minY) + 2;
+        int cz = (int) (max(iz) - minZ) + 2;
+
+        if ((long) cx * cy * cz > 8L * nx * ny * nz) {
+            // The grid is sparser than the lattice, interpolating every grid point on its own is cheaper
+            int index = offset;
+            for (int k = 0; k < nz; k++) {
+                double z = z0 + k * dz;
+                for (int j = 0; j < ny; j++) {
+                    double y = y0 + j * dy;
+                    for (int i = 0; i < nx; i++) {
+                        double v = generate(x0 + i * dx, y, z);
+                        if (arr != null) arr[index++] = v;
+                        else buf.put(index++, v);
+                    }
+                }
+            }
+            return;
+        }
+
+        // Every lattice point is generated once, no matter how many grid points it is shared by
+        double[] lattice = new double[cx * cy * cz];
+        int n = 0;
+        for (int k = 0; k < cz; k++) {
+            double z = (minZ + k) * spacingZ;
+            for (int j = 0; j < cy; j++) {
+                double y = (minY + j) * spacingY;
+                for (int i = 0; i < cx; i++) {
+                    lattice[n++] = noise.generate((minX + i) * spacingX, y, z);
+                }
+            }
+        }
+
+        int index = offset;
+        int sy = cx, sz = cx * cy;
+        for (int k = 0; k < nz; k++) {
+            int bz = (int) (iz[k] - minZ) * sz;
+            for (int j = 0; j < ny; j++) {
+                int by = bz + (int) (iy[j] - minY) * sy;
+                for (int i = 0; i < nx; i++) {
+                    double v = interpolate(lattice, by + (int) (ix[i] - minX), 1, sy, sz, tx[i], ty[j], tz[k]);
+                    if (arr != null) arr[index++] = v;
+                    else buf.put(index++, v);
+                }
+            }
+        }
+    }
+
+    static void cells(double start, double step, double spacing, long[] cells, double[] fractions) {
+        for (int i = 0; i < cells.length; i++) {
+            double f = (start + i * step) / spacing;
+            long c = (long) Math.floor(f);
+            cells[i] = c;
+            fractions[i] = f - c;
+        }
+    }
+
+    static long min(long[] values) {
+        long min = values[0];
+        for (long v : values) if (v < min) min = v;
+        return min;
+    }
+
+    static long max(long[] values) {
+        long max = values[0];
+        for (long v : values) if (v > max) max = v;
+        return max;
+    }
+}
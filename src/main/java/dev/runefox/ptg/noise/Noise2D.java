@@ -18,6 +18,9 @@ import dev.runefox.ptg.noise.util.Hash;
 import dev.runefox.ptg.noise.util.NoiseMath;
 import dev.runefox.ptg.region.Region;
 
+import java.nio.DoubleBuffer;
+import java.util.Objects;
+
 /**
  * Generic interface of a noise generator for 2D space.
  */
@@ -37,6 +40,97 @@ public interface Noise2D {
      */
     double generate(double x, double y);
 
+    /**
+     * Generates noise at the specified coordinates, for a sample that stands for an area of {@code spacing} units
+     * across, such as one of many samples that lie {@code spacing} units apart. Generators may leave out detail that is
+     * finer than the spacing, as such detail only aliases at that sampling rate. By default, this generates all detail.
+     * <p>
+     * Fractal Perlin, simplex, OpenSimplex, value, discrete and cell generators leave out the octaves with a wavelength,
+     * the distance between the lattice points of the octave, below the spacing, and use the expected value of those
+     * octaves instead, which is zero. The octave with the largest wavelength is always generated. Every octave
+     * generates values within about {@code [-a, a]}, where {@code a} is its amplitude, so the error is at most the sum
+     * of the amplitudes of the left-out octaves, which is less than twice the amplitude of the largest left-out octave.
+     * With a spacing of zero, the result is the same as that of {@link #generate}. Worley and Voronoi noises don't have
+     * an expected value of zero, so they always generate all detail.
+     *
+     * @param x       The x coordinate
+     * @param y       The y coordinate
+     * @param spacing The spacing between samples
+     * @return The generated noise value
+     */
+    default double generateLod(double x, double y, double spacing) {
+        return generate(x, y);
+    }
+
+    /**
+     * Generates noise on a regular grid of {@code nx * ny} points into an array. The value at grid point {@code (i, j)}
+     * is generated at {@code (x0 + i * dx, y0 + j * dy)} and stored at index {@code offset + j * nx + i}, so X varies
+     * fastest.
+     *
+     * @param x0     The x coordinate of the first grid point
+     * @param y0     The y coordinate of the first grid point
+     * @param dx     The spacing of the grid along the X axis
+     * @param dy     The spacing of the grid along the Y axis
+     * @param nx     The amount of grid points along the X axis
+     * @param ny     The amount of grid points along the Y axis
+     * @param out    The array to store the generated values in
+     * @param offset The index in the array of the first grid point
+     */
+    default void generateGrid(double x0, double y0, double dx, double dy, int nx, int ny, double[] out, int offset) {
+        Objects.checkFromIndexSize(offset, nx * ny, out.length);
+        int index = offset;
+        for (int j = 0; j < ny; j++) {
+            double y = y0 + j * dy;
+            for (int i = 0; i < nx; i++) {
+                out[index++] = generate(x0 + i * dx, y);
+            }
+        }
+    }
+
+    /**
+     * Generates noise on a regular grid of {@code nx * ny} points into a buffer. The layout is the same as in
+     * {@link #generateGrid(double, double, double, double, int, int, double[], int)}, relative to the position of the
+     * buffer. The position of the buffer is not changed. The buffer may be a direct buffer, for example a view of
+     * {@code ByteBuffer.allocateDirect(nx * ny * 8).order(ByteOrder.nativeOrder())}, in which case the values are not
+     * stored on the heap and can be passed to native code or written to a channel without copying. Values are stored in
+     * the byte order of the buffer.
+     *
+     * @param x0  The x coordinate of the first grid point
+     * @param y0  The y coordinate of the first grid point
+     * @param dx  The spacing of the grid along the X axis
+     * @param dy  The spacing of the grid along the Y axis
+     * @param nx  The amount of grid points along the X axis
+     * @param ny  The amount of grid points along the Y axis
+     * @param out The buffer to store the generated values in
+     */
+    default void generateGrid(double x0, double y0, double dx, double dy, int nx, int ny, DoubleBuffer out) {
+        int index = out.position();
+        Objects.checkFromIndexSize(index, nx * ny, out.limit());
+        for (int j = 0; j < ny; j++) {
+            double y = y0 + j * dy;
+            for (int i = 0; i < nx; i++) {
+                out.put(index++, generate(x0 + i * dx, y));
+            }
+        }
+    }
+
+    /**
+     * Generates this noise and another noise at the same coordinates. The noise of this generator is stored at
+     * {@code out[offset]} and the noise of the other generator at {@code out[offset + 1]}. The values are the same as
+     * those of {@link #generate}, but generators of the same kind and scaling may share the work that only depends on
+     * the coordinates, such as finding the lattice cell around the point and smoothing the fractions.
+     *
+     * @param other  The other noise generator
+     * @param x      The x coordinate
+     * @param y      The y coordinate
+     * @param out    The array to store the generated values in
+     * @param offset The index in the array of the value of this generator
+     */
+    default void generatePair(Noise2D other, double x, double y, double[] out, int offset) {
+        out[offset] = generate(x, y);
+        out[offset + 1] = other.generate(x, y);
+    }
+
 
     /**
      * Creates a noise generator that adds a constant value to the generated noise of this noise generator.
@@ -45,7 +139,7 @@ public interface Noise2D {
      * @return The created noise generator
      */
     default Noise2D add(double amount) {
-        return (x, y) -> generate(x, y) + amount;
+        return AffineNoise2D.output(this, 1, amount);
     }
 
     /**
@@ -55,7 +149,7 @@ public interface Noise2D {
      * @return The created noise generator
      */
     default Noise2D subtract(double amount) {
-        return (x, y) -> generate(x, y) - amount;
+        return AffineNoise2D.output(this, 1, -amount);
     }
 
     /**
@@ -65,7 +159,7 @@ public interface Noise2D {
      * @return The created noise generator
      */
     default Noise2D multiply(double amount) {
-        return (x, y) -> generate(x, y) * amount;
+        return AffineNoise2D.output(this, amount, 0);
     }
 
     /**
@@ -75,7 +169,7 @@ public interface Noise2D {
      * @return The created noise generator
      */
     default Noise2D divide(double amount) {
-        return (x, y) -> generate(x, y) / amount;
+        return AffineNoise2D.output(this, 1 / amount, 0);
     }
 
 
@@ -129,7 +223,7 @@ public interface Noise2D {
      * @return The created noise generator
      */
     default Noise2D inverse() {
-        return (x, y) -> -generate(x, y);
+        return AffineNoise2D.output(this, -1, 0);
     }
 
     /**
@@ -141,7 +235,8 @@ public interface Noise2D {
      * @return The created noise generator
      */
     default Noise2D lerp(double min, double max) {
-        return (x, y) -> NoiseMath.lerp(min, max, (generate(x, y) + 1) / 2);
+        double half = (max - min) / 2;
+        return AffineNoise2D.output(this, half, half + min);
     }
 
     /**
@@ -163,7 +258,7 @@ public interface Noise2D {
      * @return The created noise generator
      */
     static Noise2D constant(double value) {
-        return (x, y) -> value;
+        return new ConstantNoise2D(value);
     }
 
     /**
@@ -174,7 +269,7 @@ public interface Noise2D {
      * @return The created noise generator
      */
     static Noise2D from3D(Noise3D noise, double z) {
-        return (x, y) -> noise.generate(x, y, z);
+        return noise.slice(z);
     }
 
     /**
@@ -203,7 +298,7 @@ public interface Noise2D {
      * @return The created noise generator
      */
     default Noise2D scale(double scale) {
-        return (x, y) -> generate(x * scale, y * scale);
+        return AffineNoise2D.coordinates(this, scale, scale, 0, 0);
     }
 
     /**
@@ -214,7 +309,7 @@ public interface Noise2D {
      * @return The created noise generator
      */
     default Noise2D scale(double x, double y) {
-        return (x1, y1) -> generate(x1 * x, y1 * y);
+        return AffineNoise2D.coordinates(this, x, y, 0, 0);
     }
 
     /**
@@ -225,7 +320,74 @@ public interface Noise2D {
      * @return The created noise generator
      */
     default Noise2D translate(double x, double y) {
-        return (x1, y1) -> generate(x1 + x, y1 + y);
+        return AffineNoise2D.coordinates(this, 1, 1, x, y);
+    }
+
+    /**
+     * Creates a noise generator that warps the noise field generated by this generator. The created generator generates
+     * the noise of this generator at {@code (x + amount * warpX(x, y), y + amount * warpY(x, y))}. The warp fields are
+     * generated with {@link #generatePair generatePair}, so that two warp fields of the same kind and scaling, say two
+     * {@code FractalPerlin2D} generators with different seeds, find the lattice cells of each point only once.
+     *
+     * @param warpX  The noise field that displaces the X coordinate
+     * @param warpY  The noise field that displaces the Y coordinate
+     * @param amount The multiplier of the displacement
+     * @return The created noise generator
+     */
+    default Noise2D warp(Noise2D warpX, Noise2D warpY, double amount) {
+        return new WarpedNoise2D(this, warpX, warpY, amount);
+    }
+
+    /**
+     * Creates a noise generator that samples this generator on a coarse lattice and interpolates bilinearly in between.
+     * The lattice points lie at integer multiples of the spacing along each axis, regardless of which area is
+     * generated, so that adjacent chunks agree on the values at their borders and can share lattice samples (see for
+     * example {@link Noise2D#generateGrid(double, double, double, double, int, int, double[], int) generateGrid}, which
+     * generates every lattice point under the grid once).
+     * <p>
+     * The interpolation error is bounded by {@code (sx^2 * Mx + sy^2 * My) / 8}, where {@code sx} and {@code sy} are
+     * the spacings and {@code Mx} and {@code My} bound the magnitude of the second derivatives of this noise along each
+     * axis. For gradient noises such as Perlin noise, those derivatives scale with the inverse square of the noise
+     * scale, so the error stays small as long as the spacing is a small fraction of the noise scale.
+     *
+     * @param x The spacing of the lattice along the X axis, must be positive
+     * @param y The spacing of the lattice along the Y axis, must be positive
+     * @return The created noise generator
+     */
+    default Noise2D interpolated(double x, double y) {
+        return new InterpolatedNoise2D(this, x, y);
+    }
+
+    /**
+     * Creates a noise generator that samples this generator on a coarse lattice and interpolates bilinearly in between.
+     * See {@link #interpolated(double, double)}.
+     *
+     * @param spacing The spacing of the lattice along every axis, must be positive
+     * @return The created noise generator
+     */
+    default Noise2D interpolated(double spacing) {
+        return interpolated(spacing, spacing);
+    }
+
+    /**
+     * Creates a noise generator that caches the noise of this generator at the points of a lattice with the given
+     * spacing, that is, at integer multiples of the spacing along every axis. Other points are generated by this
+     * generator directly. The cache is bounded, thread safe and keyed by lattice coordinates, so that chunks generated
+     * next to each other, possibly on different threads, share the samples on their borders. Samples are stored in
+     * tiles of 16x16 lattice points, and when the cache is full the least recently used tiles are evicted, using
+     * the CLOCK approximation.
+     * <p>
+     * This is most useful beneath {@link #interpolated}, with the same spacing: {@code noise.cached(4, 1 << 16)
+     * .interpolated(4)} generates each lattice point once, for all chunks that share it. Points are cached only when
+     * they lie exactly on the lattice, so spacings that are powers of two work best. Noise values of {@code NaN} are
+     * generated again every time.
+     *
+     * @param spacing  The spacing of the lattice, must be positive
+     * @param capacity The maximum amount of samples to cache, rounded up to whole tiles
+     * @return The created noise generator
+     */
+    default Noise2D cached(double spacing, int capacity) {
+        return new CachedNoise2D(this, spacing, capacity);
     }
 
     /**
@@ -17,6 +17,9 @@ import dev.runefox.ptg.noise.util.DoubleFunction;
 import dev.runefox.ptg.noise.util.Hash;
 import dev.runefox.ptg.noise.util.NoiseMath;
 
+import java.nio.DoubleBuffer;
+import java.util.Objects;
+
 /**
  * Generic interface of a noise generator for 3D space.
  */
@@ -37,6 +40,126 @@ public interface Noise3D {
      */
     double generate(double x, double y, double z);
 
+    /**
+     * Generates noise at the specified coordinates, for a sample that stands for an area of {@code spacing} units
+     * across, such as one of many samples that lie {@code spacing} units apart. Generators may leave out detail that is
+     * finer than the spacing, as such detail only aliases at that sampling rate. By default, this generates all detail.
+     * <p>
+     * Fractal Perlin, simplex, OpenSimplex, value, discrete and cell generators leave out the octaves with a wavelength,
+     * the distance between the lattice points of the octave, below the spacing, and use the expected value of those
+     * octaves instead, which is zero. The octave with the largest wavelength is always generated. Every octave
+     * generates values within about {@code [-a, a]}, where {@code a} is its amplitude, so the error is at most the sum
+     * of the amplitudes of the left-out octaves, which is less than twice the amplitude of the largest left-out octave.
+     * With a spacing of zero, the result is the same as that of {@link #generate}. Worley and Voronoi noises don't have
+     * an expected value of zero, so they always generate all detail.
+     *
+     * @param x       The x coordinate
+     * @param y       The y coordinate
+     * @param z       The z coordinate
+     * @param spacing The spacing between samples
+     * @return The generated noise value
+     */
+    default double generateLod(double x, double y, double z, double spacing) {
+        return generate(x, y, z);
+    }
+
+    /**
+     * Generates noise on a regular grid of {@code nx * ny * nz} points into an array. The value at grid point
+     * {@code (i, j, k)} is generated at {@code (x0 + i * dx, y0 + j * dy, z0 + k * dz)} and stored at index
+     * {@code offset + (k * ny + j) * nx + i}, so X varies fastest and Z slowest.
+     *
+     * @param x0     The x coordinate of the first grid point
+     * @param y0     The y coordinate of the first grid point
+     * @param z0     The z coordinate of the first grid point
+     * @param dx     The spacing of the grid along the X axis
+     * @param dy     The spacing of the grid along the Y axis
+     * @param dz     The spacing of the grid along the Z axis
+     * @param nx     The amount of grid points along the X axis
+     * @param ny     The amount of grid points along the Y axis
+     * @param nz     The amount of grid points along the Z axis
+     * @param out    The array to store the generated values in
+     * @param offset The index in the array of the first grid point
+     */
+    default void generateGrid(double x0, double y0, double z0, double dx, double dy, double dz, int nx, int ny, int nz, double[] out, int offset) {
+        Objects.checkFromIndexSize(offset, nx * ny * nz, out.length);
+        int index = offset;
+        for (int k = 0; k < nz; k++) {
+            double z = z0 + k * dz;
+            for (int j = 0; j < ny; j++) {
+                double y = y0 + j * dy;
+                for (int i = 0; i < nx; i++) {
+                    out[index++] = generate(x0 + i * dx, y, z);
+                }
+            }
+        }
+    }
+
+    /**
+     * Generates noise on a regular grid of {@code nx * ny * nz} points into a buffer. The layout is the same as in
+     * {@link #generateGrid(double, double, double, double, double, double, int, int, int, double[], int)}, relative to
+     * the position of the buffer. The position of the buffer is not changed. The buffer may be a direct buffer, in which
+     * case the values are not stored on the heap and can be passed to native code or written to a channel without
+     * copying. Values are stored in the byte order of the buffer.
+     *
+     * @param x0  The x coordinate of the first grid point
+     * @param y0  The y coordinate of the first grid point
+     * @param z0  The z coordinate of the first grid point
+     * @param dx  The spacing of the grid along the X axis
+     * @param dy  The spacing of the grid along the Y axis
+     * @param dz  The spacing of the grid along the Z axis
+     * @param nx  The amount of grid points along the X axis
+     * @param ny  The amount of grid points along the Y axis
+     * @param nz  The amount of grid points along the Z axis
+     * @param out The buffer to store the generated values in
+     */
+    default void generateGrid(double x0, double y0, double z0, double dx, double dy, double dz, int nx, int ny, int nz, DoubleBuffer out) {
+        int index = out.position();
+        Objects.checkFromIndexSize(index, nx * ny * nz, out.limit());
+        for (int k = 0; k < nz; k++) {
+            double z = z0 + k * dz;
+            for (int j = 0; j < ny; j++) {
+                double y = y0 + j * dy;
+                for (int i = 0; i < nx; i++) {
+                    out.put(index++, generate(x0 + i * dx, y, z));
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates a 2D slice of the noise field of this generator at the specified Z coordinate. The slice can be moved
+     * along the Z axis afterwards. Generators override this to compute the part of the computation that only depends
+     * on Z once per slice instead of once per sample. The built-in generators do so only for their own class, since
+     * such a slice bypasses {@link #generate(double, double, double)}, which subclasses may override.
+     *
+     * @param z The Z coordinate
+     * @return The created slice
+     */
+    default NoiseSlice slice(double z) {
+        return new DefaultNoiseSlice(this, z);
+    }
+
+    /**
+     * Generates this noise and two other noises at the same coordinates. The noise of this generator is stored at
+     * {@code out[offset]}, the noise of the second generator at {@code out[offset + 1]} and the noise of the third
+     * generator at {@code out[offset + 2]}. The values are the same as those of {@link #generate}, but generators of the
+     * same kind and scaling may share the work that only depends on the coordinates, such as finding the lattice cell
+     * around the point and smoothing the fractions.
+     *
+     * @param b      The second noise generator
+     * @param c      The third noise generator
+     * @param x      The x coordinate
+     * @param y      The y coordinate
+     * @param z      The z coordinate
+     * @param out    The array to store the generated values in
+     * @param offset The index in the array of the value of this generator
+     */
+    default void generateTriple(Noise3D b, Noise3D c, double x, double y, double z, double[] out, int offset) {
+        out[offset] = generate(x, y, z);
+        out[offset + 1] = b.generate(x, y, z);
+        out[offset + 2] = c.generate(x, y, z);
+    }
+
     /**
      * Creates a noise generator that adds a constant value to the generated noise of this noise generator.
      *
@@ -44,7 +167,7 @@ public interface Noise3D {
      * @return The created noise generator
      */
     default Noise3D add(double amount) {
-        return (x, y, z) -> generate(x, y, z) + amount;
+        return AffineNoise3D.output(this, 1, amount);
     }
 
     /**
@@ -54,7 +177,7 @@ public interface Noise3D {
      * @return The created noise generator
      */
     default Noise3D subtract(double amount) {
-        return (x, y, z) -> generate(x, y, z) - amount;
+        return AffineNoise3D.output(this, 1, -amount);
     }
 
     /**
@@ -64,7 +187,7 @@ public interface Noise3D {
      * @return The created noise generator
      */
     default Noise3D multiply(double amount) {
-        return (x, y, z) -> generate(x, y, z) * amount;
+        return AffineNoise3D.output(this, amount, 0);
     }
 
     /**
@@ -74,7 +197,7 @@ public interface Noise3D {
      * @return The created noise generator
      */
     default Noise3D divide(double amount) {
-        return (x, y, z) -> generate(x, y, z) / amount;
+        return AffineNoise3D.output(this, 1 / amount, 0);
     }
 
 
@@ -128,7 +251,7 @@ public interface Noise3D {
      * @return The created noise generator
      */
     default Noise3D inverse() {
-        return (x, y, z) -> -generate(x, y, z);
+        return AffineNoise3D.output(this, -1, 0);
     }
 
     /**
@@ -140,7 +263,8 @@ public interface Noise3D {
      * @return The created noise generator
      */
     default Noise3D lerp(double min, double max) {
-        return (x, y, z) -> NoiseMath.lerp(min, max, (generate(x, y, z) + 1) / 2);
+        double half = (max - min) / 2;
+        return AffineNoise3D.output(this, half, half + min);
     }
 
     /**
@@ -162,7 +286,7 @@ public interface Noise3D {
      * @return The created noise generator
      */
     static Noise3D constant(double value) {
-        return (x, y, z) -> value;
+        return new ConstantNoise3D(value);
     }
 
     /**
@@ -221,7 +345,7 @@ public interface Noise3D {
      * @return The created noise generator
      */
     default Noise3D scale(double scale) {
-        return (x, y, z) -> generate(x * scale, y * scale, z * scale);
+        return AffineNoise3D.coordinates(this, scale, scale, scale, 0, 0, 0);
     }
 
     /**
@@ -233,7 +357,7 @@ public interface Noise3D {
      * @return The created noise generator
      */
     default Noise3D scale(double x, double y, double z) {
-        return (x1, y1, z1) -> generate(x1 * x, y1 * y, z1 * z);
+        return AffineNoise3D.coordinates(this, x, y, z, 0, 0, 0);
     }
 
     /**
@@ -245,7 +369,81 @@ public interface Noise3D {
      * @return The created noise generator
      */
     default Noise3D translate(double x, double y, double z) {
-        return (x1, y1, z1) -> generate(x1 + x, y1 + y, z1 + z);
+        return AffineNoise3D.coordinates(this, 1, 1, 1, x, y, z);
+    }
+
+    /**
+     * Creates a noise generator that warps the noise field generated by this generator. The created generator generates
+     * the noise of this generator at {@code (x + amount * warpX(x, y, z), y + amount * warpY(x, y, z), z + amount *
+     * warpZ(x, y, z))}. The warp fields are generated with {@link #generateTriple generateTriple}, so that three warp
+     * fields of the same kind and scaling, say three {@code FractalPerlin3D} generators with different seeds, find the
+     * lattice cells of each point only once.
+     *
+     * @param warpX  The noise field that displaces the X coordinate
+     * @param warpY  The noise field that displaces the Y coordinate
+     * @param warpZ  The noise field that displaces the Z coordinate
+     * @param amount The multiplier of the displacement
+     * @return The created noise generator
+     */
+    default Noise3D warp(Noise3D warpX, Noise3D warpY, Noise3D warpZ, double amount) {
+        return new WarpedNoise3D(this, warpX, warpY, warpZ, amount);
+    }
+
+    /**
+     * Creates a noise generator that samples this generator on a coarse lattice and interpolates trilinearly in
+     * between. The lattice points lie at integer multiples of the spacing along each axis, regardless of which area is
+     * generated, so that adjacent chunks agree on the values at their borders and can share lattice samples (see for
+     * example {@link Noise3D#generateGrid(double, double, double, double, double, double, int, int, int, double[], int)
+     * generateGrid}, which generates every lattice point under the grid once).
+     * <p>
+     * This is meant for smooth fields, such as terrain density, where only a few of the sampled points need the exact
+     * noise value. A grid with a spacing of {@code 4x8x4} generates the underlying noise about 128 times less often than
+     * a full-resolution grid. The interpolation error is bounded by
+     * {@code (sx^2 * Mx + sy^2 * My + sz^2 * Mz) / 8}, where {@code sx}, {@code sy} and {@code sz} are the spacings and
+     * {@code Mx}, {@code My} and {@code Mz} bound the magnitude of the second derivatives of this noise along each axis.
+     * For gradient noises such as Perlin noise, those derivatives scale with the inverse square of the noise scale, so
+     * the error stays small as long as the spacing is a small fraction of the noise scale. Small features and sharp
+     * ridges are smoothed out.
+     *
+     * @param x The spacing of the lattice along the X axis, must be positive
+     * @param y The spacing of the lattice along the Y axis, must be positive
+     * @param z The spacing of the lattice along the Z axis, must be positive
+     * @return The created noise generator
+     */
+    default Noise3D interpolated(double x, double y, double z) {
+        return new InterpolatedNoise3D(this, x, y, z);
+    }
+
+    /**
+     * Creates a noise generator that samples this generator on a coarse lattice and interpolates trilinearly in
+     * between. See {@link #interpolated(double, double, double)}.
+     *
+     * @param spacing The spacing of the lattice along every axis, must be positive
+     * @return The created noise generator
+     */
+    default Noise3D interpolated(double spacing) {
+        return interpolated(spacing, spacing, spacing);
+    }
+
+    /**
+     * Creates a noise generator that caches the noise of this generator at the points of a lattice with the given
+     * spacing, that is, at integer multiples of the spacing along every axis. Other points are generated by this
+     * generator directly. The cache is bounded, thread safe and keyed by lattice coordinates, so that chunks generated
+     * next to each other, possibly on different threads, share the samples on their borders. Samples are stored in
+     * tiles of 8x8x8 lattice points, and when the cache is full the least recently used tiles are evicted, using
+     * the CLOCK approximation.
+     * <p>
+     * This is most useful beneath {@link #interpolated}, with the same spacing: {@code noise.cached(4, 1 << 16)
+     * .interpolated(4)} generates each lattice point once, for all chunks that share it. Points are cached only when
+     * they lie exactly on the lattice, so spacings that are powers of two work best. Noise values of {@code NaN} are
+     * generated again every time.
+     *
+     * @param spacing  The spacing of the lattice, must be positive
+     * @param capacity The maximum amount of samples to cache, rounded up to whole tiles
+     * @return The created noise generator
+     */
+    default Noise3D cached(double spacing, int capacity) {
+        return new CachedNoise3D(this, spacing, capacity);
     }
 
     /**
@@ -0,0 +1,302 @@
+/*
+ * Copyright 2020-2026 O. W. Nankman
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "
+ * AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package dev.runefox.ptg.noise;
+
+import dev.runefox.ptg.noise.util.NoiseMath;
+
+import java.nio.DoubleBuffer;
+import java.util.Objects;
+
+/**
+ * Generic interface of a noise generator for 4D space. The fourth dimension is usually time: a 3D slice of a 4D noise
+ * field at a certain W coordinate is one frame of an animated 3D noise field, and slices at nearby W coordinates are
+ * similar.
+ */
+@FunctionalInterface
+public interface Noise4D {
+
+    default double generateMultiplied(double x, double y, double z, double w, double multiplier) {
+        return generate(x, y, z, w) * multiplier;
+    }
+
+    /**
+     * Generates noise at the specified coordinates.
+     *
+     * @param x The x coordinate
+     * @param y The y coordinate
+     * @param z The z coordinate
+     * @param w The w coordinate
+     * @return The generated noise value
+     */
+    double generate(double x, double y, double z, double w);
+
+    /**
+     * Generates noise at the specified coordinates, for a sample that stands for an area of {@code spacing} units
+     * across, such as one of many samples that lie {@code spacing} units apart. Generators may leave out detail that is
+     * finer than the spacing, as such detail only aliases at that sampling rate. By default, this generates all detail.
+     * <p>
+     * Fractal Perlin, simplex, OpenSimplex, value, discrete and cell generators leave out the octaves with a wavelength,
+     * the distance between the lattice points of the octave, below the spacing, and use the expected value of those
+     * octaves instead, which is zero. The octave with the largest wavelength is always generated. Every octave
+     * generates values within about {@code [-a, a]}, where {@code a} is its amplitude, so the error is at most the sum
+     * of the amplitudes of the left-out octaves, which is less than twice the amplitude of the largest left-out octave.
+     * With a spacing of zero, the result is the same as that of {@link #generate}.
+     *
+     * @param x       The x coordinate
+     * @param y       The y coordinate
+     * @param z       The z coordinate
+     * @param w       The w coordinate
+     * @param spacing The spacing between samples
+     * @return The generated noise value
+     */
+    default double generateLod(double x, double y, double z, double w, double spacing) {
+        return generate(x, y, z, w);
+    }
+
+    /**
+     * Generates noise on a regular 3D grid of {@code nx * ny * nz} points at one W coordinate into an array. The value
+     * at grid point {@code (i, j, k)} is generated at {@code (x0 + i * dx, y0 + j * dy, z0 + k * dz, w)} and stored at
+     * index {@code offset + (k * ny + j) * nx + i}, so X varies fastest and Z slowest. Generators may override this to
+     * compute the parts of the computation that only depend on W, Z or Y once per slice or row, but the generated values
+     * are the same as those of {@link #generate}.
+     *
+     * @param x0     The x coordinate of the first grid point
+     * @param y0     The y coordinate of the first grid point
+     * @param z0     The z coordinate of the first grid point
+     * @param w      The w coordinate of the grid
+     * @param dx     The spacing of the grid along the X axis
+     * @param dy     The spacing of the grid along the Y axis
+     * @param dz     The spacing of the grid along the Z axis
+     * @param nx     The amount of grid points along the X axis
+     * @param ny     The amount of grid points along the Y axis
+     * @param nz     The amount of grid points along the Z axis
+     * @param out    The array to store the generated values in
+     * @param offset The index in the array of the first grid point
+     */
+    default void generateGrid(double x0, double y0, double z0, double w, double dx, double dy, double dz, int nx, int ny, int nz, double[] out, int offset) {
+        Objects.checkFromIndexSize(offset, nx * ny * nz, out.length);
+        int index = offset;
+        for (int k = 0; k < nz; k++) {
+            double z = z0 + k * dz;
+            for (int j = 0; j < ny; j++) {
+                double y = y0 + j * dy;
+                for (int i = 0; i < nx; i++) {
+                    out[index++] = generate(x0 + i * dx, y, z, w);
+                }
+            }
+        }
+    }
+
+    /**
+     * Generates noise on a regular 3D grid of {@code nx * ny * nz} points at one W coordinate into a buffer. The layout
+     * is the same as in
+     * {@link #generateGrid(double, double, double, double, double, double, double, int, int, int, double[], int)},
+     * relative to the position of the buffer. The position of the buffer is not changed.
+     *
+     * @param x0  The x coordinate of the first grid point
+     * @param y0  The y coordinate of the first grid point
+     * @param z0  The z coordinate of the first grid point
+     * @param w   The w coordinate of the grid
+     * @param dx  The spacing of the grid along the X axis
+     * @param dy  The spacing of the grid along the Y axis
+     * @param dz  The spacing of the grid along the Z axis
+     * @param nx  The amount of grid points along the X axis
+     * @param ny  The amount of grid points along the Y axis
+     * @param nz  The amount of grid points along the Z axis
+     * @param out The buffer to store the generated values in
+     */
+    default void generateGrid(double x0, double y0, double z0, double w, double dx, double dy, double dz, int nx, int ny, int nz, DoubleBuffer out) {
+        int index = out.position();
+        Objects.checkFromIndexSize(index, nx * ny * nz, out.limit());
+        if (out.hasArray()) {
+            generateGrid(x0, y0, z0, w, dx, dy, dz, nx, ny, nz, out.array(), out.arrayOffset() + index);
+            return;
+        }
+
+        // Generate one Z layer at a time, so that the computation shared by a slice is not lost
+        double[] layer = new double[nx * ny];
+        for (int k = 0; k < nz; k++) {
+            generateGrid(x0, y0, z0 + k * dz, w, dx, dy, dz, nx, ny, 1, layer, 0);
+            out.put(index, layer);
+            index += layer.length;
+        }
+    }
+
+    /**
+     * Creates a 3D noise generator that generates the 3D slice of this noise field at the specified W coordinate.
+     *
+     * @param w The w coordinate
+     * @return The created noise generator
+     */
+    default Noise3D at(double w) {
+        return (x, y, z) -> generate(x, y, z, w);
+    }
+
+    /**
+     * Creates a noise generator that adds a constant value to the generated noise of this noise generator.
+     *
+     * @param amount The constant value to add
+     * @return The created noise generator
+     */
+    default Noise4D add(double amount) {
+        return (x, y, z, w) -> generate(x, y, z, w) + amount;
+    }
+
+    /**
+     * Creates a noise generator that subtracts a constant value from the generated noise of this noise generator.
+     *
+     * @param amount The constant value to subtract
+     * @return The created noise generator
+     */
+    default Noise4D subtract(double amount) {
+        return (x, y, z, w) -> generate(x, y, z, w) - amount;
+    }
+
+    /**
+     * Creates a noise generator that multiplies the noise generated by this generator with a constant value.
+     *
+     * @param amount The constant value to multiply with
+     * @return The created noise generator
+     */
+    default Noise4D multiply(double amount) {
+        return (x, y, z, w) -> generate(x, y, z, w) * amount;
+    }
+
+    /**
+     * Creates a noise generator that divides the noise generated by this generator by a constant value.
+     *
+     * @param amount The constant value to divide by
+     * @return The created noise generator
+     */
+    default Noise4D divide(double amount) {
+        return (x, y, z, w) -> generate(x, y, z, w) / amount;
+    }
+
+    /**
+     * Creates a noise generator that adds the noise generated by the specified generator to the noise generated by this
+     * generator.
+     *
+     * @param amount The noise generator that generates noise to add
+     * @return The created noise generator
+     */
+    default Noise4D add(Noise4D amount) {
+        return (x, y, z, w) -> generate(x, y, z, w) + amount.generate(x, y, z, w);
+    }
+
+    /**
+     * Creates a noise generator that multiplies the noise generated by this generator with the noise generated by the
+     * specified generator.
+     *
+     * @param amount The noise generator that generates noise to multiply with
+     * @return The created noise generator
+     */
+    default Noise4D multiply(Noise4D amount) {
+        return (x, y, z, w) -> generate(x, y, z, w) * amount.generate(x, y, z, w);
+    }
+
+    /**
+     * Creates a noise generator that generates the inverted noise field of this generator.
+     *
+     * @return The created noise generator
+     */
+    default Noise4D inverse() {
+        return (x, y, z, w) -> -generate(x, y, z, w);
+    }
+
+    /**
+     * Creates a noise generator that interpolates the noise of this generator between the specified constant limits,
+     * using linear interpolation.
+     *
+     * @param min The constant minimum limit
+     * @param max The constant maximum limit
+     * @return The created noise generator
+     */
+    default Noise4D lerp(double min, double max) {
+        return (x, y, z, w) -> NoiseMath.lerp(min, max, (generate(x, y, z, w) + 1) / 2);
+    }
+
+    /**
+     * Creates a noise generator that generates a constant value.
+     *
+     * @param value The value to generate
+     * @return The created noise generator
+     */
+    static Noise4D constant(double value) {
+        return (x, y, z, w) -> value;
+    }
+
+    /**
+     * Creates a 4D noise generator from a 3D noise generator, ignoring the W axis.
+     *
+     * @param noise The 3D noise generator
+     * @return The created 4D noise generator
+     */
+    static Noise4D from3D(Noise3D noise) {
+        return (x, y, z, w) -> noise.generate(x, y, z);
+    }
+
+    /**
+     * Creates a noise generator that scales the noise field generated by this generator.
+     *
+     * @param scale The scaling of the noise field for every coordinate.
+     * @return The created noise generator
+     */
+    default Noise4D scale(double scale) {
+        return scale(scale, scale, scale, scale);
+    }
+
+    /**
+     * Creates a noise generator that scales the noise field generated by this generator.
+     *
+     * @param x The scaling of the noise field for the X coordinate.
+     * @param y The scaling of the noise field for the Y coordinate.
+     * @param z The scaling of the noise field for the Z coordinate.
+     * @param w The scaling of the noise field for the W coordinate.
+     * @return The created noise generator
+     */
+    default Noise4D scale(double x, double y, double z, double w) {
+        return (px, py, pz, pw) -> generate(px * x, py * y, pz * z, pw * w);
+    }
+
+    /**
+     * Creates a noise generator that translates the noise field generated by this generator.
+     *
+     * @param x The translation of the noise field along the X coordinate.
+     * @param y The translation of the noise field along the Y coordinate.
+     * @param z The translation of the noise field along the Z coordinate.
+     * @param w The translation of the noise field along the W coordinate.
+     * @return The created noise generator
+     */
+    default Noise4D translate(double x, double y, double z, double w) {
+        return (px, py, pz, pw) -> generate(px + x, py + y, pz + z, pw + w);
+    }
+
+    /**
+     * Generates a fractal noise generator from this noise generator using a specified amount of octaves.
+     *
+     * @param octaves The amount of octaves
+     * @return The created noise generator
+     */
+    default Noise4D fractal(int octaves) {
+        return (x, y, z, w) -> {
+            double n = 0;
+            double m = 1;
+            for (int i = 0; i < octaves; i++) {
+                n += generate(x / m, y / m, z / m, w / m) * m;
+                m /= 2;
+            }
+            return n;
+        };
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2020-2026 O. W. Nankman
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "
+ * AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package dev.runefox.ptg.noise;
+
+/**
+ * A 2D slice of a 3D noise field at a constant Z coordinate, as created by {@link Noise3D#slice(double)}. Generating
+ * noise at {@code (x, y)} in a slice gives the same value as generating noise at {@code (x, y, getZ())} in the 3D
+ * noise field. Generators may compute the part of their computation that only depends on Z once, when the slice is
+ * created or moved, rather than for every sample.
+ * <p>
+ * A slice can be moved to another Z coordinate, which is useful for animating a 2D noise field over time. Since it is
+ * mutable, a slice must not be shared between threads that may move it.
+ */
+public interface NoiseSlice extends Noise2D {
+    /**
+     * Returns the Z coordinate of this slice.
+     */
+    double getZ();
+
+    /**
+     * Moves this slice to the given Z coordinate.
+     *
+     * @param z The new Z coordinate
+     */
+    void setZ(double z);
+}
@@ -13,6 +13,8 @@
 
 package dev.runefox.ptg.noise;
 
+import dev.runefox.ptg.noise.util.HashFamily;
+import dev.runefox.ptg.noise.util.LatticeHash2D;
 import dev.runefox.ptg.noise.util.NoiseMath;
 
 /**
@@ -25,6 +27,10 @@ public abstract class RepetitiveNoise2D implements Noise2D {
     protected final int repeatX;
     protected final int repeatY;
 
+    private HashFamily hashFamily = HashFamily.CLASSIC;
+    private LatticeHash2D lattice;
+    private int latticeSeed;
+
     /**
      * Generic constructor for a 2D noise generator
      *
@@ -102,10 +108,67 @@ public abstract class RepetitiveNoise2D implements Noise2D {
         this.seed = seed;
     }
 
+    /**
+     * Sets the hash family this generator hashes lattice coordinates with. This changes the generated noise.
+     *
+     * @param family The new hash family
+     */
+    public void setHashFamily(HashFamily family) {
+        if (family == null)
+            throw new NullPointerException("family");
+        this.hashFamily = family;
+        this.lattice = null;
+    }
+
+    /**
+     * Returns the hash family this generator hashes lattice coordinates with, {@link HashFamily#CLASSIC} by default.
+     */
+    public HashFamily getHashFamily() {
+        return hashFamily;
+    }
+
+    /**
+     * Returns the lattice hash of this generator for its current seed. The lattice hash is created again when the seed
+     * has changed since the last call.
+     */
+    protected LatticeHash2D lattice() {
+        LatticeHash2D lattice = this.lattice;
+        if (lattice == null || latticeSeed != seed) {
+            lattice = createLattice();
+            latticeSeed = seed;
+            this.lattice = lattice;
+        }
+        return lattice;
+    }
+
+    /**
+     * Creates the lattice hash of this generator for its current seed. Generators that need more than one hash per
+     * lattice point override this to create a lattice hash with multiple channels.
+     */
+    protected LatticeHash2D createLattice() {
+        return LatticeHash2D.repeating(hashFamily, repeatX, repeatY, seed);
+    }
+
     /**
      * Returns the seed of this generator
      */
     public int getSeed() {
         return seed;
     }
+
+    /**
+     * Returns the length of one period of this generator along the X axis, in the coordinates passed to
+     * {@link #generate}. The generated field repeats itself after this length.
+     */
+    public double getPeriodX() {
+        return repeatX * scaleX;
+    }
+
+    /**
+     * Returns the length of one period of this generator along the Y axis, in the coordinates passed to
+     * {@link #generate}. The generated field repeats itself after this length.
+     */
+    public double getPeriodY() {
+        return repeatY * scaleY;
+    }
 }
@@ -13,6 +13,8 @@
 
 package dev.runefox.ptg.noise;
 
+import dev.runefox.ptg.noise.util.HashFamily;
+import dev.runefox.ptg.noise.util.LatticeHash3D;
 import dev.runefox.ptg.noise.util.NoiseMath;
 
 /**
@@ -27,6 +29,10 @@ public abstract class RepetitiveNoise3D implements Noise3D {
     protected final int repeatY;
     protected final int repeatZ;
 
+    private HashFamily hashFamily = HashFamily.CLASSIC;
+    private LatticeHash3D lattice;
+    private int latticeSeed;
+
     /**
      * Generic constructor for a 3D noise generator
      *
@@ -83,6 +89,30 @@ public abstract class RepetitiveNoise3D implements Noise3D {
         return seed;
     }
 
+    /**
+     * Returns the length of one period of this generator along the X axis, in the coordinates passed to
+     * {@link #generate}. The generated field repeats itself after this length.
+     */
+    public double getPeriodX() {
+        return repeatX * scaleX;
+    }
+
+    /**
+     * Returns the length of one period of this generator along the Y axis, in the coordinates passed to
+     * {@link #generate}. The generated field repeats itself after this length.
+     */
+    public double getPeriodY() {
+        return repeatY * scaleY;
+    }
+
+    /**
+     * Returns the length of one period of this generator along the Z axis, in the coordinates passed to
+     * {@link #generate}. The generated field repeats itself after this length.
+     */
+    public double getPeriodZ() {
+        return repeatZ * scaleZ;
+    }
+
     /**
      * Sets the seed of this generator
      *
@@ -92,6 +122,61 @@ public abstract class RepetitiveNoise3D implements Noise3D {
         this.seed = seed;
     }
 
+    /**
+     * Sets the hash family this generator hashes lattice coordinates with. This changes the generated noise.
+     *
+     * @param family The new hash family
+     */
+    public void setHashFamily(HashFamily family) {
+        if (family == null)
+            throw new NullPointerException("family");
+        this.hashFamily = family;
+        this.lattice = null;
+    }
+
+    /**
+     * Returns the hash family this generator hashes lattice coordinates with, {@link HashFamily#CLASSIC} by default.
+     */
+    public HashFamily getHashFamily() {
+        return hashFamily;
+    }
+
+    /**
+     * Returns the lattice hash of this generator for its current seed. The lattice hash is created again when the seed
+     * has changed since the last call.
+     */
+    protected LatticeHash3D lattice() {
+        LatticeHash3D lattice = this.lattice;
+        if (lattice == null || latticeSeed != seed) {
+            lattice = createLattice();
+            latticeSeed = seed;
+            this.lattice = lattice;
+        }
+        return lattice;
+    }
+
+    /**
+     * Creates the lattice hash of this generator for its current seed. Generators that need more than one hash per
+     * lattice point override this to create a lattice hash with multiple channels.
+     */
+    protected LatticeHash3D createLattice() {
+        return LatticeHash3D.repeating(hashFamily, repeatX, repeatY, repeatZ, seed);
+    }
+
+    /**
+     * Creates a slice of the fractal noise field made of the given octaves, with the scaling of this generator. The
+     * octave at index {@code i} is sampled at the coordinates multiplied by {@code 2^i} and its value is divided by
+     * {@code 2^i}, or the other way around if {@code inverse} is true.
+     *
+     * @param octaves The octaves
+     * @param inverse Whether the fractal noise is inverse
+     * @param z       The Z coordinate of the slice
+     * @return The created slice
+     */
+    protected NoiseSlice fractalSlice(Noise3D[] octaves, boolean inverse, double z) {
+        return new FractalNoiseSlice(octaves, inverse, scaleX, scaleY, scaleZ, z);
+    }
+
     /**
      * Generates a noise and multiplies it by a specific amount.
      *
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2020-2026 O. W. Nankman
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "
+ * AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package dev.runefox.ptg.noise;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A bounded, thread safe cache of noise samples, stored in fixed-size tiles keyed by a {@code long}. Samples in a tile
+ * are filled lazily: a tile starts out filled with {@code NaN}, and a missing sample is computed by the first thread
+ * that needs it. Two threads may compute the same sample at the same time, which is harmless since noise generators
+ * are deterministic. When the cache is full, tiles are evicted using the CLOCK algorithm: every lookup marks its tile
+ * as referenced, and the clock hand evicts the first tile that was not referenced since the hand last passed it.
+ */
+final class SampleCache {
+    private static final VarHandle SAMPLES = MethodHandles.arrayElementVarHandle(double[].class);
+
+    private final int tileSize;
+    private final ConcurrentHashMap<Long, Tile> tiles;
+    private final Tile[] clock;
+    private int count;
+    private int hand;
+
+    SampleCache(int tileSize, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive.");
+        }
+        this.tileSize = tileSize;
+
+        int tileCapacity = Math.max(1, (capacity + tileSize - 1) / tileSize);
+        this.tiles = new ConcurrentHashMap<>(tileCapacity * 4 / 3 + 1);
+        this.clock = new Tile[tileCapacity];
+    }
+
+    /**
+     * Returns the tile with the given key, creating it, and possibly evicting another tile, when it is not present.
+     */
+    Tile tile(long key) {
+        Tile tile = tiles.get(key);
+        if (tile == null) {
+            tile = insert(key);
+        }
+        tile.referenced = true;
+        return tile;
+    }
+
+    private synchronized Tile insert(long key) {
+        Tile tile = tiles.get(key);
+        if (tile != null) {
+            return tile;
+        }
+
+        tile = new Tile(key, tileSize);
+        if (count < clock.length) {
+            clock[count++] = tile;
+        } else {
+            while (true) {
+                Tile old = clock[hand];
+                if (old.referenced) {
+                    old.referenced = false;
+                    hand = (hand + 1) % clock.length;
+                } else {
+                    tiles.remove(old.key, old);
+                    clock[hand] = tile;
+                    hand = (hand + 1) % clock.length;
+                    break;
+                }
+            }
+        }
+        tiles.put(key, tile);
+        return tile;
+    }
+
+    static final class Tile {
+        final long key;
+        final double[] samples;
+        volatile boolean referenced;
+
+        Tile(long key, int size) {
+            this.key = key;
+            this.samples = new double[size];
+            Arrays.fill(samples, Double.NaN);
+        }
+
+        /**
+         * Returns the sample at the given index, or {@code NaN} when it was not computed yet.
+         */
+        double get(int index) {
+            return (double) SAMPLES.getOpaque(samples, index);
+        }
+
+        void set(int index, double value) {
+            SAMPLES.setOpaque(samples, index, value);
+        }
+    }
+}
@@ -0,0 +1,314 @@
+/*
+ * Copyright 2020-2026 O. W. Nankman
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "
+ * AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package dev.runefox.ptg.noise;
+
+import java.nio.FloatBuffer;
+import java.util.stream.IntStream;
+
+/**
+ * A seamless texture baked from one full period of a {@link RepetitiveNoise2D} or {@link RepetitiveNoise3D}, together
+ * with a chain of mipmap levels. Texels are stored with X varying fastest, then Y, then Z. Texel {@code (i, j, k)} of
+ * the base level samples the generator at {@code (i * periodX / width, j * periodY / height, k * periodZ / depth)}, so
+ * the base level tiles seamlessly.
+ * <p>
+ * Each smaller level halves every dimension (rounding down, but never below 1) and is box filtered from the level
+ * above. The filter footprints of the texels of a level exactly partition the period of the level above, without
+ * reaching over its edges, so every level tiles seamlessly as well. Dimensions that are not a power of two are
+ * filtered with fractional weights.
+ * <p>
+ * Baking samples rows in parallel. The generator must not be modified, or reseeded, while it is being baked.
+ */
+public final class SeamlessTexture {
+    private final int[] widths;
+    private final int[] heights;
+    private final int[] depths;
+    private final float[][] levels;
+
+    private SeamlessTexture(int[] widths, int[] heights, int[] depths, float[][] levels) {
+        this.widths = widths;
+        this.heights = heights;
+        this.depths = depths;
+        this.levels = levels;
+    }
+
+    /**
+     * Bakes a full period of a 2D generator with a complete mip chain, down to a 1x1 level.
+     *
+     * @param noise  The generator to bake
+     * @param width  The width of the base level, in texels
+     * @param height The height of the base level, in texels
+     * @return The baked texture
+     */
+    public static SeamlessTexture bake(RepetitiveNoise2D noise, int width, int height) {
+        float[] base = new float[size(width, height, 1)];
+        bake(noise, width, height, base, 0);
+        return mipChain(base, width, height, 1);
+    }
+
+    /**
+     * Bakes a full period of a 3D generator with a complete mip chain, down to a 1x1x1 level.
+     *
+     * @param noise  The generator to bake
+     * @param width  The width of the base level, in texels
+     * @param height The height of the base level, in texels
+     * @param depth  The depth of the base level, in texels
+     * @return The baked texture
+     */
+    public static SeamlessTexture bake(RepetitiveNoise3D noise, int width, int height, int depth) {
+        float[] base = new float[size(width, height, depth)];
+        bake(noise, width, height, depth, base, 0);
+        return mipChain(base, width, height, depth);
+    }
+
+    /**
+     * Bakes a full period of a 2D generator into an array, without mipmaps.
+     *
+     * @param noise  The generator to bake
+     * @param width  The width of the texture, in texels
+     * @param height The height of the texture, in texels
+     * @param out    The array to bake into
+     * @param offset The index in the array of the first texel
+     */
+    public static void bake(RepetitiveNoise2D noise, int width, int height, float[] out, int offset) {
+        checkBounds(size(width, height, 1), out.length, offset);
+        double sx = noise.getPeriodX() / width;
+        double sy = noise.getPeriodY() / height;
+        IntStream.range(0, height).parallel().forEach(j -> {
+            int index = offset + j * width;
+            double y = j * sy;
+            for (int i = 0; i < width; i++) {
+                out[index + i] = (float) noise.generate(i * sx, y);
+            }
+        });
+    }
+
+    /**
+     * Bakes a full period of a 2D generator into a buffer, without mipmaps. This does not change the position of the
+     * buffer, so it may be a direct buffer shared with native code.
+     *
+     * @param noise  The generator to bake
+     * @param width  The width of the texture, in texels
+     * @param height The height of the texture, in texels
+     * @param out    The buffer to bake into, texels are written from its current position on
+     */
+    public static void bake(RepetitiveNoise2D noise, int width, int height, FloatBuffer out) {
+        int offset = out.position();
+        checkBounds(size(width, height, 1), out.limit(), offset);
+        double sx = noise.getPeriodX() / width;
+        double sy = noise.getPeriodY() / height;
+        IntStream.range(0, height).parallel().forEach(j -> {
+            int index = offset + j * width;
+            double y = j * sy;
+            for (int i = 0; i < width; i++) {
+                out.put(index + i, (float) noise.generate(i * sx, y));
+            }
+        });
+    }
+
+    /**
+     * Bakes a full period of a 3D generator into an array, without mipmaps.
+     *
+     * @param noise  The generator to bake
+     * @param width  The width of the texture, in texels
+     * @param height The height of the texture, in texels
+     * @param depth  The depth of the texture, in texels
+     * @param out    The array to bake into
+     * @param offset The index in the array of the first texel
+     */
+    public static void bake(RepetitiveNoise3D noise, int width, int height, int depth, float[] out, int offset) {
+        checkBounds(size(width, height, depth), out.length, offset);
+        double sx = noise.getPeriodX() / width;
+        double sy = noise.getPeriodY() / height;
+        double sz = noise.getPeriodZ() / depth;
+        IntStream.range(0, height * depth).parallel().forEach(row -> {
+            int index = offset + row * width;
+            double y = row % height * sy;
+            double z = row / height * sz;
+            for (int i = 0; i < width; i++) {
+                out[index + i] = (float) noise.generate(i * sx, y, z);
+            }
+        });
+    }
+
+    /**
+     * Bakes a full period of a 3D generator into a buffer, without mipmaps. This does not change the position of the
+     * buffer, so it may be a direct buffer shared with native code.
+     *
+     * @param noise  The generator to bake
+     * @param width  The width of the texture, in texels
+     * @param height The height of the texture, in texels
+     * @param depth  The depth of the texture, in texels
+     * @param out    The buffer to bake into, texels are written from its current position on
+     */
+    public static void bake(RepetitiveNoise3D noise, int width, int height, int depth, FloatBuffer out) {
+        int offset = out.position();
+        checkBounds(size(width, height, depth), out.limit(), offset);
+        double sx = noise.getPeriodX() / width;
+        double sy = noise.getPeriodY() / height;
+        double sz = noise.getPeriodZ() / depth;
+        IntStream.range(0, height * depth).parallel().forEach(row -> {
+            int index = offset + row * width;
+            double y = row % height * sy;
+            double z = row / height * sz;
+            for (int i = 0; i < width; i++) {
+                out.put(index + i, (float) noise.generate(i * sx, y, z));
+            }
+        });
+    }
+
+    /**
+     * Builds a complete mip chain on top of an already baked base level. The base level array is used as level 0 and is
+     * not copied.
+     *
+     * @param base   The base level
+     * @param width  The width of the base level, in texels
+     * @param height The height of the base level, in texels
+     * @param depth  The depth of the base level, in texels, 1 for a 2D texture
+     * @return The texture holding the mip chain
+     */
+    public static SeamlessTexture mipChain(float[] base, int width, int height, int depth) {
+        if (base.length < size(width, height, depth)) {
+            throw new IllegalArgumentException("Base level is smaller than its dimensions.");
+        }
+
+        int count = 1;
+        for (int size = Math.max(width, Math.max(height, depth)); size > 1; size /= 2) {
+            count++;
+        }
+
+        int[] widths = new int[count];
+        int[] heights = new int[count];
+        int[] depths = new int[count];
+        float[][] levels = new float[count][];
+        widths[0] = width;
+        heights[0] = height;
+        depths[0] = depth;
+        levels[0] = base;
+
+        for (int l = 1; l < count; l++) {
+            int w = widths[l - 1], h = heights[l - 1], d = depths[l - 1];
+            int nw = Math.max(1, w / 2), nh = Math.max(1, h / 2), nd = Math.max(1, d / 2);
+
+            float[] level = levels[l - 1];
+            level = shrink(level, w, 1, h * d, nw);
+            level = shrink(level, h, nw, d, nh);
+            level = shrink(level, d, nw * nh, 1, nd);
+
+            widths[l] = nw;
+            heights[l] = nh;
+            depths[l] = nd;
+            levels[l] = level;
+        }
+        return new SeamlessTexture(widths, heights, depths, levels);
+    }
+
+    /**
+     * Box filters one axis of an array viewed as {@code [outer][length][inner]}, resizing the axis to {@code size}.
+     * Every target texel covers {@code length / size} source texels, measured in units of {@code 1 / size} texel so
+     * that all weights are exact integers.
+     */
+    private static float[] shrink(float[] src, int length, int inner, int outer, int size) {
+        if (length == size) {
+            return src;
+        }
+
+        float[] dst = new float[outer * size * inner];
+        IntStream.range(0, outer).parallel().forEach(o -> {
+            int srcBase = o * length * inner;
+            int dstBase = o * size * inner;
+            for (int i = 0; i < size; i++) {
+                long lo = (long) i * length;
+                long hi = lo + length;
+                int dstIndex = dstBase + i * inner;
+                for (int j = (int) (lo / size); (long) j * size < hi; j++) {
+                    long overlap = Math.min(hi, (long) (j + 1) * size) - Math.max(lo, (long) j * size);
+                    float weight = (float) overlap / length;
+                    int srcIndex = srcBase + j * inner;
+                    for (int k = 0; k < inner; k++) {
+                        dst[dstIndex + k] += src[srcIndex + k] * weight;
+                    }
+                }
+            }
+        });
+        return dst;
+    }
+
+    private static int size(int width, int height, int depth) {
+        if (width < 1 || height < 1 || depth < 1) {
+            throw new IllegalArgumentException("Texture dimensions must be positive.");
+        }
+        return Math.multiplyExact(Math.multiplyExact(width, height), depth);
+    }
+
+    private static void checkBounds(int size, int length, int offset) {
+        if (offset < 0 || length - offset < size) {
+            throw new IndexOutOfBoundsException("Texture of " + size + " texels does not fit at offset " + offset);
+        }
+    }
+
+    /**
+     * Returns the amount of levels in this texture, including the base level.
+     */
+    public int levelCount() {
+        return levels.length;
+    }
+
+    /**
+     * Returns the width of a level, in texels.
+     */
+    public int width(int level) {
+        return widths[level];
+    }
+
+    /**
+     * Returns the height of a level, in texels.
+     */
+    public int height(int level) {
+        return heights[level];
+    }
+
+    /**
+     * Returns the depth of a level, in texels. This is 1 for every level of a 2D texture.
+     */
+    public int depth(int level) {
+        return depths[level];
+    }
+
+    /**
+     * Returns the texels of a level. The returned array is not copied, modifying it modifies this texture.
+     */
+    public float[] level(int level) {
+        return levels[level];
+    }
+
+    /**
+     * Returns the texel at the given coordinates of a level. Coordinates outside the level wrap around.
+     */
+    public float get(int level, int x, int y, int z) {
+        int w = widths[level], h = heights[level], d = depths[level];
+        return levels[level][(Math.floorMod(z, d) * h + Math.floorMod(y, h)) * w + Math.floorMod(x, w)];
+    }
+
+    /**
+     * Writes all levels into a buffer, the base level first and the smallest level last, advancing the position of the
+     * buffer.
+     *
+     * @param out The buffer to write into, which may be a direct buffer
+     */
+    public void write(FloatBuffer out) {
+        for (float[] level : levels) {
+            out.put(level, 0, level.length);
+        }
+    }
+}
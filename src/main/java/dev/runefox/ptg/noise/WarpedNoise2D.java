@@ -0,0 +1,71 @@
+/*
+ * Copyright 2020-2026 O. W. Nankman
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "
+ * AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package dev.runefox.ptg.noise;
+
+import java.nio.DoubleBuffer;
+import java.util.Objects;
+
+/**
+ * A noise generator that displaces the coordinates of another noise generator by two warp fields, which are generated
+ * together using {@link Noise2D#generatePair}. Grids reuse one buffer for the warp values of every point.
+ */
+final class WarpedNoise2D implements Noise2D {
+    private final Noise2D noise;
+    private final Noise2D warpX;
+    private final Noise2D warpY;
+    private final double amount;
+
+    WarpedNoise2D(Noise2D noise, Noise2D warpX, Noise2D warpY, double amount) {
+        this.noise = noise;
+        this.warpX = warpX;
+        this.warpY = warpY;
+        this.amount = amount;
+    }
+
+    private double generate(double x, double y, double[] warp) {
+        warpX.generatePair(warpY, x, y, warp, 0);
+        return noise.generate(x + amount * warp[0], y + amount * warp[1]);
+    }
+
+    @Override
+    public double generate(double x, double y) {
+        return generate(x, y, new double[2]);
+    }
+
+    @Override
+    public void generateGrid(double x0, double y0, double dx, double dy, int nx, int ny, double[] out, int offset) {
+        Objects.checkFromIndexSize(offset, nx * ny, out.length);
+        double[] warp = new double[2];
+        int index = offset;
+        for (int j = 0; j < ny; j++) {
+            double y = y0 + j * dy;
+            for (int i = 0; i < nx; i++) {
+                out[index++] = generate(x0 + i * dx, y, warp);
+            }
+        }
+    }
+
+    @Override
+    public void generateGrid(double x0, double y0, double dx, double dy, int nx, int ny, DoubleBuffer out) {
+        int index = out.position();
+        Objects.checkFromIndexSize(index, nx * ny, out.limit());
+        double[] warp = new double[2];
+        for (int j = 0; j < ny; j++) {
+            double y = y0 + j * dy;
+            for (int i = 0; i < nx; i++) {
+                out.put(index++, generate(x0 + i * dx, y, warp));
+            }
+        }
+    }
+}
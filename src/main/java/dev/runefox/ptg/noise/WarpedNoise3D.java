@@ -0,0 +1,79 @@
+/*
+ * Copyright 2020-2026 O. W. Nankman
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "
+ * AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package dev.runefox.ptg.noise;
+
+import java.nio.DoubleBuffer;
+import java.util.Objects;
+
+/**
+ * A noise generator that displaces the coordinates of another noise generator by three warp fields, which are
+ * generated together using {@link Noise3D#generateTriple}. Grids reuse one buffer for the warp values of every point.
+ */
+final class WarpedNoise3D implements Noise3D {
+    private final Noise3D noise;
+    private final Noise3D warpX;
+    private final Noise3D warpY;
+    private final Noise3D warpZ;
+    private final double amount;
+
+    WarpedNoise3D(Noise3D noise, Noise3D warpX, Noise3D warpY, Noise3D warpZ, double amount) {
+        this.noise = noise;
+        this.warpX = warpX;
+        this.warpY = warpY;
+        this.warpZ = warpZ;
+        this.amount = amount;
+    }
+
+    private double generate(double x, double y, double z, double[] warp) {
+        warpX.generateTriple(warpY, warpZ, x, y, z, warp, 0);
+        return noise.generate(x + amount * warp[0], y + amount * warp[1], z + amount * warp[2]);
+    }
+
+    @Override
+    public double generate(double x, double y, double z) {
+        return generate(x, y, z, new double[3]);
+    }
+
+    @Override
+    public void generateGrid(double x0, double y0, double z0, double dx, double dy, double dz, int nx, int ny, int nz, double[] out, int offset) {
+        Objects.checkFromIndexSize(offset, nx * ny * nz, out.length);
+        double[] warp = new double[3];
+        int index = offset;
+        for (int k = 0; k < nz; k++) {
+            double z = z0 + k * dz;
+            for (int j = 0; j < ny; j++) {
+                double y = y0 + j * dy;
+                for (int i = 0; i < nx; i++) {
+                    out[index++] = generate(x0 + i * dx, y, z, warp);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void generateGrid(double x0, double y0, double z0, double dx, double dy, double dz, int nx, int ny, int nz, DoubleBuffer out) {
+        int index = out.position();
+        Objects.checkFromIndexSize(index, nx * ny * nz, out.limit());
+        double[] warp = new double[3];
+        for (int k = 0; k < nz; k++) {
+            double z = z0 + k * dz;
+            for (int j = 0; j < ny; j++) {
+                double y = y0 + j * dy;
+                for (int i = 0; i < nx; i++) {
+                    out.put(index++, generate(x0 + i * dx, y, z, warp));
+                }
+            }
+        }
+    }
+}
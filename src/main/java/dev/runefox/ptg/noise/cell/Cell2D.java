@@ -14,7 +14,7 @@
 package dev.runefox.ptg.noise.cell;
 
 import dev.runefox.ptg.noise.BaseNoise2D;
-import dev.runefox.ptg.noise.util.Hash;
+import dev.runefox.ptg.noise.util.LatticeHash2D;
 
 /**
  * 2D Cell (voronoi, cell value) noise generator.
@@ -51,16 +51,9 @@ public class Cell2D extends BaseNoise2D {
         super(seed, scaleX, scaleY);
     }
 
-    private int hashx(long x, long y) {
-        return Hash.hash2I(seed * 12551 + 2315, x, y);
-    }
-
-    private int hashy(long x, long y) {
-        return Hash.hash2I(seed * 5281 + 1121, x, y);
-    }
-
-    private int hashv(long x, long y) {
-        return Hash.hash2I(seed * 12475 + 3187, x, y);
+    @Override
+    protected LatticeHash2D createLattice() {
+        return LatticeHash2D.of(getHashFamily(), seed * 12551 + 2315, seed * 5281 + 1121, seed * 12475 + 3187);
     }
 
     @Override
@@ -68,6 +61,6 @@ public class Cell2D extends BaseNoise2D {
         x /= scaleX;
         y /= scaleY;
 
-        return Cell.compute(x, y, this::hashx, this::hashy, this::hashv);
+        return Cell.compute(x, y, lattice());
     }
 }
@@ -13,8 +13,8 @@
 
 package dev.runefox.ptg.noise.cell;
 
-import dev.runefox.ptg.noise.util.Hash;
 import dev.runefox.ptg.noise.BaseNoise3D;
+import dev.runefox.ptg.noise.util.LatticeHash3D;
 
 /**
  * 3D Cell (voronoi, cell value) noise generator.
@@ -52,20 +52,9 @@ public class Cell3D extends BaseNoise3D {
         super(seed, scaleX, scaleY, scaleZ);
     }
 
-    private int hashx(long x, long y, long z) {
-        return Hash.hash3I(seed * 12551 + 2315, x, y, z);
-    }
-
-    private int hashy(long x, long y, long z) {
-        return Hash.hash3I(seed * 5281 + 1121, x, y, z);
-    }
-
-    private int hashz(long x, long y, long z) {
-        return Hash.hash3I(seed * 8911 + 731, x, y, z);
-    }
-
-    private int hashv(long x, long y, long z) {
-        return Hash.hash3I(seed * 12475 + 3187, x, y, z);
+    @Override
+    protected LatticeHash3D createLattice() {
+        return LatticeHash3D.of(getHashFamily(), seed * 12551 + 2315, seed * 5281 + 1121, seed * 8911 + 731, seed * 12475 + 3187);
     }
 
     @Override
@@ -74,6 +63,6 @@ public class Cell3D extends BaseNoise3D {
         y /= scaleY;
         z /= scaleZ;
 
-        return Cell.compute(x, y, z, this::hashx, this::hashy, this::hashz, this::hashv);
+        return Cell.compute(x, y, z, lattice());
     }
 }
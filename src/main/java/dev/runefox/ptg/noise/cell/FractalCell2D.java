@@ -14,6 +14,8 @@
 package dev.runefox.ptg.noise.cell;
 
 import dev.runefox.ptg.noise.BaseNoise2D;
+import dev.runefox.ptg.noise.util.HashFamily;
+import dev.runefox.ptg.noise.util.NoiseMath;
 
 /**
  * Fractal-Cell noise generator for 2D space. This generator uses a specified amount of {@link Cell2D}-instances as
@@ -101,6 +103,22 @@ public class FractalCell2D extends BaseNoise2D {
         return n;
     }
 
+    @Override
+    public double generateLod(double x, double y, double spacing) {
+        int octaves = NoiseMath.lodOctaves(noiseOctaves.length, Math.max(scaleX, scaleY), spacing);
+        x /= scaleX;
+        y /= scaleY;
+
+        double d = 1;
+        double n = 0;
+
+        for (int i = 0; i < octaves; i++) {
+            n += noiseOctaves[i].generate(x * d, y * d) / d;
+            d *= 2;
+        }
+        return n;
+    }
+
     @Override
     public void setSeed(int seed) {
         this.seed = seed;
@@ -108,4 +126,12 @@ public class FractalCell2D extends BaseNoise2D {
             value.setSeed(seed++);
         }
     }
+
+    @Override
+    public void setHashFamily(HashFamily family) {
+        super.setHashFamily(family);
+        for (Cell2D value : noiseOctaves) {
+            value.setHashFamily(family);
+        }
+    }
 }
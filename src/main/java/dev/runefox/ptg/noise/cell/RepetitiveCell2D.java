@@ -13,8 +13,8 @@
 
 package dev.runefox.ptg.noise.cell;
 
-import dev.runefox.ptg.noise.util.Hash;
 import dev.runefox.ptg.noise.RepetitiveNoise2D;
+import dev.runefox.ptg.noise.util.LatticeHash2D;
 
 /**
  * Repeating 2D Cell noise generator.
@@ -51,20 +51,9 @@ public class RepetitiveCell2D extends RepetitiveNoise2D {
         super(seed, scaleX, scaleY, repeatX, repeatY);
     }
 
-    private long repeat(long val, int repeat) {
-        return val % repeat + (val < 0 ? repeat : 0);
-    }
-
-    private int hashx(long x, long y) {
-        return Hash.hash2I(seed * 12551 + 2315, repeat(x, repeatX), repeat(y, repeatY));
-    }
-
-    private int hashy(long x, long y) {
-        return Hash.hash2I(seed * 5281 + 1121, repeat(x, repeatX), repeat(y, repeatY));
-    }
-
-    private int hashv(long x, long y) {
-        return Hash.hash2I(seed * 12475 + 3187, repeat(x, repeatX), repeat(y, repeatY));
+    @Override
+    protected LatticeHash2D createLattice() {
+        return LatticeHash2D.repeating(getHashFamily(), repeatX, repeatY, seed * 12551 + 2315, seed * 5281 + 1121, seed * 12475 + 3187);
     }
 
     @Override
@@ -72,6 +61,6 @@ public class RepetitiveCell2D extends RepetitiveNoise2D {
         x /= scaleX;
         y /= scaleY;
 
-        return Cell.compute(x, y, this::hashx, this::hashy, this::hashv);
+        return Cell.compute(x, y, lattice());
     }
 }
@@ -13,8 +13,8 @@
 
 package dev.runefox.ptg.noise.discrete;
 
-import dev.runefox.ptg.noise.util.HashFunction2D;
-import dev.runefox.ptg.noise.util.HashFunction3D;
+import dev.runefox.ptg.noise.util.LatticeHash2D;
+import dev.runefox.ptg.noise.util.LatticeHash3D;
 import dev.runefox.ptg.noise.util.NoiseMath;
 
 final class Discrete {
@@ -23,18 +23,33 @@ final class Discrete {
     private Discrete() {
     }
 
-    public static double compute(double x, double y, HashFunction2D hf) {
+    public static double compute(double x, double y, LatticeHash2D lattice) {
         long minx = NoiseMath.floor(x);
         long miny = NoiseMath.floor(y);
+        long wminx = lattice.wrapX(minx);
+        long wminy = lattice.wrapY(miny);
 
-        return hf.hash(minx, miny) / HASH_RANGE * 2 - 1;
+        return lattice.hash(wminx, wminy) / HASH_RANGE * 2 - 1;
     }
 
-    public static double compute(double x, double y, double z, HashFunction3D hf) {
+    public static double compute(double x, double y, double z, LatticeHash3D lattice) {
         long minx = NoiseMath.floor(x);
         long miny = NoiseMath.floor(y);
         long minz = NoiseMath.floor(z);
+        long wminx = lattice.wrapX(minx);
+        long wminy = lattice.wrapY(miny);
+        long wminz = lattice.wrapZ(minz);
 
-        return hf.hash(minx, miny, minz) / HASH_RANGE * 2 - 1;
+        return lattice.hash(wminx, wminy, wminz) / HASH_RANGE * 2 - 1;
+    }
+
+    // The same as compute(x, y, z, lattice), for a slice at constant z, with the wrapped lattice coordinate of z
+    // computed by the caller
+    static double computeSlice(double x, double y, long wminz, LatticeHash3D lattice) {
+        long minx = NoiseMath.floor(x);
+        long miny = NoiseMath.floor(y);
+        long wminx = lattice.wrapX(minx);
+        long wminy = lattice.wrapY(miny);
+        return lattice.hash(wminx, wminy, wminz) / HASH_RANGE * 2 - 1;
     }
 }
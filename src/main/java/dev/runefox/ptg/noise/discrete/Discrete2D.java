@@ -14,7 +14,6 @@
 package dev.runefox.ptg.noise.discrete;
 
 import dev.runefox.ptg.noise.BaseNoise2D;
-import dev.runefox.ptg.noise.util.Hash;
 
 /**
  * 2D Discrete (cell) noise generator.
@@ -51,15 +50,11 @@ public class Discrete2D extends BaseNoise2D {
         super(seed, scaleX, scaleY);
     }
 
-    private int hash(long x, long y) {
-        return Hash.hash2I(seed, x, y);
-    }
-
     @Override
     public double generate(double x, double y) {
         x /= scaleX;
         y /= scaleY;
 
-        return Discrete.compute(x, y, this::hash);
+        return Discrete.compute(x, y, lattice());
     }
 }
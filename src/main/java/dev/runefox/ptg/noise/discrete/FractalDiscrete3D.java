@@ -14,6 +14,9 @@
 package dev.runefox.ptg.noise.discrete;
 
 import dev.runefox.ptg.noise.BaseNoise3D;
+import dev.runefox.ptg.noise.NoiseSlice;
+import dev.runefox.ptg.noise.util.HashFamily;
+import dev.runefox.ptg.noise.util.NoiseMath;
 
 /**
  * Fractal-Discrete noise generator for 3D space. This generator uses a specified amount of {@link Discrete3D}-instances
@@ -103,6 +106,29 @@ public class FractalDiscrete3D extends BaseNoise3D {
         return n;
     }
 
+    @Override
+    public double generateLod(double x, double y, double z, double spacing) {
+        int octaves = NoiseMath.lodOctaves(noiseOctaves.length, Math.max(scaleX, Math.max(scaleY, scaleZ)), spacing);
+        x /= scaleX;
+        y /= scaleY;
+        z /= scaleZ;
+
+        double d = 1;
+        double n = 0;
+
+        for (int i = 0; i < octaves; i++) {
+            n += noiseOctaves[i].generate(x * d, y * d, z * d) / d;
+            d *= 2;
+        }
+        return n;
+    }
+
+    @Override
+    public NoiseSlice slice(double z) {
+        if (getClass() != FractalDiscrete3D.class) return super.slice(z);
+        return fractalSlice(noiseOctaves, false, z);
+    }
+
     @Override
     public void setSeed(int seed) {
         this.seed = seed;
@@ -110,4 +136,12 @@ public class FractalDiscrete3D extends BaseNoise3D {
             value.setSeed(seed++);
         }
     }
+
+    @Override
+    public void setHashFamily(HashFamily family) {
+        super.setHashFamily(family);
+        for (Discrete3D value : noiseOctaves) {
+            value.setHashFamily(family);
+        }
+    }
 }
@@ -14,6 +14,8 @@
 package dev.runefox.ptg.noise.discrete;
 
 import dev.runefox.ptg.noise.BaseNoise2D;
+import dev.runefox.ptg.noise.util.HashFamily;
+import dev.runefox.ptg.noise.util.NoiseMath;
 
 /**
  * Inverse-Fractal-Discrete noise generator for 2D space. This generator uses a specified amount of {@link
@@ -101,6 +103,24 @@ public class InverseFractalDiscrete2D extends BaseNoise2D {
         return n;
     }
 
+    @Override
+    public double generateLod(double x, double y, double spacing) {
+        // The last octave has the largest wavelength
+        int octaves = NoiseMath.lodOctaves(noiseOctaves.length, Math.max(scaleX, scaleY) * Math.scalb(1.0, noiseOctaves.length - 1), spacing);
+        int skip = noiseOctaves.length - octaves;
+        x /= scaleX;
+        y /= scaleY;
+
+        double d = Math.scalb(1.0, skip);
+        double n = 0;
+
+        for (int i = skip; i < noiseOctaves.length; i++) {
+            n += noiseOctaves[i].generate(x / d, y / d) * d;
+            d *= 2;
+        }
+        return n;
+    }
+
     @Override
     public void setSeed(int seed) {
         this.seed = seed;
@@ -108,4 +128,12 @@ public class InverseFractalDiscrete2D extends BaseNoise2D {
             value.setSeed(seed++);
         }
     }
+
+    @Override
+    public void setHashFamily(HashFamily family) {
+        super.setHashFamily(family);
+        for (Discrete2D value : noiseOctaves) {
+            value.setHashFamily(family);
+        }
+    }
 }
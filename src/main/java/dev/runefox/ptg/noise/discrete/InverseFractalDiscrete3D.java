@@ -14,6 +14,9 @@
 package dev.runefox.ptg.noise.discrete;
 
 import dev.runefox.ptg.noise.BaseNoise3D;
+import dev.runefox.ptg.noise.NoiseSlice;
+import dev.runefox.ptg.noise.util.HashFamily;
+import dev.runefox.ptg.noise.util.NoiseMath;
 
 /**
  * Inverse-Fractal-Discrete noise generator for 3D space. This generator uses a specified amount of {@link
@@ -103,6 +106,31 @@ public class InverseFractalDiscrete3D extends BaseNoise3D {
         return n;
     }
 
+    @Override
+    public double generateLod(double x, double y, double z, double spacing) {
+        // The last octave has the largest wavelength
+        int octaves = NoiseMath.lodOctaves(noiseOctaves.length, Math.max(scaleX, Math.max(scaleY, scaleZ)) * Math.scalb(1.0, noiseOctaves.length - 1), spacing);
+        int skip = noiseOctaves.length - octaves;
+        x /= scaleX;
+        y /= scaleY;
+        z /= scaleZ;
+
+        double d = Math.scalb(1.0, skip);
+        double n = 0;
+
+        for (int i = skip; i < noiseOctaves.length; i++) {
+            n += noiseOctaves[i].generate(x / d, y / d, z / d) * d;
+            d *= 2;
+        }
+        return n;
+    }
+
+    @Override
+    public NoiseSlice slice(double z) {
+        if (getClass() != InverseFractalDiscrete3D.class) return super.slice(z);
+        return fractalSlice(noiseOctaves, true, z);
+    }
+
     @Override
     public void setSeed(int seed) {
         this.seed = seed;
@@ -110,4 +138,12 @@ public class InverseFractalDiscrete3D extends BaseNoise3D {
             value.setSeed(seed++);
         }
     }
+
+    @Override
+    public void setHashFamily(HashFamily family) {
+        super.setHashFamily(family);
+        for (Discrete3D value : noiseOctaves) {
+            value.setHashFamily(family);
+        }
+    }
 }
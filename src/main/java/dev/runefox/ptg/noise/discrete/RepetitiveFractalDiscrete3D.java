@@ -14,6 +14,9 @@
 package dev.runefox.ptg.noise.discrete;
 
 import dev.runefox.ptg.noise.RepetitiveNoise3D;
+import dev.runefox.ptg.noise.NoiseSlice;
+import dev.runefox.ptg.noise.util.HashFamily;
+import dev.runefox.ptg.noise.util.NoiseMath;
 
 /**
  * Repeating fractal-Discrete noise generator for 3D space. This generator uses a specified amount of {@link
@@ -118,6 +121,29 @@ public class RepetitiveFractalDiscrete3D extends RepetitiveNoise3D {
         return n;
     }
 
+    @Override
+    public double generateLod(double x, double y, double z, double spacing) {
+        int octaves = NoiseMath.lodOctaves(noiseOctaves.length, Math.max(scaleX, Math.max(scaleY, scaleZ)), spacing);
+        x /= scaleX;
+        y /= scaleY;
+        z /= scaleZ;
+
+        double d = 1;
+        double n = 0;
+
+        for (int i = 0; i < octaves; i++) {
+            n += noiseOctaves[i].generate(x * d, y * d, z * d) / d;
+            d *= 2;
+        }
+        return n;
+    }
+
+    @Override
+    public NoiseSlice slice(double z) {
+        if (getClass() != RepetitiveFractalDiscrete3D.class) return super.slice(z);
+        return fractalSlice(noiseOctaves, false, z);
+    }
+
     @Override
     public void setSeed(int seed) {
         this.seed = seed;
@@ -125,4 +151,12 @@ public class RepetitiveFractalDiscrete3D extends RepetitiveNoise3D {
             value.setSeed(seed++);
         }
     }
+
+    @Override
+    public void setHashFamily(HashFamily family) {
+        super.setHashFamily(family);
+        for (RepetitiveDiscrete3D value : noiseOctaves) {
+            value.setHashFamily(family);
+        }
+    }
 }
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2020-2026 O. W. Nankman
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "
+ * AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package dev.runefox.ptg.noise.opensimplex;
+
+import dev.runefox.ptg.noise.BaseNoise4D;
+import dev.runefox.ptg.noise.util.HashFamily;
+import dev.runefox.ptg.noise.util.NoiseMath;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Fractal-OpenSimplex noise generator for 4D space. This generator uses a specified amount of {@link
+ * OpenSimplex4D}-instances as octaves.
+ */
+public class FractalOpenSimplex4D extends BaseNoise4D {
+
+    private final OpenSimplex4D[] noiseOctaves;
+
+    /**
+     * Constructs a Fractal-OpenSimplex noise generator.
+     *
+     * @param seed    The seed, may be any {@code int}.
+     * @param octaves The amount of octaves.
+     */
+    public FractalOpenSimplex4D(int seed, int octaves) {
+        super(seed);
+
+        if (octaves < 1) {
+            throw new IllegalArgumentException("There should be at least one octave.");
+        }
+
+        noiseOctaves = new OpenSimplex4D[octaves];
+
+        for (int i = 0; i < octaves; i++) {
+            noiseOctaves[i] = new OpenSimplex4D(seed + i);
+        }
+    }
+
+    /**
+     * Constructs a Fractal-OpenSimplex noise generator.
+     *
+     * @param seed    The seed, may be any {@code int}.
+     * @param scale   The coordinate scaling along every axis.
+     * @param octaves The amount of octaves.
+     */
+    public FractalOpenSimplex4D(int seed, double scale, int octaves) {
+        super(seed, scale);
+
+        if (octaves < 1) {
+            throw new IllegalArgumentException("There should be at least one octave.");
+        }
+
+        noiseOctaves = new OpenSimplex4D[octaves];
+
+        for (int i = 0; i < octaves; i++) {
+            noiseOctaves[i] = new OpenSimplex4D(seed + i);
+        }
+    }
+
+    /**
+     * Constructs a Fractal-OpenSimplex noise generator.
+     *
+     * @param seed    The seed, may be any {@code int}.
+     * @param scaleX  The coordinate scaling along X axis.
+     * @param scaleY  The coordinate scaling along Y axis.
+     * @param scaleZ  The coordinate scaling along Z axis.
+     * @param scaleW  The coordinate scaling along W axis.
+     * @param octaves The amount of octaves.
+     */
+    public FractalOpenSimplex4D(int seed, double scaleX, double scaleY, double scaleZ, double scaleW, int octaves) {
+        super(seed, scaleX, scaleY, scaleZ, scaleW);
+
+        if (octaves < 1) {
+            throw new IllegalArgumentException("There should be at least one octave.");
+        }
+
+        noiseOctaves = new OpenSimplex4D[octaves];
+
+        for (int i = 0; i < octaves; i++) {
+            noiseOctaves[i] = new OpenSimplex4D(seed + i);
+        }
+    }
+
+    @Override
+    public double generate(double x, double y, double z, double w) {
+        x /= scaleX;
+        y /= scaleY;
+        z /= scaleZ;
+        w /= scaleW;
+
+        double d = 1;
+        double n = 0;
+
+        for (OpenSimplex4D noise : noiseOctaves) {
+            n += noise.generate(x * d, y * d, z * d, w * d) / d;
+            d *= 2;
+        }
+        return n;
+    }
+
+    @Override
+    public double generateLod(double x, double y, double z, double w, double spacing) {
+        int octaves = NoiseMath.lodOctaves(noiseOctaves.length, 2 * Math.max(scaleX, Math.max(scaleY, Math.max(scaleZ, scaleW))), spacing);
+        x /= scaleX;
+        y /= scaleY;
+        z /= scaleZ;
+        w /= scaleW;
+
+        double d = 1;
+        double n = 0;
+
+        for (int i = 0; i < octaves; i++) {
+            n += noiseOctaves[i].generate(x * d, y * d, z * d, w * d) / d;
+            d *= 2;
+        }
+        return n;
+    }
+
+    @Override
+    public void generateGrid(double x0, double y0, double z0, double w, double dx, double dy, double dz, int nx, int ny, int nz, double[] out, int offset) {
+        Objects.checkFromIndexSize(offset, nx * ny * nz, out.length);
+        Arrays.fill(out, offset, offset + nx * ny * nz, 0);
+
+        double[] xs = scale(gridCoordinates(x0, dx, nx), scaleX, 1);
+        double[] ys = scale(gridCoordinates(y0, dy, ny), scaleY, 1);
+        double[] zs = scale(gridCoordinates(z0, dz, nz), scaleZ, 1);
+        w /= scaleW;
+
+        double d = 1;
+
+        for (OpenSimplex4D noise : noiseOctaves) {
+            noise.addGrid(scale(xs, 1, d), scale(ys, 1, d), scale(zs, 1, d), w * d, d, out, offset);
+            d *= 2;
+        }
+    }
+
+    private static double[] scale(double[] coords, double divisor, double factor) {
+        double[] scaled = new double[coords.length];
+        for (int i = 0; i < coords.length; i++) {
+            scaled[i] = coords[i] / divisor * factor;
+        }
+        return scaled;
+    }
+
+    @Override
+    public void setSeed(int seed) {
+        this.seed = seed;
+        for (OpenSimplex4D noise : noiseOctaves) {
+            noise.setSeed(seed++);
+        }
+    }
+
+    @Override
+    public void setHashFamily(HashFamily family) {
+        super.setHashFamily(family);
+        for (OpenSimplex4D noise : noiseOctaves) {
+            noise.setHashFamily(family);
+        }
+    }
+}
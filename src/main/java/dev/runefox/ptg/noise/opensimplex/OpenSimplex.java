@@ -13,9 +13,9 @@
 
 package dev.runefox.ptg.noise.opensimplex;
 
-import dev.runefox.ptg.noise.util.HashFunction2D;
-import dev.runefox.ptg.noise.util.HashFunction3D;
-import dev.runefox.ptg.noise.util.HashFunction4D;
+import dev.runefox.ptg.noise.util.LatticeHash2D;
+import dev.runefox.ptg.noise.util.LatticeHash3D;
+import dev.runefox.ptg.noise.util.LatticeHash4D;
 import dev.runefox.ptg.noise.util.NoiseMath;
 
 /*
@@ -39,32 +39,32 @@ final class OpenSimplex {
     /**
      * 2D SuperSimplex noise, standard lattice orientation.
      */
-    public static double compute(double x, double y, HashFunction2D hf) {
+    public static double compute(double x, double y, LatticeHash2D lattice) {
 
         // Get points for A2* lattice
         double s = 0.366025403784439 * (x + y);
         double xs = x + s, ys = y + s;
 
-        return computeBase(xs, ys, hf);
+        return computeBase(xs, ys, lattice);
     }
 
     /**
      * 2D SuperSimplex noise, with Y pointing down the main diagonal. Might be better for a 2D sandbox style game, where
      * Y is vertical. Probably slightly less optimal for heightmaps or continent maps.
      */
-    public static double computeXBeforeY(double x, double y, HashFunction2D hf) {
+    public static double computeXBeforeY(double x, double y, LatticeHash2D lattice) {
 
         // Skew transform and rotation baked into one.
         double xx = x * 0.7071067811865476;
         double yy = y * 1.224744871380249;
 
-        return computeBase(yy + xx, yy - xx, hf);
+        return computeBase(yy + xx, yy - xx, lattice);
     }
 
     /**
      * 2D SuperSimplex noise base. Lookup table implementation inspired by DigitalShadow.
      */
-    private static double computeBase(double xs, double ys, HashFunction2D hf) {
+    private static double computeBase(double xs, double ys, LatticeHash2D lattice) {
         double value = 0;
 
         // Get base points and offsets
@@ -82,16 +82,14 @@ final class OpenSimplex {
         double xi = xsi + ssi, yi = ysi + ssi;
 
         // Point contributions
-        for (int i = 0; i < 4; i++) {
-            LatticePoint2D c = LOOKUP_2D[index + i];
-
-            double dx = xi + c.dx, dy = yi + c.dy;
+        for (int c = index << 1, end = index + 4 << 1; c < end; c += 2) {
+            double dx = xi + LOOKUP_2D_OFFSETS[c], dy = yi + LOOKUP_2D_OFFSETS[c + 1];
             double attn = 2.0 / 3.0 - dx * dx - dy * dy;
             if (attn <= 0) continue;
 
-            long pxm = xsb + c.xsv, pym = ysb + c.ysv;
-            Grad2 grad = GRADIENTS_2D[hf.hash(pxm, pym) & PMASK];
-            double extrapolation = grad.dx * dx + grad.dy * dy;
+            long pxm = xsb + LOOKUP_2D_VECTORS[c], pym = ysb + LOOKUP_2D_VECTORS[c + 1];
+            int g = (lattice.hash(pxm, pym) & PMASK) << 1;
+            double extrapolation = GRADIENTS_2D[g] * dx + GRADIENTS_2D[g + 1] * dy;
 
             attn *= attn;
             value += attn * attn * extrapolation;
@@ -104,7 +102,7 @@ final class OpenSimplex {
      * 3D Re-oriented 8-point BCC noise, classic orientation Proper substitute for what 3D SuperSimplex would be, in
      * light of Forbidden Formulae. Use noise3_XYBeforeZ or noise3_XZBeforeY instead, wherever appropriate.
      */
-    public static double compute(double x, double y, double z, HashFunction3D hf) {
+    public static double compute(double x, double y, double z, LatticeHash3D lattice) {
 
         // Re-orient the cubic lattices via rotation, to produce the expected look on cardinal planar slices.
         // If texturing objects that don't tend to have cardinal plane faces, you could even remove this.
@@ -113,7 +111,7 @@ final class OpenSimplex {
         double xr = r - x, yr = r - y, zr = r - z;
 
         // Evaluate both lattices to form a BCC lattice.
-        return computeBase(xr, yr, zr, hf);
+        return computeBase(xr, yr, zr, lattice);
     }
 
     /**
@@ -122,7 +120,7 @@ final class OpenSimplex {
      * vertical in world coordinates, call noise3_XYBeforeZ(x, z, Y) or use noise3_XZBeforeY. If Z is vertical in world
      * coordinates, call noise3_XYBeforeZ(x, y, Z). For a time varied animation, call noise3_XYBeforeZ(x, y, T).
      */
-    public static double computeXYBeforeZ(double x, double y, double z, HashFunction3D hf) {
+    public static double computeXYBeforeZ(double x, double y, double z, LatticeHash3D lattice) {
 
         // Re-orient the cubic lattices without skewing, to make X and Y triangular like 2D.
         // Orthonormal rotation. Not a skew transform.
@@ -133,7 +131,7 @@ final class OpenSimplex {
         double zr = xy * 0.577350269189626 + zz;
 
         // Evaluate both lattices to form a BCC lattice.
-        return computeBase(xr, yr, zr, hf);
+        return computeBase(xr, yr, zr, lattice);
     }
 
     /**
@@ -143,7 +141,7 @@ final class OpenSimplex {
      * noise3_XZBeforeY(x, Z, y) or use noise3_XYBeforeZ. For a time varied animation, call noise3_XZBeforeY(x, T, y) or
      * use noise3_XYBeforeZ.
      */
-    public static double computeXZBeforeY(double x, double y, double z, HashFunction3D hf) {
+    public static double computeXZBeforeY(double x, double y, double z, LatticeHash3D lattice) {
 
         // Re-orient the cubic lattices without skewing, to make X and Z triangular like 2D.
         // Orthonormal rotation. Not a skew transform.
@@ -155,7 +153,7 @@ final class OpenSimplex {
         double yr = xz * 0.577350269189626 + yy;
 
         // Evaluate both lattices to form a BCC lattice.
-        return computeBase(xr, yr, zr, hf);
+        return computeBase(xr, yr, zr, lattice);
     }
 
     /**
@@ -163,7 +161,7 @@ final class OpenSimplex {
      * DigitalShadow. It was actually faster to narrow down the points in the loop itself, than to build up the index
      * with enough info to isolate 8 points.
      */
-    private static double computeBase(double xr, double yr, double zr, HashFunction3D hf) {
+    private static double computeBase(double xr, double yr, double zr, LatticeHash3D lattice) {
 
         // Get base and offsets inside cube of first lattice.
         long xrb = NoiseMath.floor(xr), yrb = NoiseMath.floor(yr), zrb = NoiseMath.floor(zr);
@@ -184,8 +182,8 @@ final class OpenSimplex {
                 c = c.nextOnFailure;
             } else {
                 long pxm = xrb + c.xrv, pym = yrb + c.yrv, pzm = zrb + c.zrv;
-                Grad3 grad = GRADIENTS_3D[hf.hash(pxm, pym, pzm) & PMASK];
-                double extrapolation = grad.dx * dxr + grad.dy * dyr + grad.dz * dzr;
+                int g = (lattice.hash(pxm, pym, pzm) & PMASK) * 3;
+                double extrapolation = GRADIENTS_3D[g] * dxr + GRADIENTS_3D[g + 1] * dyr + GRADIENTS_3D[g + 2] * dzr;
 
                 attn *= attn;
                 value += attn * attn * extrapolation;
@@ -198,60 +196,79 @@ final class OpenSimplex {
     /**
      * 4D SuperSimplex noise, classic lattice orientation.
      */
-    public static double compute(double x, double y, double z, double w, HashFunction4D hf) {
+    public static double compute(double x, double y, double z, double w, LatticeHash4D lattice) {
 
-        // Get points for A4 lattice
-        double s = 0.309016994374947 * (x + y + z + w);
+        // Get points for A4 lattice. The coordinates are summed from W to X, so that a grid at one W can sum W, Z and Y
+        // once per row.
+        double s = 0.309016994374947 * (x + (y + (z + w)));
         double xs = x + s, ys = y + s, zs = z + s, ws = w + s;
 
-        return computeBase(xs, ys, zs, ws, hf);
+        return computeBase(xs, ys, zs, ws, lattice);
+    }
+
+    /**
+     * 4D SuperSimplex noise, classic lattice orientation, for a grid of xs.length * ys.length * zs.length points at one
+     * W. The noise divided by the divisor is added to out, X varies fastest.
+     */
+    public static void computeGrid(double[] xs, double[] ys, double[] zs, double w, LatticeHash4D lattice, double divisor, double[] out, int offset) {
+        int index = offset;
+        for (double z : zs) {
+            double zw = z + w;
+            for (double y : ys) {
+                double yzw = y + zw;
+                for (double x : xs) {
+                    double s = 0.309016994374947 * (x + yzw);
+                    out[index++] += computeBase(x + s, y + s, z + s, w + s, lattice) / divisor;
+                }
+            }
+        }
     }
 
     /**
      * 4D SuperSimplex noise, with XY and ZW forming orthogonal triangular-based planes. Recommended for 3D terrain,
      * where X and Y (or Z and W) are horizontal. Recommended for noise(x, y, sin(time), cos(time)) trick.
      */
-    public static double computeXYBeforeZW(double x, double y, double z, double w, HashFunction4D hf) {
+    public static double computeXYBeforeZW(double x, double y, double z, double w, LatticeHash4D lattice) {
 
         double s2 = (x + y) * -0.28522513987434876941 + (z + w) * 0.83897065470611435718;
         double t2 = (z + w) * 0.21939749883706435719 + (x + y) * -0.48214856493302476942;
         double xs = x + s2, ys = y + s2, zs = z + t2, ws = w + t2;
 
-        return computeBase(xs, ys, zs, ws, hf);
+        return computeBase(xs, ys, zs, ws, lattice);
     }
 
     /**
      * 4D SuperSimplex noise, with XZ and YW forming orthogonal triangular-based planes. Recommended for 3D terrain,
      * where X and Z (or Y and W) are horizontal.
      */
-    public static double computeXZBeforeYW(double x, double y, double z, double w, HashFunction4D hf) {
+    public static double computeXZBeforeYW(double x, double y, double z, double w, LatticeHash4D lattice) {
 
         double s2 = (x + z) * -0.28522513987434876941 + (y + w) * 0.83897065470611435718;
         double t2 = (y + w) * 0.21939749883706435719 + (x + z) * -0.48214856493302476942;
         double xs = x + s2, ys = y + t2, zs = z + s2, ws = w + t2;
 
-        return computeBase(xs, ys, zs, ws, hf);
+        return computeBase(xs, ys, zs, ws, lattice);
     }
 
     /**
      * 4D SuperSimplex noise, with XYZ oriented like noise3_Classic, and W for an extra degree of freedom. Recommended
      * for time-varied animations which texture a 3D object (W=time)
      */
-    public static double computeXYZBeforeW(double x, double y, double z, double w, HashFunction4D hf) {
+    public static double computeXYZBeforeW(double x, double y, double z, double w, LatticeHash4D lattice) {
 
         double xyz = x + y + z;
         double ww = w * 1.118033988749894;
         double s2 = xyz * -0.16666666666666666 + ww;
         double xs = x + s2, ys = y + s2, zs = z + s2, ws = -0.5 * xyz + ww;
 
-        return computeBase(xs, ys, zs, ws, hf);
+        return computeBase(xs, ys, zs, ws, lattice);
     }
 
     /**
      * 4D SuperSimplex noise base. Using ultra-simple 4x4x4x4 lookup partitioning. This isn't as elegant or
      * SIMD/GPU/etc. portable as other approaches, but it does compete performance-wise with optimized OpenSimplex1.
      */
-    private static double computeBase(double xs, double ys, double zs, double ws, HashFunction4D hf) {
+    private static double computeBase(double xs, double ys, double zs, double ws, LatticeHash4D lattice) {
         double value = 0;
 
         // Get base points and offsets
@@ -268,16 +285,17 @@ final class OpenSimplex {
                         | ((NoiseMath.floorI(ws * 4) & 3) << 6);
 
         // Point contributions
-        for (LatticePoint4D c : LOOKUP_4D[index]) {
-            double dx = xi + c.dx, dy = yi + c.dy, dz = zi + c.dz, dw = wi + c.dw;
+        for (int c = LOOKUP_4D_START[index] << 2, end = LOOKUP_4D_START[index + 1] << 2; c < end; c += 4) {
+            double dx = xi + LOOKUP_4D_OFFSETS[c], dy = yi + LOOKUP_4D_OFFSETS[c + 1];
+            double dz = zi + LOOKUP_4D_OFFSETS[c + 2], dw = wi + LOOKUP_4D_OFFSETS[c + 3];
             double attn = 0.8 - dx * dx - dy * dy - dz * dz - dw * dw;
             if (attn > 0) {
                 attn *= attn;
 
-                long pxm = xsb + c.xsv, pym = ysb + c.ysv;
-                long pzm = zsb + c.zsv, pwm = wsb + c.wsv;
-                Grad4 grad = GRADIENTS_4D[hf.hash(pxm, pym, pzm, pwm) & PMASK];
-                double extrapolation = grad.dx * dx + grad.dy * dy + grad.dz * dz + grad.dw * dw;
+                long pxm = xsb + LOOKUP_4D_VECTORS[c], pym = ysb + LOOKUP_4D_VECTORS[c + 1];
+                long pzm = zsb + LOOKUP_4D_VECTORS[c + 2], pwm = wsb + LOOKUP_4D_VECTORS[c + 3];
+                int g = (lattice.hash(pxm, pym, pzm, pwm) & PMASK) << 2;
+                double extrapolation = GRADIENTS_4D[g] * dx + GRADIENTS_4D[g + 1] * dy + GRADIENTS_4D[g + 2] * dz + GRADIENTS_4D[g + 3] * dw;
 
                 value += attn * attn * extrapolation;
             }
@@ -289,15 +307,24 @@ final class OpenSimplex {
      * Definitions
      */
 
-    private static final LatticePoint2D[] LOOKUP_2D;
-    private static final LatticePoint3D[] LOOKUP_3D;
-    private static final LatticePoint4D[][] LOOKUP_4D;
+    // The lattice point tables are flattened into primitive arrays, so that the noise loops read plain array elements
+    // instead of chasing object references. Offsets (dx, dy, ...) and lattice vectors (xsv, ysv, ...) of a point are
+    // stored consecutively.
 
-    static {
-        LOOKUP_2D = new LatticePoint2D[8 * 4];
-        LOOKUP_3D = new LatticePoint3D[8];
-        LOOKUP_4D = new LatticePoint4D[256][];
+    private static final double[] LOOKUP_2D_OFFSETS = new double[8 * 4 * 2];
+    private static final int[] LOOKUP_2D_VECTORS = new int[8 * 4 * 2];
 
+    // In 3D, the points stay linked objects. Walking the same chains as an index-based state machine over flat arrays
+    // measured about 10% slower, as the next index has to be loaded and bounds-checked before the next point can be
+    // read.
+    private static final LatticePoint3D[] LOOKUP_3D = new LatticePoint3D[8];
+
+    // In 4D, the points of index i are the points LOOKUP_4D_START[i] until LOOKUP_4D_START[i+1].
+    private static final int[] LOOKUP_4D_START = new int[256 + 1];
+    private static final double[] LOOKUP_4D_OFFSETS;
+    private static final int[] LOOKUP_4D_VECTORS;
+
+    static {
         for (int i = 0; i < 8; i++) {
             int i1, j1, i2, j2;
             if ((i & 1) == 0) {
@@ -331,10 +358,10 @@ final class OpenSimplex {
                     j2 = 0;
                 }
             }
-            LOOKUP_2D[i * 4 + 0] = new LatticePoint2D(0, 0);
-            LOOKUP_2D[i * 4 + 1] = new LatticePoint2D(1, 1);
-            LOOKUP_2D[i * 4 + 2] = new LatticePoint2D(i1, j1);
-            LOOKUP_2D[i * 4 + 3] = new LatticePoint2D(i2, j2);
+            putLookup2D(i * 4 + 0, new LatticePoint2D(0, 0));
+            putLookup2D(i * 4 + 1, new LatticePoint2D(1, 1));
+            putLookup2D(i * 4 + 2, new LatticePoint2D(i1, j1));
+            putLookup2D(i * 4 + 3, new LatticePoint2D(i2, j2));
         }
 
         for (int i = 0; i < 8; i++) {
@@ -683,13 +710,33 @@ final class OpenSimplex {
             latticePoints[i] = new LatticePoint4D(cx, cy, cz, cw);
         }
         for (int i = 0; i < 256; i++) {
-            LOOKUP_4D[i] = new LatticePoint4D[lookup4DPregen[i].length];
+            LOOKUP_4D_START[i + 1] = LOOKUP_4D_START[i] + lookup4DPregen[i].length;
+        }
+        LOOKUP_4D_OFFSETS = new double[LOOKUP_4D_START[256] * 4];
+        LOOKUP_4D_VECTORS = new int[LOOKUP_4D_START[256] * 4];
+        for (int i = 0; i < 256; i++) {
             for (int j = 0; j < lookup4DPregen[i].length; j++) {
-                LOOKUP_4D[i][j] = latticePoints[lookup4DPregen[i][j]];
+                LatticePoint4D c = latticePoints[lookup4DPregen[i][j]];
+                int p = (LOOKUP_4D_START[i] + j) * 4;
+                LOOKUP_4D_OFFSETS[p] = c.dx;
+                LOOKUP_4D_OFFSETS[p + 1] = c.dy;
+                LOOKUP_4D_OFFSETS[p + 2] = c.dz;
+                LOOKUP_4D_OFFSETS[p + 3] = c.dw;
+                LOOKUP_4D_VECTORS[p] = c.xsv;
+                LOOKUP_4D_VECTORS[p + 1] = c.ysv;
+                LOOKUP_4D_VECTORS[p + 2] = c.zsv;
+                LOOKUP_4D_VECTORS[p + 3] = c.wsv;
             }
         }
     }
 
+    private static void putLookup2D(int index, LatticePoint2D c) {
+        LOOKUP_2D_OFFSETS[index * 2] = c.dx;
+        LOOKUP_2D_OFFSETS[index * 2 + 1] = c.dy;
+        LOOKUP_2D_VECTORS[index * 2] = c.xsv;
+        LOOKUP_2D_VECTORS[index * 2 + 1] = c.ysv;
+    }
+
     private static class LatticePoint2D {
         int xsv, ysv;
         double dx, dy;
@@ -772,13 +819,14 @@ final class OpenSimplex {
     private static final double N2 = 0.05481866495625118;
     private static final double N3 = 0.2781926117527186;
     private static final double N4 = 0.11127401889945551;
-    private static final Grad2[] GRADIENTS_2D;
-    private static final Grad3[] GRADIENTS_3D;
-    private static final Grad4[] GRADIENTS_4D;
+
+    // Gradients are stored consecutively: the gradient at index i is at i*2, i*3 or i*4
+    private static final double[] GRADIENTS_2D = new double[PSIZE * 2];
+    private static final double[] GRADIENTS_3D = new double[PSIZE * 3];
+    private static final double[] GRADIENTS_4D = new double[PSIZE * 4];
 
     static {
 
-        GRADIENTS_2D = new Grad2[PSIZE];
         Grad2[] grad2 = {
             new Grad2(0.130526192220052, 0.99144486137381),
             new Grad2(0.38268343236509, 0.923879532511287),
@@ -811,10 +859,11 @@ final class OpenSimplex {
             grad2[i].dy /= N2;
         }
         for (int i = 0; i < PSIZE; i++) {
-            GRADIENTS_2D[i] = grad2[i % grad2.length];
+            Grad2 grad = grad2[i % grad2.length];
+            GRADIENTS_2D[i * 2] = grad.dx;
+            GRADIENTS_2D[i * 2 + 1] = grad.dy;
         }
 
-        GRADIENTS_3D = new Grad3[PSIZE];
         Grad3[] grad3 = {
             new Grad3(-2.22474487139, -2.22474487139, -1.0),
             new Grad3(-2.22474487139, -2.22474487139, 1.0),
@@ -871,10 +920,12 @@ final class OpenSimplex {
             grad3[i].dz /= N3;
         }
         for (int i = 0; i < PSIZE; i++) {
-            GRADIENTS_3D[i] = grad3[i % grad3.length];
+            Grad3 grad = grad3[i % grad3.length];
+            GRADIENTS_3D[i * 3] = grad.dx;
+            GRADIENTS_3D[i * 3 + 1] = grad.dy;
+            GRADIENTS_3D[i * 3 + 2] = grad.dz;
         }
 
-        GRADIENTS_4D = new Grad4[PSIZE];
         Grad4[] grad4 = {
             new Grad4(-0.753341017856078, -0.37968289875261624, -0.37968289875261624, -0.37968289875261624),
             new Grad4(-0.7821684431180708, -0.4321472685365301, -0.4321472685365301, 0.12128480194602098),
@@ -1044,7 +1095,11 @@ final class OpenSimplex {
             grad4[i].dw /= N4;
         }
         for (int i = 0; i < PSIZE; i++) {
-            GRADIENTS_4D[i] = grad4[i % grad4.length];
+            Grad4 grad = grad4[i % grad4.length];
+            GRADIENTS_4D[i * 4] = grad.dx;
+            GRADIENTS_4D[i * 4 + 1] = grad.dy;
+            GRADIENTS_4D[i * 4 + 2] = grad.dz;
+            GRADIENTS_4D[i * 4 + 3] = grad.dw;
         }
     }
 }
@@ -14,7 +14,6 @@
 package dev.runefox.ptg.noise.opensimplex;
 
 import dev.runefox.ptg.noise.BaseNoise2D;
-import dev.runefox.ptg.noise.util.Hash;
 
 /**
  * 2D OpenSimplex noise generator based on an
@@ -52,15 +51,11 @@ public class OpenSimplex2D extends BaseNoise2D {
         super(seed, scaleX, scaleY);
     }
 
-    private int hash(long x, long y) {
-        return Hash.hash2I(seed, x, y);
-    }
-
     @Override
     public double generate(double x, double y) {
         x /= scaleX;
         y /= scaleY;
 
-        return OpenSimplex.compute(x / 2, y / 2, this::hash);
+        return OpenSimplex.compute(x / 2, y / 2, lattice());
     }
 }
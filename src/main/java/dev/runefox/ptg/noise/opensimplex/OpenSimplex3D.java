@@ -14,7 +14,6 @@
 package dev.runefox.ptg.noise.opensimplex;
 
 import dev.runefox.ptg.noise.BaseNoise3D;
-import dev.runefox.ptg.noise.util.Hash;
 
 /**
  * 3D OpenSimplex noise generator based on an
@@ -53,16 +52,12 @@ public class OpenSimplex3D extends BaseNoise3D {
         super(seed, scaleX, scaleY, scaleZ);
     }
 
-    private int hash(long x, long y, long z) {
-        return Hash.hash3I(seed, x, y, z);
-    }
-
     @Override
     public double generate(double x, double y, double z) {
         x /= scaleX;
         y /= scaleY;
         z /= scaleZ;
 
-        return OpenSimplex.compute(x / 2, y / 2, z / 2, this::hash);
+        return OpenSimplex.compute(x / 2, y / 2, z / 2, lattice());
     }
 }
@@ -14,6 +14,9 @@
 package dev.runefox.ptg.noise.perlin;
 
 import dev.runefox.ptg.noise.BaseNoise2D;
+import dev.runefox.ptg.noise.Noise2D;
+import dev.runefox.ptg.noise.util.HashFamily;
+import dev.runefox.ptg.noise.util.NoiseMath;
 
 /**
  * Fractal-Perlin noise generator for 2D space. This generator uses a specified amount of {@link Perlin2D}-instances as
@@ -101,6 +104,22 @@ public class FractalPerlin2D extends BaseNoise2D {
         return n;
     }
 
+    @Override
+    public double generateLod(double x, double y, double spacing) {
+        int octaves = NoiseMath.lodOctaves(noiseOctaves.length, Math.max(scaleX, scaleY), spacing);
+        x /= scaleX;
+        y /= scaleY;
+
+        double d = 1;
+        double n = 0;
+
+        for (int i = 0; i < octaves; i++) {
+            n += noiseOctaves[i].generate(x * d, y * d) / d;
+            d *= 2;
+        }
+        return n;
+    }
+
     @Override
     public void setSeed(int seed) {
         this.seed = seed;
@@ -108,4 +127,37 @@ public class FractalPerlin2D extends BaseNoise2D {
             perlin.setSeed(seed++);
         }
     }
+
+    @Override
+    public void setHashFamily(HashFamily family) {
+        super.setHashFamily(family);
+        for (Perlin2D perlin : noiseOctaves) {
+            perlin.setHashFamily(family);
+        }
+    }
+
+    @Override
+    public void generatePair(Noise2D other, double x, double y, double[] out, int offset) {
+        if (!canFuse(other, FractalPerlin2D.class) || ((FractalPerlin2D) other).noiseOctaves.length != noiseOctaves.length) {
+            super.generatePair(other, x, y, out, offset);
+            return;
+        }
+        Perlin2D[] otherOctaves = ((FractalPerlin2D) other).noiseOctaves;
+
+        x /= scaleX;
+        y /= scaleY;
+
+        double d = 1;
+        double n = 0;
+        double m = 0;
+
+        for (int i = 0; i < noiseOctaves.length; i++) {
+            noiseOctaves[i].pair(otherOctaves[i], x * d, y * d, out, offset);
+            n += out[offset] / d;
+            m += out[offset + 1] / d;
+            d *= 2;
+        }
+        out[offset] = n;
+        out[offset + 1] = m;
+    }
 }
@@ -13,8 +13,8 @@
 
 package dev.runefox.ptg.noise.perlin;
 
-import dev.runefox.ptg.noise.util.HashFunction2D;
-import dev.runefox.ptg.noise.util.HashFunction3D;
+import dev.runefox.ptg.noise.util.LatticeHash2D;
+import dev.runefox.ptg.noise.util.LatticeHash3D;
 import dev.runefox.ptg.noise.util.NoiseMath;
 
 final class Perlin {
@@ -78,20 +78,24 @@ final class Perlin {
     private Perlin() {
     }
 
-    public static double compute(double x, double y, HashFunction2D hf) {
+    public static double compute(double x, double y, LatticeHash2D lattice) {
 
         long minx = NoiseMath.floor(x);
         long miny = NoiseMath.floor(y);
         long maxx = minx + 1L;
         long maxy = miny + 1L;
+        long wminx = lattice.wrapX(minx);
+        long wmaxx = lattice.wrapX(maxx);
+        long wminy = lattice.wrapY(miny);
+        long wmaxy = lattice.wrapY(maxy);
 
         double smoothx = NoiseMath.smooth(x - minx);
         double smoothy = NoiseMath.smooth(y - miny);
 
-        int idx1 = hf.hash(minx, miny) & 15;
-        int idx2 = hf.hash(maxx, miny) & 15;
-        int idx3 = hf.hash(minx, maxy) & 15;
-        int idx4 = hf.hash(maxx, maxy) & 15;
+        int idx1 = lattice.hash(wminx, wminy) & 15;
+        int idx2 = lattice.hash(wmaxx, wminy) & 15;
+        int idx3 = lattice.hash(wminx, wmaxy) & 15;
+        int idx4 = lattice.hash(wmaxx, wmaxy) & 15;
 
         int[] grad1 = GRAD_2D[idx1];
         int[] grad2 = GRAD_2D[idx2];
@@ -118,7 +122,7 @@ final class Perlin {
         return NoiseMath.lerp(lerp12, lerp34, smoothy);
     }
 
-    public static double compute(double x, double y, double z, HashFunction3D hf) {
+    public static double compute(double x, double y, double z, LatticeHash3D lattice) {
 
         long minx = NoiseMath.floor(x);
         long miny = NoiseMath.floor(y);
@@ -126,19 +130,25 @@ final class Perlin {
         long maxx = minx + 1L;
         long maxy = miny + 1L;
         long maxz = minz + 1L;
+        long wminx = lattice.wrapX(minx);
+        long wmaxx = lattice.wrapX(maxx);
+        long wminy = lattice.wrapY(miny);
+        long wmaxy = lattice.wrapY(maxy);
+        long wminz = lattice.wrapZ(minz);
+        long wmaxz = lattice.wrapZ(maxz);
         double smoothx = NoiseMath.smooth(x - minx);
         double smoothy = NoiseMath.smooth(y - miny);
         double smoothz = NoiseMath.smooth(z - minz);
 
 
-        int idx1 = hf.hash(minx, miny, minz) & 31;
-        int idx2 = hf.hash(maxx, miny, minz) & 31;
-        int idx3 = hf.hash(minx, maxy, minz) & 31;
-        int idx4 = hf.hash(maxx, maxy, minz) & 31;
-        int idx5 = hf.hash(minx, miny, maxz) & 31;
-        int idx6 = hf.hash(maxx, miny, maxz) & 31;
-        int idx7 = hf.hash(minx, maxy, maxz) & 31;
-        int idx8 = hf.hash(maxx, maxy, maxz) & 31;
+        int idx1 = lattice.hash(wminx, wminy, wminz) & 31;
+        int idx2 = lattice.hash(wmaxx, wminy, wminz) & 31;
+        int idx3 = lattice.hash(wminx, wmaxy, wminz) & 31;
+        int idx4 = lattice.hash(wmaxx, wmaxy, wminz) & 31;
+        int idx5 = lattice.hash(wminx, wminy, wmaxz) & 31;
+        int idx6 = lattice.hash(wmaxx, wminy, wmaxz) & 31;
+        int idx7 = lattice.hash(wminx, wmaxy, wmaxz) & 31;
+        int idx8 = lattice.hash(wmaxx, wmaxy, wmaxz) & 31;
 
         int[] grad1 = GRAD_3D[idx1];
         int[] grad2 = GRAD_3D[idx2];
@@ -192,4 +202,132 @@ final class Perlin {
 
         return NoiseMath.lerp(lerp1234, lerp5678, smoothz);
     }
+
+    // Computes the noise of two lattices at the same point, sharing the lattice coordinates, distances and smoothed
+    // fractions. The lattices must wrap coordinates in the same way. Gives the same results as compute(x, y, lattice)
+    static void computePair(double x, double y, LatticeHash2D a, LatticeHash2D b, double[] out, int offset) {
+
+        long minx = NoiseMath.floor(x);
+        long miny = NoiseMath.floor(y);
+        long maxx = minx + 1L;
+        long maxy = miny + 1L;
+        long wminx = a.wrapX(minx);
+        long wmaxx = a.wrapX(maxx);
+        long wminy = a.wrapY(miny);
+        long wmaxy = a.wrapY(maxy);
+
+        double smoothx = NoiseMath.smooth(x - minx);
+        double smoothy = NoiseMath.smooth(y - miny);
+
+        double dminx = x - minx;
+        double dmaxx = x - maxx;
+        double dminy = y - miny;
+        double dmaxy = y - maxy;
+
+        out[offset] = corners(a, wminx, wmaxx, wminy, wmaxy, dminx, dmaxx, dminy, dmaxy, smoothx, smoothy);
+        out[offset + 1] = corners(b, wminx, wmaxx, wminy, wmaxy, dminx, dmaxx, dminy, dmaxy, smoothx, smoothy);
+    }
+
+    private static double corners(LatticeHash2D lattice, long wminx, long wmaxx, long wminy, long wmaxy, double dminx, double dmaxx, double dminy, double dmaxy, double smoothx, double smoothy) {
+        int[] grad1 = GRAD_2D[lattice.hash(wminx, wminy) & 15];
+        int[] grad2 = GRAD_2D[lattice.hash(wmaxx, wminy) & 15];
+        int[] grad3 = GRAD_2D[lattice.hash(wminx, wmaxy) & 15];
+        int[] grad4 = GRAD_2D[lattice.hash(wmaxx, wmaxy) & 15];
+
+        double dot1 = dminx * grad1[0] + dminy * grad1[1];
+        double dot2 = dmaxx * grad2[0] + dminy * grad2[1];
+        double dot3 = dminx * grad3[0] + dmaxy * grad3[1];
+        double dot4 = dmaxx * grad4[0] + dmaxy * grad4[1];
+
+        double lerp12 = NoiseMath.lerp(dot1, dot2, smoothx);
+        double lerp34 = NoiseMath.lerp(dot3, dot4, smoothx);
+
+        return NoiseMath.lerp(lerp12, lerp34, smoothy);
+    }
+
+    // Computes the noise of three lattices at the same point, sharing the lattice coordinates, distances and smoothed
+    // fractions. The lattices must wrap coordinates in the same way. Gives the same results as
+    // compute(x, y, z, lattice)
+    static void computeTriple(double x, double y, double z, LatticeHash3D a, LatticeHash3D b, LatticeHash3D c, double[] out, int offset) {
+
+        long minx = NoiseMath.floor(x);
+        long miny = NoiseMath.floor(y);
+        long minz = NoiseMath.floor(z);
+        long maxx = minx + 1L;
+        long maxy = miny + 1L;
+        long maxz = minz + 1L;
+        long wminx = a.wrapX(minx);
+        long wmaxx = a.wrapX(maxx);
+        long wminy = a.wrapY(miny);
+        long wmaxy = a.wrapY(maxy);
+        long wminz = a.wrapZ(minz);
+        long wmaxz = a.wrapZ(maxz);
+        double smoothx = NoiseMath.smooth(x - minx);
+        double smoothy = NoiseMath.smooth(y - miny);
+        double smoothz = NoiseMath.smooth(z - minz);
+
+        double dminx = x - minx;
+        double dmaxx = x - maxx;
+        double dminy = y - miny;
+        double dmaxy = y - maxy;
+        double dminz = z - minz;
+        double dmaxz = z - maxz;
+
+        out[offset] = corners(a, wminx, wmaxx, wminy, wmaxy, wminz, wmaxz, dminx, dmaxx, dminy, dmaxy, dminz, dmaxz, smoothx, smoothy, smoothz);
+        out[offset + 1] = corners(b, wminx, wmaxx, wminy, wmaxy, wminz, wmaxz, dminx, dmaxx, dminy, dmaxy, dminz, dmaxz, smoothx, smoothy, smoothz);
+        out[offset + 2] = corners(c, wminx, wmaxx, wminy, wmaxy, wminz, wmaxz, dminx, dmaxx, dminy, dmaxy, dminz, dmaxz, smoothx, smoothy, smoothz);
+    }
+
+    // The same as compute(x, y, z, lattice), for a slice at constant z, with the terms that only depend on z computed
+    // by the caller: the wrapped lattice coordinates around z, the smoothed fraction of z, and z minus the lower and
+    // upper lattice coordinates
+    static double computeSlice(double x, double y, long wminz, long wmaxz, double smoothz, double dminz, double dmaxz, LatticeHash3D lattice) {
+
+        long minx = NoiseMath.floor(x);
+        long miny = NoiseMath.floor(y);
+        long maxx = minx + 1L;
+        long maxy = miny + 1L;
+        long wminx = lattice.wrapX(minx);
+        long wmaxx = lattice.wrapX(maxx);
+        long wminy = lattice.wrapY(miny);
+        long wmaxy = lattice.wrapY(maxy);
+        double smoothx = NoiseMath.smooth(x - minx);
+        double smoothy = NoiseMath.smooth(y - miny);
+
+        double dminx = x - minx;
+        double dmaxx = x - maxx;
+        double dminy = y - miny;
+        double dmaxy = y - maxy;
+
+        return corners(lattice, wminx, wmaxx, wminy, wmaxy, wminz, wmaxz, dminx, dmaxx, dminy, dmaxy, dminz, dmaxz, smoothx, smoothy, smoothz);
+    }
+
+    private static double corners(LatticeHash3D lattice, long wminx, long wmaxx, long wminy, long wmaxy, long wminz, long wmaxz, double dminx, double dmaxx, double dminy, double dmaxy, double dminz, double dmaxz, double smoothx, double smoothy, double smoothz) {
+        int[] grad1 = GRAD_3D[lattice.hash(wminx, wminy, wminz) & 31];
+        int[] grad2 = GRAD_3D[lattice.hash(wmaxx, wminy, wminz) & 31];
+        int[] grad3 = GRAD_3D[lattice.hash(wminx, wmaxy, wminz) & 31];
+        int[] grad4 = GRAD_3D[lattice.hash(wmaxx, wmaxy, wminz) & 31];
+        int[] grad5 = GRAD_3D[lattice.hash(wminx, wminy, wmaxz) & 31];
+        int[] grad6 = GRAD_3D[lattice.hash(wmaxx, wminy, wmaxz) & 31];
+        int[] grad7 = GRAD_3D[lattice.hash(wminx, wmaxy, wmaxz) & 31];
+        int[] grad8 = GRAD_3D[lattice.hash(wmaxx, wmaxy, wmaxz) & 31];
+
+        double dot1 = dminx * grad1[0] + dminy * grad1[1] + dminz * grad1[2];
+        double dot2 = dmaxx * grad2[0] + dminy * grad2[1] + dminz * grad2[2];
+        double dot3 = dminx * grad3[0] + dmaxy * grad3[1] + dminz * grad3[2];
+        double dot4 = dmaxx * grad4[0] + dmaxy * grad4[1] + dminz * grad4[2];
+        double dot5 = dminx * grad5[0] + dminy * grad5[1] + dmaxz * grad5[2];
+        double dot6 = dmaxx * grad6[0] + dminy * grad6[1] + dmaxz * grad6[2];
+        double dot7 = dminx * grad7[0] + dmaxy * grad7[1] + dmaxz * grad7[2];
+        double dot8 = dmaxx * grad8[0] + dmaxy * grad8[1] + dmaxz * grad8[2];
+
+        double lerp12 = NoiseMath.lerp(dot1, dot2, smoothx);
+        double lerp34 = NoiseMath.lerp(dot3, dot4, smoothx);
+        double lerp1234 = NoiseMath.lerp(lerp12, lerp34, smoothy);
+        double lerp56 = NoiseMath.lerp(dot5, dot6, smoothx);
+        double lerp78 = NoiseMath.lerp(dot7, dot8, smoothx);
+        double lerp5678 = NoiseMath.lerp(lerp56, lerp78, smoothy);
+
+        return NoiseMath.lerp(lerp1234, lerp5678, smoothz);
+    }
 }
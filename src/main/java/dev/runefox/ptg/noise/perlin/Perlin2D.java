@@ -14,7 +14,7 @@
 package dev.runefox.ptg.noise.perlin;
 
 import dev.runefox.ptg.noise.BaseNoise2D;
-import dev.runefox.ptg.noise.util.Hash;
+import dev.runefox.ptg.noise.Noise2D;
 
 /**
  * 2D Perlin noise generator.
@@ -51,15 +51,25 @@ public class Perlin2D extends BaseNoise2D {
         super(seed, scaleX, scaleY);
     }
 
-    private int hash(long x, long y) {
-        return Hash.hash2I(seed, x, y);
-    }
-
     @Override
     public double generate(double x, double y) {
         x /= scaleX;
         y /= scaleY;
 
-        return Perlin.compute(x, y, this::hash);
+        return Perlin.compute(x, y, lattice());
+    }
+
+    @Override
+    public void generatePair(Noise2D other, double x, double y, double[] out, int offset) {
+        if (!canFuse(other, Perlin2D.class)) {
+            super.generatePair(other, x, y, out, offset);
+            return;
+        }
+        pair((Perlin2D) other, x / scaleX, y / scaleY, out, offset);
+    }
+
+    // Generates this noise and the noise of another generator of this kind, at coordinates that are already scaled
+    void pair(Perlin2D other, double x, double y, double[] out, int offset) {
+        Perlin.computePair(x, y, lattice(), other.lattice(), out, offset);
     }
 }
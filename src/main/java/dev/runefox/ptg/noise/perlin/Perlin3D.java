@@ -14,7 +14,8 @@
 package dev.runefox.ptg.noise.perlin;
 
 import dev.runefox.ptg.noise.BaseNoise3D;
-import dev.runefox.ptg.noise.util.Hash;
+import dev.runefox.ptg.noise.Noise3D;
+import dev.runefox.ptg.noise.NoiseSlice;
 
 /**
  * 3D Perlin noise generator.
@@ -52,16 +53,32 @@ public class Perlin3D extends BaseNoise3D {
         super(seed, scaleX, scaleY, scaleZ);
     }
 
-    private int hash(long x, long y, long z) {
-        return Hash.hash3I(seed, x, y, z);
-    }
-
     @Override
     public double generate(double x, double y, double z) {
         x /= scaleX;
         y /= scaleY;
         z /= scaleZ;
 
-        return Perlin.compute(x, y, z, this::hash);
+        return Perlin.compute(x, y, z, lattice());
+    }
+
+    @Override
+    public NoiseSlice slice(double z) {
+        if (getClass() != Perlin3D.class) return super.slice(z);
+        return new PerlinSlice(this::lattice, scaleX, scaleY, scaleZ, z);
+    }
+
+    @Override
+    public void generateTriple(Noise3D b, Noise3D c, double x, double y, double z, double[] out, int offset) {
+        if (!canFuse(b, c, Perlin3D.class)) {
+            super.generateTriple(b, c, x, y, z, out, offset);
+            return;
+        }
+        triple((Perlin3D) b, (Perlin3D) c, x / scaleX, y / scaleY, z / scaleZ, out, offset);
+    }
+
+    // Generates this noise and the noise of two other generators of this kind, at coordinates that are already scaled
+    void triple(Perlin3D b, Perlin3D c, double x, double y, double z, double[] out, int offset) {
+        Perlin.computeTriple(x, y, z, lattice(), b.lattice(), c.lattice(), out, offset);
     }
 }
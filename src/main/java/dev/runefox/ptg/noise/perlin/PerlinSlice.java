@@ -0,0 +1,69 @@
+/*
+ * Copyright 2020-2026 O. W. Nankman
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "
+ * AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package dev.runefox.ptg.noise.perlin;
+
+import dev.runefox.ptg.noise.NoiseSlice;
+import dev.runefox.ptg.noise.util.LatticeHash3D;
+import dev.runefox.ptg.noise.util.NoiseMath;
+
+import java.util.function.Supplier;
+
+/**
+ * A slice of Perlin noise at constant Z, which computes the lattice coordinates, smoothed fraction and distances along Z once per Z coordinate.
+ */
+final class PerlinSlice implements NoiseSlice {
+    private final Supplier<LatticeHash3D> lattice;
+    private final double scaleX;
+    private final double scaleY;
+    private final double scaleZ;
+    private double z;
+    private long wminz;
+    private long wmaxz;
+    private double smoothz;
+    private double dminz;
+    private double dmaxz;
+
+    PerlinSlice(Supplier<LatticeHash3D> lattice, double scaleX, double scaleY, double scaleZ, double z) {
+        this.lattice = lattice;
+        this.scaleX = scaleX;
+        this.scaleY = scaleY;
+        this.scaleZ = scaleZ;
+        setZ(z);
+    }
+
+    @Override
+    public double generate(double x, double y) {
+        return Perlin.computeSlice(x / scaleX, y / scaleY, wminz, wmaxz, smoothz, dminz, dmaxz, lattice.get());
+    }
+
+    @Override
+    public double getZ() {
+        return z;
+    }
+
+    @Override
+    public void setZ(double z) {
+        this.z = z;
+        z /= scaleZ;
+
+        LatticeHash3D lattice = this.lattice.get();
+        long minz = NoiseMath.floor(z);
+        long maxz = minz + 1L;
+        wminz = lattice.wrapZ(minz);
+        wmaxz = lattice.wrapZ(maxz);
+        smoothz = NoiseMath.smooth(z - minz);
+        dminz = z - minz;
+        dmaxz = z - maxz;
+    }
+}
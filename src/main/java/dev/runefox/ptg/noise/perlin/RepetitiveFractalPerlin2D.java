@@ -14,6 +14,8 @@
 package dev.runefox.ptg.noise.perlin;
 
 import dev.runefox.ptg.noise.RepetitiveNoise2D;
+import dev.runefox.ptg.noise.util.HashFamily;
+import dev.runefox.ptg.noise.util.NoiseMath;
 
 /**
  * Repeating fractal-Perlin noise generator for 2D space. This generator uses a specified amount of {@link
@@ -113,6 +115,22 @@ public class RepetitiveFractalPerlin2D extends RepetitiveNoise2D {
         return n;
     }
 
+    @Override
+    public double generateLod(double x, double y, double spacing) {
+        int octaves = NoiseMath.lodOctaves(noiseOctaves.length, Math.max(scaleX, scaleY), spacing);
+        x /= scaleX;
+        y /= scaleY;
+
+        double d = 1;
+        double n = 0;
+
+        for (int i = 0; i < octaves; i++) {
+            n += noiseOctaves[i].generate(x * d, y * d) / d;
+            d *= 2;
+        }
+        return n;
+    }
+
     @Override
     public void setSeed(int seed) {
         this.seed = seed;
@@ -120,4 +138,12 @@ public class RepetitiveFractalPerlin2D extends RepetitiveNoise2D {
             perlin.setSeed(seed++);
         }
     }
+
+    @Override
+    public void setHashFamily(HashFamily family) {
+        super.setHashFamily(family);
+        for (RepetitivePerlin2D perlin : noiseOctaves) {
+            perlin.setHashFamily(family);
+        }
+    }
 }
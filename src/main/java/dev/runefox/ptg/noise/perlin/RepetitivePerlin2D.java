@@ -14,7 +14,6 @@
 package dev.runefox.ptg.noise.perlin;
 
 import dev.runefox.ptg.noise.RepetitiveNoise2D;
-import dev.runefox.ptg.noise.util.Hash;
 
 /**
  * 2D Perlin noise generator.
@@ -51,19 +50,11 @@ public class RepetitivePerlin2D extends RepetitiveNoise2D {
         super(seed, scaleX, scaleY, repeatX, repeatY);
     }
 
-    private long repeat(long val, int repeat) {
-        return val % repeat + (val < 0 ? repeat : 0);
-    }
-
-    private int hash(long x, long y) {
-        return Hash.hash2I(seed, repeat(x, repeatX), repeat(y, repeatY));
-    }
-
     @Override
     public double generate(double x, double y) {
         x /= scaleX;
         y /= scaleY;
 
-        return Perlin.compute(x, y, this::hash);
+        return Perlin.compute(x, y, lattice());
     }
 }
@@ -14,7 +14,7 @@
 package dev.runefox.ptg.noise.perlin;
 
 import dev.runefox.ptg.noise.RepetitiveNoise3D;
-import dev.runefox.ptg.noise.util.Hash;
+import dev.runefox.ptg.noise.NoiseSlice;
 
 /**
  * 3D Perlin noise generator.
@@ -52,20 +52,18 @@ public class RepetitivePerlin3D extends RepetitiveNoise3D {
         super(seed, scaleX, scaleY, scaleZ, repeatX, repeatY, repeatZ);
     }
 
-    private long repeat(long val, int repeat) {
-        return val % repeat + (val < 0 ? repeat : 0);
-    }
-
-    private int hash(long x, long y, long z) {
-        return Hash.hash3I(seed, repeat(x, repeatX), repeat(y, repeatY), repeat(z, repeatZ));
-    }
-
     @Override
     public double generate(double x, double y, double z) {
         x /= scaleX;
         y /= scaleY;
         z /= scaleZ;
 
-        return Perlin.compute(x, y, z, this::hash);
+        return Perlin.compute(x, y, z, lattice());
+    }
+
+    @Override
+    public NoiseSlice slice(double z) {
+        if (getClass() != RepetitivePerlin3D.class) return super.slice(z);
+        return new PerlinSlice(this::lattice, scaleX, scaleY, scaleZ, z);
     }
 }
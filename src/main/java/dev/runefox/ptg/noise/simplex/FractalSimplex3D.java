@@ -14,6 +14,9 @@
 package dev.runefox.ptg.noise.simplex;
 
 import dev.runefox.ptg.noise.BaseNoise3D;
+import dev.runefox.ptg.noise.Noise3D;
+import dev.runefox.ptg.noise.util.HashFamily;
+import dev.runefox.ptg.noise.util.NoiseMath;
 
 /**
  * Fractal-Simplex noise generator for 3D space. This generator uses a specified amount of {@link
@@ -103,6 +106,23 @@ public class FractalSimplex3D extends BaseNoise3D {
         return n;
     }
 
+    @Override
+    public double generateLod(double x, double y, double z, double spacing) {
+        int octaves = NoiseMath.lodOctaves(noiseOctaves.length, 2 * Math.max(scaleX, Math.max(scaleY, scaleZ)), spacing);
+        x /= scaleX;
+        y /= scaleY;
+        z /= scaleZ;
+
+        double d = 1;
+        double n = 0;
+
+        for (int i = 0; i < octaves; i++) {
+            n += noiseOctaves[i].generate(x * d, y * d, z * d) / d;
+            d *= 2;
+        }
+        return n;
+    }
+
     @Override
     public void setSeed(int seed) {
         this.seed = seed;
@@ -110,4 +130,44 @@ public class FractalSimplex3D extends BaseNoise3D {
             noise.setSeed(seed++);
         }
     }
+
+    @Override
+    public void setHashFamily(HashFamily family) {
+        super.setHashFamily(family);
+        for (Simplex3D noise : noiseOctaves) {
+            noise.setHashFamily(family);
+        }
+    }
+
+    @Override
+    public void generateTriple(Noise3D b, Noise3D c, double x, double y, double z, double[] out, int offset) {
+        if (!canFuse(b, c, FractalSimplex3D.class)
+                || ((FractalSimplex3D) b).noiseOctaves.length != noiseOctaves.length
+                || ((FractalSimplex3D) c).noiseOctaves.length != noiseOctaves.length) {
+            super.generateTriple(b, c, x, y, z, out, offset);
+            return;
+        }
+        Simplex3D[] octavesB = ((FractalSimplex3D) b).noiseOctaves;
+        Simplex3D[] octavesC = ((FractalSimplex3D) c).noiseOctaves;
+
+        x /= scaleX;
+        y /= scaleY;
+        z /= scaleZ;
+
+        double d = 1;
+        double na = 0;
+        double nb = 0;
+        double nc = 0;
+
+        for (int i = 0; i < noiseOctaves.length; i++) {
+            noiseOctaves[i].triple(octavesB[i], octavesC[i], x * d, y * d, z * d, out, offset);
+            na += out[offset] / d;
+            nb += out[offset + 1] / d;
+            nc += out[offset + 2] / d;
+            d *= 2;
+        }
+        out[offset] = na;
+        out[offset + 1] = nb;
+        out[offset + 2] = nc;
+    }
 }
@@ -30,9 +30,9 @@ package dev.runefox.ptg.noise.simplex;
  *
  */
 
-import dev.runefox.ptg.noise.util.HashFunction2D;
-import dev.runefox.ptg.noise.util.HashFunction3D;
-import dev.runefox.ptg.noise.util.HashFunction4D;
+import dev.runefox.ptg.noise.util.LatticeHash2D;
+import dev.runefox.ptg.noise.util.LatticeHash3D;
+import dev.runefox.ptg.noise.util.LatticeHash4D;
 
 @SuppressWarnings("ALL")
 final class Simplex {  // Simplex noise in 2D, 3D and 4D
@@ -73,6 +73,29 @@ final class Simplex {  // Simplex noise in 2D, 3D and 4D
     }
   }
 
+  // Flat gradient tables, so that no Grad objects are dereferenced while computing noise. GRAD3_BY_HASH holds the
+  // (x,y,z) of grad3[permMod12[h]] at index h*3, which saves the permMod12 lookup. GRAD4 holds the (x,y,z,w) of grad4[g]
+  // at index g*4.
+  private static final double[] GRAD3_BY_HASH = new double[256 * 3];
+  private static final double[] GRAD4 = new double[32 * 4];
+  static {
+    for(int h=0; h<256; h++)
+    {
+      Grad g = grad3[permMod12[h]];
+      GRAD3_BY_HASH[h*3] = g.x;
+      GRAD3_BY_HASH[h*3+1] = g.y;
+      GRAD3_BY_HASH[h*3+2] = g.z;
+    }
+    for(int i=0; i<32; i++)
+    {
+      Grad g = grad4[i];
+      GRAD4[i*4] = g.x;
+      GRAD4[i*4+1] = g.y;
+      GRAD4[i*4+2] = g.z;
+      GRAD4[i*4+3] = g.w;
+    }
+  }
+
   // Skewing and unskewing factors for 2, 3, and 4 dimensions
   private static final double F2 = 0.5*(Math.sqrt(3.0)-1.0);
   private static final double G2 = (3.0-Math.sqrt(3.0))/6.0;
@@ -90,18 +113,21 @@ final class Simplex {  // Simplex noise in 2D, 3D and 4D
     return x<xi ? xi-1 : xi;
   }
 
-  private static double dot(Grad g, double x, double y) {
-    return g.x*x + g.y*y; }
+  private static double dot3(int h, double x, double y) {
+    int g = h*3;
+    return GRAD3_BY_HASH[g]*x + GRAD3_BY_HASH[g+1]*y; }
 
-  private static double dot(Grad g, double x, double y, double z) {
-    return g.x*x + g.y*y + g.z*z; }
+  private static double dot3(int h, double x, double y, double z) {
+    int g = h*3;
+    return GRAD3_BY_HASH[g]*x + GRAD3_BY_HASH[g+1]*y + GRAD3_BY_HASH[g+2]*z; }
 
-  private static double dot(Grad g, double x, double y, double z, double w) {
-    return g.x*x + g.y*y + g.z*z + g.w*w; }
+  private static double dot4(int gi, double x, double y, double z, double w) {
+    int g = gi*4;
+    return GRAD4[g]*x + GRAD4[g+1]*y + GRAD4[g+2]*z + GRAD4[g+3]*w; }
 
 
   // 2D simplex noise
-  public static double noise(double xin, double yin, HashFunction2D hash) {
+  public static double noise(double xin, double yin, LatticeHash2D lattice) {
     double n0, n1, n2; // Noise contributions from the three corners
     // Skew the input space to determine which simplex cell we're in
     double s = (xin+yin)*F2; // Hairy factor for 2D
@@ -125,27 +151,27 @@ final class Simplex {  // Simplex noise in 2D, 3D and 4D
     double x2 = x0 - 1.0 + 2.0 * G2; // Offsets for last corner in (x,y) unskewed coords
     double y2 = y0 - 1.0 + 2.0 * G2;
     // Work out the hashed gradient indices of the three simplex corners
-    int gi0 = permMod12[hash.hash(i, j) & 255];
-    int gi1 = permMod12[hash.hash(i+i1, j+j1) & 255];
-    int gi2 = permMod12[hash.hash(i+1, j+1) & 255];
+    int h0 = lattice.hash(i, j) & 255;
+    int h1 = lattice.hash(i+i1, j+j1) & 255;
+    int h2 = lattice.hash(i+1, j+1) & 255;
     // Calculate the contribution from the three corners
     double t0 = 0.5 - x0*x0-y0*y0;
     if(t0<0) n0 = 0.0;
     else {
       t0 *= t0;
-      n0 = t0 * t0 * dot(grad3[gi0], x0, y0);  // (x,y) of grad3 used for 2D gradient
+      n0 = t0 * t0 * dot3(h0, x0, y0);  // (x,y) of grad3 used for 2D gradient
     }
     double t1 = 0.5 - x1*x1-y1*y1;
     if(t1<0) n1 = 0.0;
     else {
       t1 *= t1;
-      n1 = t1 * t1 * dot(grad3[gi1], x1, y1);
+      n1 = t1 * t1 * dot3(h1, x1, y1);
     }
     double t2 = 0.5 - x2*x2-y2*y2;
     if(t2<0) n2 = 0.0;
     else {
       t2 *= t2;
-      n2 = t2 * t2 * dot(grad3[gi2], x2, y2);
+      n2 = t2 * t2 * dot3(h2, x2, y2);
     }
     // Add contributions from each corner to get the final noise value.
     // The result is scaled to return values in the interval [-1,1].
@@ -154,7 +180,7 @@ final class Simplex {  // Simplex noise in 2D, 3D and 4D
 
 
   // 3D simplex noise
-  public static double noise(double xin, double yin, double zin, HashFunction3D hash) {
+  public static double noise(double xin, double yin, double zin, LatticeHash3D lattice) {
     double n0, n1, n2, n3; // Noise contributions from the four corners
     // Skew the input space to determine which simplex cell we're in
     double s = (xin+yin+zin)*F3; // Very nice and simple skew factor for 3D
@@ -197,34 +223,34 @@ final class Simplex {  // Simplex noise in 2D, 3D and 4D
     double y3 = y0 - 1.0 + 3.0*G3;
     double z3 = z0 - 1.0 + 3.0*G3;
     // Work out the hashed gradient indices of the four simplex corners
-    int gi0 = permMod12[hash.hash(i, j, k) & 255];
-    int gi1 = permMod12[hash.hash(i+i1, j+j1, k+k1) & 255];
-    int gi2 = permMod12[hash.hash(i+i2, j+j2, k+k2) & 255];
-    int gi3 = permMod12[hash.hash(i+1, j+1, k+1) & 255];
+    int h0 = lattice.hash(i, j, k) & 255;
+    int h1 = lattice.hash(i+i1, j+j1, k+k1) & 255;
+    int h2 = lattice.hash(i+i2, j+j2, k+k2) & 255;
+    int h3 = lattice.hash(i+1, j+1, k+1) & 255;
     // Calculate the contribution from the four corners
     double t0 = 0.6 - x0*x0 - y0*y0 - z0*z0;
     if(t0<0) n0 = 0.0;
     else {
       t0 *= t0;
-      n0 = t0 * t0 * dot(grad3[gi0], x0, y0, z0);
+      n0 = t0 * t0 * dot3(h0, x0, y0, z0);
     }
     double t1 = 0.6 - x1*x1 - y1*y1 - z1*z1;
     if(t1<0) n1 = 0.0;
     else {
       t1 *= t1;
-      n1 = t1 * t1 * dot(grad3[gi1], x1, y1, z1);
+      n1 = t1 * t1 * dot3(h1, x1, y1, z1);
     }
     double t2 = 0.6 - x2*x2 - y2*y2 - z2*z2;
     if(t2<0) n2 = 0.0;
     else {
       t2 *= t2;
-      n2 = t2 * t2 * dot(grad3[gi2], x2, y2, z2);
+      n2 = t2 * t2 * dot3(h2, x2, y2, z2);
     }
     double t3 = 0.6 - x3*x3 - y3*y3 - z3*z3;
     if(t3<0) n3 = 0.0;
     else {
       t3 *= t3;
-      n3 = t3 * t3 * dot(grad3[gi3], x3, y3, z3);
+      n3 = t3 * t3 * dot3(h3, x3, y3, z3);
     }
     // Add contributions from each corner to get the final noise value.
     // The result is scaled to stay just inside [-1,1]
@@ -232,12 +258,131 @@ final class Simplex {  // Simplex noise in 2D, 3D and 4D
   }
 
 
+  // 2D simplex noise of two lattices at the same point, sharing the simplex cell, the corner offsets and the falloff
+  // of every corner. Gives the same results as noise(xin, yin, lattice) for each lattice.
+  static void noisePair(double xin, double yin, LatticeHash2D a, LatticeHash2D b, double[] out, int offset) {
+    double s = (xin+yin)*F2;
+    long i = fastfloor(xin+s);
+    long j = fastfloor(yin+s);
+    double t = (i+j)*G2;
+    double X0 = i-t;
+    double Y0 = j-t;
+    double x0 = xin-X0;
+    double y0 = yin-Y0;
+    long i1, j1;
+    if(x0>y0) {i1=1; j1=0;}
+    else {i1=0; j1=1;}
+    double x1 = x0 - i1 + G2;
+    double y1 = y0 - j1 + G2;
+    double x2 = x0 - 1.0 + 2.0 * G2;
+    double y2 = y0 - 1.0 + 2.0 * G2;
+    // Squared falloff of every corner, negative when the corner does not contribute
+    double t0 = 0.5 - x0*x0-y0*y0;
+    if(t0>=0) t0 *= t0;
+    double t1 = 0.5 - x1*x1-y1*y1;
+    if(t1>=0) t1 *= t1;
+    double t2 = 0.5 - x2*x2-y2*y2;
+    if(t2>=0) t2 *= t2;
+    out[offset] = corners(a, i, j, i1, j1, x0, y0, x1, y1, x2, y2, t0, t1, t2);
+    out[offset+1] = corners(b, i, j, i1, j1, x0, y0, x1, y1, x2, y2, t0, t1, t2);
+  }
+
+  private static double corners(LatticeHash2D lattice, long i, long j, long i1, long j1, double x0, double y0, double x1, double y1, double x2, double y2, double t0, double t1, double t2) {
+    double n0 = t0<0 ? 0.0 : t0 * t0 * dot3(lattice.hash(i, j) & 255, x0, y0);
+    double n1 = t1<0 ? 0.0 : t1 * t1 * dot3(lattice.hash(i+i1, j+j1) & 255, x1, y1);
+    double n2 = t2<0 ? 0.0 : t2 * t2 * dot3(lattice.hash(i+1, j+1) & 255, x2, y2);
+    return 70.0 * (n0 + n1 + n2);
+  }
+
+  // 3D simplex noise of three lattices at the same point, sharing the simplex cell, the corner offsets and the
+  // falloff of every corner. Gives the same results as noise(xin, yin, zin, lattice) for each lattice.
+  static void noiseTriple(double xin, double yin, double zin, LatticeHash3D a, LatticeHash3D b, LatticeHash3D c, double[] out, int offset) {
+    double s = (xin+yin+zin)*F3;
+    long i = fastfloor(xin+s);
+    long j = fastfloor(yin+s);
+    long k = fastfloor(zin+s);
+    double t = (i+j+k)*G3;
+    double X0 = i-t;
+    double Y0 = j-t;
+    double Z0 = k-t;
+    double x0 = xin-X0;
+    double y0 = yin-Y0;
+    double z0 = zin-Z0;
+    int i1, j1, k1;
+    int i2, j2, k2;
+    if(x0>=y0) {
+      if(y0>=z0)
+        { i1=1; j1=0; k1=0; i2=1; j2=1; k2=0; }
+        else if(x0>=z0) { i1=1; j1=0; k1=0; i2=1; j2=0; k2=1; }
+        else { i1=0; j1=0; k1=1; i2=1; j2=0; k2=1; }
+      }
+    else {
+      if(y0<z0) { i1=0; j1=0; k1=1; i2=0; j2=1; k2=1; }
+      else if(x0<z0) { i1=0; j1=1; k1=0; i2=0; j2=1; k2=1; }
+      else { i1=0; j1=1; k1=0; i2=1; j2=1; k2=0; }
+    }
+    double x1 = x0 - i1 + G3;
+    double y1 = y0 - j1 + G3;
+    double z1 = z0 - k1 + G3;
+    double x2 = x0 - i2 + 2.0*G3;
+    double y2 = y0 - j2 + 2.0*G3;
+    double z2 = z0 - k2 + 2.0*G3;
+    double x3 = x0 - 1.0 + 3.0*G3;
+    double y3 = y0 - 1.0 + 3.0*G3;
+    double z3 = z0 - 1.0 + 3.0*G3;
+    // Squared falloff of every corner, negative when the corner does not contribute
+    double t0 = 0.6 - x0*x0 - y0*y0 - z0*z0;
+    if(t0>=0) t0 *= t0;
+    double t1 = 0.6 - x1*x1 - y1*y1 - z1*z1;
+    if(t1>=0) t1 *= t1;
+    double t2 = 0.6 - x2*x2 - y2*y2 - z2*z2;
+    if(t2>=0) t2 *= t2;
+    double t3 = 0.6 - x3*x3 - y3*y3 - z3*z3;
+    if(t3>=0) t3 *= t3;
+    // The corners as lattice coordinates, in the same order as the offsets
+    long ci1 = i+i1, cj1 = j+j1, ck1 = k+k1;
+    long ci2 = i+i2, cj2 = j+j2, ck2 = k+k2;
+    out[offset] = corners(a, i, j, k, ci1, cj1, ck1, ci2, cj2, ck2, x0, y0, z0, x1, y1, z1, x2, y2, z2, x3, y3, z3, t0, t1, t2, t3);
+    out[offset+1] = corners(b, i, j, k, ci1, cj1, ck1, ci2, cj2, ck2, x0, y0, z0, x1, y1, z1, x2, y2, z2, x3, y3, z3, t0, t1, t2, t3);
+    out[offset+2] = corners(c, i, j, k, ci1, cj1, ck1, ci2, cj2, ck2, x0, y0, z0, x1, y1, z1, x2, y2, z2, x3, y3, z3, t0, t1, t2, t3);
+  }
+
+  private static double corners(LatticeHash3D lattice, long i, long j, long k, long i1, long j1, long k1, long i2, long j2, long k2,
+                                double x0, double y0, double z0, double x1, double y1, double z1, double x2, double y2, double z2, double x3, double y3, double z3,
+                                double t0, double t1, double t2, double t3) {
+    double n0 = t0<0 ? 0.0 : t0 * t0 * dot3(lattice.hash(i, j, k) & 255, x0, y0, z0);
+    double n1 = t1<0 ? 0.0 : t1 * t1 * dot3(lattice.hash(i1, j1, k1) & 255, x1, y1, z1);
+    double n2 = t2<0 ? 0.0 : t2 * t2 * dot3(lattice.hash(i2, j2, k2) & 255, x2, y2, z2);
+    double n3 = t3<0 ? 0.0 : t3 * t3 * dot3(lattice.hash(i+1, j+1, k+1) & 255, x3, y3, z3);
+    return 32.0*(n0 + n1 + n2 + n3);
+  }
+
+
   // 4D simplex noise, better simplex rank ordering method 2012-03-09
-  public static double noise(double x, double y, double z, double w, HashFunction4D hash) {
+  public static double noise(double x, double y, double z, double w, LatticeHash4D lattice) {
+    // Skew the (x,y,z,w) space to determine which cell of 24 simplices we're in
+    // The coordinates are summed from W to X, so that a grid at one W can sum W, Z and Y once per row
+    return noise(x, y, z, w, (x + (y + (z + w))) * F4, lattice);
+  }
+
+  // 4D simplex noise for a grid of xs.length * ys.length * zs.length points at one W. The noise divided by the divisor
+  // is added to out, X varies fastest.
+  public static void noiseGrid(double[] xs, double[] ys, double[] zs, double w, LatticeHash4D lattice, double divisor, double[] out, int offset) {
+    int index = offset;
+    for(double z : zs) {
+      double zw = z + w;
+      for(double y : ys) {
+        double yzw = y + zw;
+        for(double x : xs) {
+          out[index++] += noise(x, y, z, w, (x + yzw) * F4, lattice) / divisor;
+        }
+      }
+    }
+  }
+
+  private static double noise(double x, double y, double z, double w, double s, LatticeHash4D lattice) {
 
     double n0, n1, n2, n3, n4; // Noise contributions from the five corners
-    // Skew the (x,y,z,w) space to determine which cell of 24 simplices we're in
-    double s = (x + y + z + w) * F4; // Factor for 4D skewing
     long i = fastfloor(x + s);
     long j = fastfloor(y + s);
     long k = fastfloor(z + s);
@@ -306,41 +451,41 @@ final class Simplex {  // Simplex noise in 2D, 3D and 4D
     double z4 = z0 - 1.0 + 4.0*G4;
     double w4 = w0 - 1.0 + 4.0*G4;
     // Work out the hashed gradient indices of the five simplex corners
-    int gi0 = perm[hash.hash(i, j, k, l)] & 31;
-    int gi1 = perm[hash.hash(i+i1, j+j1, k+k1, l+l1)] & 31;
-    int gi2 = perm[hash.hash(i+i2, j+j2, k+k2, l+l2)] & 31;
-    int gi3 = perm[hash.hash(i+i3, j+j3, k+k3, l+l3)] & 31;
-    int gi4 = perm[hash.hash(i+1, j+1, k+1, l+1)] & 31;
+    int gi0 = perm[lattice.hash(i, j, k, l) & 255] & 31;
+    int gi1 = perm[lattice.hash(i+i1, j+j1, k+k1, l+l1) & 255] & 31;
+    int gi2 = perm[lattice.hash(i+i2, j+j2, k+k2, l+l2) & 255] & 31;
+    int gi3 = perm[lattice.hash(i+i3, j+j3, k+k3, l+l3) & 255] & 31;
+    int gi4 = perm[lattice.hash(i+1, j+1, k+1, l+1) & 255] & 31;
     // Calculate the contribution from the five corners
     double t0 = 0.6 - x0*x0 - y0*y0 - z0*z0 - w0*w0;
     if(t0<0) n0 = 0.0;
     else {
       t0 *= t0;
-      n0 = t0 * t0 * dot(grad4[gi0], x0, y0, z0, w0);
+      n0 = t0 * t0 * dot4(gi0, x0, y0, z0, w0);
     }
    double t1 = 0.6 - x1*x1 - y1*y1 - z1*z1 - w1*w1;
     if(t1<0) n1 = 0.0;
     else {
       t1 *= t1;
-      n1 = t1 * t1 * dot(grad4[gi1], x1, y1, z1, w1);
+      n1 = t1 * t1 * dot4(gi1, x1, y1, z1, w1);
     }
    double t2 = 0.6 - x2*x2 - y2*y2 - z2*z2 - w2*w2;
     if(t2<0) n2 = 0.0;
     else {
       t2 *= t2;
-      n2 = t2 * t2 * dot(grad4[gi2], x2, y2, z2, w2);
+      n2 = t2 * t2 * dot4(gi2, x2, y2, z2, w2);
     }
    double t3 = 0.6 - x3*x3 - y3*y3 - z3*z3 - w3*w3;
     if(t3<0) n3 = 0.0;
     else {
       t3 *= t3;
-      n3 = t3 * t3 * dot(grad4[gi3], x3, y3, z3, w3);
+      n3 = t3 * t3 * dot4(gi3, x3, y3, z3, w3);
     }
    double t4 = 0.6 - x4*x4 - y4*y4 - z4*z4 - w4*w4;
     if(t4<0) n4 = 0.0;
     else {
       t4 *= t4;
-      n4 = t4 * t4 * dot(grad4[gi4], x4, y4, z4, w4);
+      n4 = t4 * t4 * dot4(gi4, x4, y4, z4, w4);
     }
     // Sum up and scale the result to cover the range [-1,1]
     return 27.0 * (n0 + n1 + n2 + n3 + n4);
@@ -14,7 +14,7 @@
 package dev.runefox.ptg.noise.simplex;
 
 import dev.runefox.ptg.noise.BaseNoise2D;
-import dev.runefox.ptg.noise.util.Hash;
+import dev.runefox.ptg.noise.Noise2D;
 
 /**
  * 2D Simplex noise generator based on an
@@ -53,15 +53,25 @@ public class Simplex2D extends BaseNoise2D {
         super(seed, scaleX, scaleY);
     }
 
-    private int hash(long x, long y) {
-        return Hash.hash2I(seed, x, y);
-    }
-
     @Override
     public double generate(double x, double y) {
         x /= scaleX;
         y /= scaleY;
 
-        return Simplex.noise(x / 2, y / 2, this::hash);
+        return Simplex.noise(x / 2, y / 2, lattice());
+    }
+
+    @Override
+    public void generatePair(Noise2D other, double x, double y, double[] out, int offset) {
+        if (!canFuse(other, Simplex2D.class)) {
+            super.generatePair(other, x, y, out, offset);
+            return;
+        }
+        pair((Simplex2D) other, x / scaleX, y / scaleY, out, offset);
+    }
+
+    // Generates this noise and the noise of another generator of this kind, at coordinates that are already scaled
+    void pair(Simplex2D other, double x, double y, double[] out, int offset) {
+        Simplex.noisePair(x / 2, y / 2, lattice(), other.lattice(), out, offset);
     }
 }
@@ -14,7 +14,7 @@
 package dev.runefox.ptg.noise.simplex;
 
 import dev.runefox.ptg.noise.BaseNoise3D;
-import dev.runefox.ptg.noise.util.Hash;
+import dev.runefox.ptg.noise.Noise3D;
 
 /**
  * 3D Simplex noise generator based on an
@@ -54,16 +54,26 @@ public class Simplex3D extends BaseNoise3D {
         super(seed, scaleX, scaleY, scaleZ);
     }
 
-    private int hash(long x, long y, long z) {
-        return Hash.hash3I(seed, x, y, z);
-    }
-
     @Override
     public double generate(double x, double y, double z) {
         x /= scaleX;
         y /= scaleY;
         z /= scaleZ;
 
-        return Simplex.noise(x / 2, y / 2, z / 2, this::hash);
+        return Simplex.noise(x / 2, y / 2, z / 2, lattice());
+    }
+
+    @Override
+    public void generateTriple(Noise3D b, Noise3D c, double x, double y, double z, double[] out, int offset) {
+        if (!canFuse(b, c, Simplex3D.class)) {
+            super.generateTriple(b, c, x, y, z, out, offset);
+            return;
+        }
+        triple((Simplex3D) b, (Simplex3D) c, x / scaleX, y / scaleY, z / scaleZ, out, offset);
+    }
+
+    // Generates this noise and the noise of two other generators of this kind, at coordinates that are already scaled
+    void triple(Simplex3D b, Simplex3D c, double x, double y, double z, double[] out, int offset) {
+        Simplex.noiseTriple(x / 2, y / 2, z / 2, lattice(), b.lattice(), c.lattice(), out, offset);
     }
 }
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2020-2026 O. W. Nankman
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "
+ * AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package dev.runefox.ptg.noise.simplex;
+
+import dev.runefox.ptg.noise.BaseNoise4D;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * 4D Simplex noise generator based on an
+ * <a href=https://github.com/SRombauts/SimplexNoise/blob/master/references/SimplexNoise.java>implementation by Stefan
+ * Gustavson and Peter Eastman</a>
+ */
+public class Simplex4D extends BaseNoise4D {
+
+    /**
+     * Constructs an Simplex noise generator
+     *
+     * @param seed The seed, may be any {@link int}
+     */
+    public Simplex4D(int seed) {
+        super(seed);
+    }
+
+    /**
+     * Constructs an Simplex noise generator
+     *
+     * @param seed  The seed, may be any {@link int}
+     * @param scale The coordinate scaling along all axes
+     */
+    public Simplex4D(int seed, double scale) {
+        super(seed, scale);
+    }
+
+    /**
+     * Constructs an Simplex noise generator
+     *
+     * @param seed   The seed, may be any {@link int}
+     * @param scaleX The coordinate scaling along X axis
+     * @param scaleY The coordinate scaling along Y axis
+     * @param scaleZ The coordinate scaling along Z axis
+     * @param scaleW The coordinate scaling along W axis
+     */
+    public Simplex4D(int seed, double scaleX, double scaleY, double scaleZ, double scaleW) {
+        super(seed, scaleX, scaleY, scaleZ, scaleW);
+    }
+
+    @Override
+    public double generate(double x, double y, double z, double w) {
+        x /= scaleX;
+        y /= scaleY;
+        z /= scaleZ;
+        w /= scaleW;
+
+        return Simplex.noise(x / 2, y / 2, z / 2, w / 2, lattice());
+    }
+
+    @Override
+    public void generateGrid(double x0, double y0, double z0, double w, double dx, double dy, double dz, int nx, int ny, int nz, double[] out, int offset) {
+        Objects.checkFromIndexSize(offset, nx * ny * nz, out.length);
+        Arrays.fill(out, offset, offset + nx * ny * nz, 0);
+        addGrid(gridCoordinates(x0, dx, nx), gridCoordinates(y0, dy, ny), gridCoordinates(z0, dz, nz), w, 1, out, offset);
+    }
+
+    // Adds the noise at every point of the grid, divided by the divisor, to the output. The coordinates are scaled
+    // per axis here rather than per point.
+    void addGrid(double[] xs, double[] ys, double[] zs, double w, double divisor, double[] out, int offset) {
+        Simplex.noiseGrid(scale(xs, scaleX), scale(ys, scaleY), scale(zs, scaleZ), w / scaleW / 2, lattice(), divisor, out, offset);
+    }
+
+    private static double[] scale(double[] coords, double scale) {
+        double[] scaled = new double[coords.length];
+        for (int i = 0; i < coords.length; i++) {
+            scaled[i] = coords[i] / scale / 2;
+        }
+        return scaled;
+    }
+}
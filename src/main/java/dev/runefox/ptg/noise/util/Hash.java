@@ -23,6 +23,12 @@ public final class Hash {
     private final static int Z_PRIME = 6971;
     private final static int W_PRIME = 1013;
 
+    private final static long SEED_MUL = 0x9E3779B97F4A7C15L;
+    private final static long X_MUL = 0xD1B54A32D192ED03L;
+    private final static long Y_MUL = 0xABC98388FB8FAC03L;
+    private final static long Z_MUL = 0x8CB92BA72F3D8DD7L;
+    private final static long W_MUL = 0xDB4F0B9175AE2165L;
+
     private Hash() {
     }
 
@@ -214,17 +220,33 @@ public final class Hash {
 
     public static int hash2I(int seed, long x, long y) {
         return 31 * hash2I(seed, (int) (x & 0xFFFFFFFFL), (int) (y & 0xFFFFFFFFL))
-                   + hash2I(seed * 31 + Y_PRIME, (int) (x >>> 32 & 0xFFFFFFFFL), (int) (y >>> 32 & 0xFFFFFFFFL)) & 0x7FFFFFFF;
+                   + high2I(seed, x, y) & 0x7FFFFFFF;
     }
 
     public static int hash3I(int seed, long x, long y, long z) {
         return 31 * hash3I(seed, (int) (x & 0xFFFFFFFFL), (int) (y & 0xFFFFFFFFL), (int) (z & 0xFFFFFFFFL))
-                   + hash3I(seed * 31 + Y_PRIME, (int) (x >>> 32 & 0xFFFFFFFFL), (int) (y >>> 32 & 0xFFFFFFFFL), (int) (z >>> 32 & 0xFFFFFFFFL)) & 0x7FFFFFFF;
+                   + high3I(seed, x, y, z) & 0x7FFFFFFF;
     }
 
     public static int hash4I(int seed, long x, long y, long z, long w) {
         return 31 * hash4I(seed, (int) (x & 0xFFFFFFFFL), (int) (y & 0xFFFFFFFFL), (int) (z & 0xFFFFFFFFL), (int) (w & 0xFFFFFFFFL))
-                   + hash4I(seed * 31 + Y_PRIME, (int) (x >>> 32 & 0xFFFFFFFFL), (int) (y >>> 32 & 0xFFFFFFFFL), (int) (z >>> 32 & 0xFFFFFFFFL), (int) (w >>> 32 & 0xFFFFFFFFL)) & 0x7FFFFFFF;
+                   + high4I(seed, x, y, z, w) & 0x7FFFFFFF;
+    }
+
+    // The hash of the upper words of long coordinates. For coordinates within int range, every upper word is either 0
+    // or 0xFFFFFFFF, so this hash takes one of only a few values per seed, which the lattice hashes compute once so that
+    // they only have to compute the hash of the lower words
+
+    static int high2I(int seed, long x, long y) {
+        return hash2I(seed * 31 + Y_PRIME, (int) (x >>> 32 & 0xFFFFFFFFL), (int) (y >>> 32 & 0xFFFFFFFFL));
+    }
+
+    static int high3I(int seed, long x, long y, long z) {
+        return hash3I(seed * 31 + Y_PRIME, (int) (x >>> 32 & 0xFFFFFFFFL), (int) (y >>> 32 & 0xFFFFFFFFL), (int) (z >>> 32 & 0xFFFFFFFFL));
+    }
+
+    static int high4I(int seed, long x, long y, long z, long w) {
+        return hash4I(seed * 31 + Y_PRIME, (int) (x >>> 32 & 0xFFFFFFFFL), (int) (y >>> 32 & 0xFFFFFFFFL), (int) (z >>> 32 & 0xFFFFFFFFL), (int) (w >>> 32 & 0xFFFFFFFFL));
     }
 
     public static double hash1D(int seed, long x) {
@@ -242,4 +264,100 @@ public final class Hash {
     public static double hash4D(int seed, long x, long y, long z, long w) {
         return (double) hash4I(seed, x, y, z, w) / Integer.MAX_VALUE;
     }
+
+    // Single-pass 64-bit hash functions: the coordinates are combined with odd 64-bit multipliers and the result is
+    // scrambled with the finalizer of SplitMix64, so every bit of every coordinate affects every output bit
+
+    private static long mixL(long hash) {
+        hash = (hash ^ hash >>> 30) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ hash >>> 27) * 0x94D049BB133111EBL;
+        return hash ^ hash >>> 31;
+    }
+
+    private static int mix(long hash) {
+        return (int) (mixL(hash) >>> 33);
+    }
+
+    /**
+     * Generates a random int value between 0 and {@link Integer#MAX_VALUE} for 1D coordinates, using the
+     * {@link HashFamily#MIX} family.
+     *
+     * @param seed The seed, can be any {@code int}
+     * @param x    The x coordinate
+     * @return The random integer value
+     */
+    public static int mix1I(int seed, long x) {
+        return mix(seed * SEED_MUL + x * X_MUL);
+    }
+
+    /**
+     * Generates a random int value between 0 and {@link Integer#MAX_VALUE} for 2D coordinates, using the
+     * {@link HashFamily#MIX} family.
+     *
+     * @param seed The seed, can be any {@code int}
+     * @param x    The x coordinate
+     * @param y    The y coordinate
+     * @return The random integer value
+     */
+    public static int mix2I(int seed, long x, long y) {
+        return mix(seed * SEED_MUL + x * X_MUL + y * Y_MUL);
+    }
+
+    /**
+     * Generates a random int value between 0 and {@link Integer#MAX_VALUE} for 3D coordinates, using the
+     * {@link HashFamily#MIX} family.
+     *
+     * @param seed The seed, can be any {@code int}
+     * @param x    The x coordinate
+     * @param y    The y coordinate
+     * @param z    The z coordinate
+     * @return The random integer value
+     */
+    public static int mix3I(int seed, long x, long y, long z) {
+        return mix(seed * SEED_MUL + x * X_MUL + y * Y_MUL + z * Z_MUL);
+    }
+
+    /**
+     * Generates a random int value between 0 and {@link Integer#MAX_VALUE} for 4D coordinates, using the
+     * {@link HashFamily#MIX} family.
+     *
+     * @param seed The seed, can be any {@code int}
+     * @param x    The x coordinate
+     * @param y    The y coordinate
+     * @param z    The z coordinate
+     * @param w    The w coordinate
+     * @return The random integer value
+     */
+    public static int mix4I(int seed, long x, long y, long z, long w) {
+        return mix(seed * SEED_MUL + x * X_MUL + y * Y_MUL + z * Z_MUL + w * W_MUL);
+    }
+
+    /**
+     * Generates 64 random bits for 2D coordinates, using the {@link HashFamily#MIX} family. All bits are equally
+     * random, so the result can be split into several independent random values. The upper 31 bits equal the result of
+     * {@link #mix2I}.
+     *
+     * @param seed The seed, can be any {@code int}
+     * @param x    The x coordinate
+     * @param y    The y coordinate
+     * @return The random bits
+     */
+    public static long mix2L(int seed, long x, long y) {
+        return mixL(seed * SEED_MUL + x * X_MUL + y * Y_MUL);
+    }
+
+    /**
+     * Generates 64 random bits for 3D coordinates, using the {@link HashFamily#MIX} family. All bits are equally
+     * random, so the result can be split into several independent random values. The upper 31 bits equal the result of
+     * {@link #mix3I}.
+     *
+     * @param seed The seed, can be any {@code int}
+     * @param x    The x coordinate
+     * @param y    The y coordinate
+     * @param z    The z coordinate
+     * @return The random bits
+     */
+    public static long mix3L(int seed, long x, long y, long z) {
+        return mixL(seed * SEED_MUL + x * X_MUL + y * Y_MUL + z * Z_MUL);
+    }
 }
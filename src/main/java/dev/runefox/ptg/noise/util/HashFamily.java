@@ -0,0 +1,35 @@
+/*
+ * Copyright 2020-2026 O. W. Nankman
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "
+ * AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package dev.runefox.ptg.noise.util;
+
+/**
+ * The family of hash functions a {@link LatticeHash2D}, {@link LatticeHash3D} or {@link LatticeHash4D} hashes lattice
+ * coordinates with. Both families produce non-negative 31-bit integers, but they produce different values, so changing
+ * the family of a noise generator changes the noise it generates.
+ */
+public enum HashFamily {
+    /**
+     * The original hash functions of this library, {@link Hash#hash2I(int, long, long)} and alike. These hash the low
+     * and high words of the coordinates separately and combine the results. This is the default, so that noise
+     * generated with previous versions stays the same.
+     */
+    CLASSIC,
+
+    /**
+     * Branch-free multiply-xorshift hash functions, {@link Hash#mix2I(int, long, long)} and alike. These hash all 64
+     * bits of every coordinate in a single pass, which is roughly twice as fast as {@link #CLASSIC}, and they have
+     * better avalanche behaviour.
+     */
+    MIX
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright 2020-2026 O. W. Nankman
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "
+ * AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package dev.runefox.ptg.noise.util;
+
+/**
+ * Hashes integer lattice coordinates for the noise kernels. A lattice hash has one or more channels, each with their own
+ * seed, so that noises which need multiple hashes per lattice point (such as Worley noise) can obtain them from one
+ * instance. A lattice hash may repeat with a period along each axis. Coordinates must be wrapped into that period using
+ * {@link #wrapX} and {@link #wrapY} before they are hashed. When the period is a power of two, wrapping is a bit mask.
+ * When the period is small enough, the hashes of one full period are computed once, on creation, and hashing becomes a
+ * table lookup.
+ */
+public final class LatticeHash2D {
+    // Multi-output hashes are split into fields of 21 bits, one field per output
+    private static final int FIELD_BITS = 21;
+    private static final long FIELD_MASK = (1L << FIELD_BITS) - 1;
+    private static final double FIELD_SCALE = 1.0 / FIELD_MASK;
+
+    private static final int MAX_TABLE_SIZE = 1 << 18;
+
+    private final HashFamily family;
+    private final int[] seeds;
+    private final int repeatX;
+    private final int repeatY;
+    private final long maskX;
+    private final long maskY;
+    private final int[] highs;
+    private final int[] table;
+    private final long[] bitsTable;
+
+    private LatticeHash2D(HashFamily family, int repeatX, int repeatY, int[] seeds) {
+        if (seeds.length == 0)
+            throw new IllegalArgumentException("There should be at least one seed.");
+        if (repeatX < 0 || repeatY < 0)
+            throw new IllegalArgumentException("Repeat must not be negative.");
+
+        this.family = family;
+        this.seeds = seeds.clone();
+        this.repeatX = repeatX;
+        this.repeatY = repeatY;
+        this.maskX = mask(repeatX);
+        this.maskY = mask(repeatY);
+        this.highs = createHighs();
+        this.table = createTable();
+        this.bitsTable = createBitsTable();
+    }
+
+    /**
+     * Creates a non-repeating lattice hash with one channel per seed.
+     *
+     * @param seeds The seeds of the channels
+     * @return The created lattice hash
+     */
+    public static LatticeHash2D of(int... seeds) {
+        return new LatticeHash2D(HashFamily.CLASSIC, 0, 0, seeds);
+    }
+
+    /**
+     * Creates a repeating lattice hash with one channel per seed. A period of 0 means no repetition along that axis.
+     *
+     * @param repeatX The period along the X axis
+     * @param repeatY The period along the Y axis
+     * @param seeds   The seeds of the channels
+     * @return The created lattice hash
+     */
+    public static LatticeHash2D repeating(int repeatX, int repeatY, int... seeds) {
+        return new LatticeHash2D(HashFamily.CLASSIC, repeatX, repeatY, seeds);
+    }
+
+    /**
+     * Creates a non-repeating lattice hash with one channel per seed, using the given hash family.
+     *
+     * @param family The hash family
+     * @param seeds  The seeds of the channels
+     * @return The created lattice hash
+     */
+    public static LatticeHash2D of(HashFamily family, int... seeds) {
+        return new LatticeHash2D(family, 0, 0, seeds);
+    }
+
+    /**
+     * Creates a repeating lattice hash with one channel per seed, using the given hash family. A period of 0 means no
+     * repetition along that axis.
+     *
+     * @param family  The hash family
+     * @param repeatX The period along the X axis
+     * @param repeatY The period along the Y axis
+     * @param seeds   The seeds of the channels
+     * @return The created lattice hash
+     */
+    public static LatticeHash2D repeating(HashFamily family, int repeatX, int repeatY, int... seeds) {
+        return new LatticeHash2D(family, repeatX, repeatY, seeds);
+    }
+
+    private static long mask(int repeat) {
+        return repeat > 0 && (repeat & repeat - 1) == 0 ? repeat - 1 : -1;
+    }
+
+    static long wrap(long v, int repeat, long mask) {
+        if (repeat == 0) return v;
+        if (mask >= 0) return v & mask;
+        return Math.floorMod(v, repeat);
+    }
+
+    // For coordinates within int range, the hash of the upper words only depends on the signs of the coordinates, so
+    // we compute it for every channel and every combination of signs up front
+    private int[] createHighs() {
+        if (family != HashFamily.CLASSIC)
+            return null;
+
+        int[] highs = new int[seeds.length << 2];
+        for (int i = 0; i < highs.length; i++) {
+            highs[i] = Hash.high2I(seeds[i >>> 2], -(i & 1), -(i >>> 1 & 1));
+        }
+        return highs;
+    }
+
+    private int direct(int channel, long x, long y) {
+        int seed = seeds[channel];
+        if (family == HashFamily.MIX)
+            return Hash.mix2I(seed, x, y);
+
+        int ix = (int) x;
+        int iy = (int) y;
+        if (ix == x && iy == y) {
+            int high = highs[channel << 2 | ix >>> 31 | iy >>> 31 << 1];
+            return 31 * Hash.hash2I(seed, ix, iy) + high & 0x7FFFFFFF;
+        }
+        return Hash.hash2I(seed, x, y);
+    }
+
+    private int[] createTable() {
+        int channels = seeds.length;
+        if (repeatX == 0 || repeatY == 0 || (long) repeatX * repeatY * channels > MAX_TABLE_SIZE)
+            return null;
+
+        int[] table = new int[repeatX * repeatY * channels];
+        int i = 0;
+        for (int y = 0; y < repeatY; y++) {
+            for (int x = 0; x < repeatX; x++) {
+                for (int c = 0; c < channels; c++) {
+                    table[i++] = direct(c, x, y);
+                }
+            }
+        }
+        return table;
+    }
+
+    private long[] createBitsTable() {
+        if (family != HashFamily.MIX || repeatX == 0 || repeatY == 0 || (long) repeatX * repeatY > MAX_TABLE_SIZE)
+            return null;
+
+        long[] table = new long[repeatX * repeatY];
+        int i = 0;
+        for (int y = 0; y < repeatY; y++) {
+            for (int x = 0; x < repeatX; x++) {
+                table[i++] = Hash.mix2L(seeds[0], x, y);
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Returns the hash family this lattice hash hashes with.
+     */
+    public HashFamily getFamily() {
+        return family;
+    }
+
+    /**
+     * Returns whether this lattice hash can produce multiple outputs from one hash, through {@link #hashBits}. This is
+     * the case for the {@link HashFamily#MIX} family, which produces 64 random bits per lattice point in a single pass.
+     * Kernels that need multiple random values per lattice point, such as the cellular noises, split these bits instead
+     * of hashing each channel separately.
+     */
+    public boolean isMultiOutput() {
+        return family == HashFamily.MIX;
+    }
+
+    /**
+     * Wraps an X coordinate into the period of this lattice hash.
+     */
+    public long wrapX(long x) {
+        return wrap(x, repeatX, maskX);
+    }
+
+    /**
+     * Wraps a Y coordinate into the period of this lattice hash.
+     */
+    public long wrapY(long y) {
+        return wrap(y, repeatY, maskY);
+    }
+
+    /**
+     * Hashes wrapped lattice coordinates using the first channel.
+     *
+     * @param x The wrapped X coordinate
+     * @param y The wrapped Y coordinate
+     * @return The hash, a non-negative integer
+     */
+    public int hash(long x, long y) {
+        return hash(0, x, y);
+    }
+
+    /**
+     * Hashes wrapped lattice coordinates using the specified channel.
+     *
+     * @param channel The channel, the index of the seed this lattice hash was created with
+     * @param x       The wrapped X coordinate
+     * @param y       The wrapped Y coordinate
+     * @return The hash, a non-negative integer
+     */
+    public int hash(int channel, long x, long y) {
+        if (table != null)
+            return table[(int) (y * repeatX + x) * seeds.length + channel];
+        return direct(channel, x, y);
+    }
+
+    /**
+     * Hashes wrapped lattice coordinates to 64 random bits in a single pass, using the seed of the first channel. This
+     * always uses the {@link HashFamily#MIX} family, and is meant to be used when this lattice hash is {@linkplain
+     * #isMultiOutput() multi-output}.
+     *
+     * @param x The wrapped X coordinate
+     * @param y The wrapped Y coordinate
+     * @return The random bits
+     */
+    public long hashBits(long x, long y) {
+        if (bitsTable != null)
+            return bitsTable[(int) (y * repeatX + x)];
+        return Hash.mix2L(seeds[0], x, y);
+    }
+
+    /**
+     * Returns the X jitter of a lattice point, between 0 and 1, from its random bits (see {@link #hashBits}).
+     */
+    public static double jitterX(long bits) {
+        return (bits & FIELD_MASK) * FIELD_SCALE;
+    }
+
+    /**
+     * Returns the Y jitter of a lattice point, between 0 and 1, from its random bits (see {@link #hashBits}).
+     */
+    public static double jitterY(long bits) {
+        return (bits >>> FIELD_BITS & FIELD_MASK) * FIELD_SCALE;
+    }
+
+    /**
+     * Returns the value of a lattice point, between 0 and 1, from its random bits (see {@link #hashBits}).
+     */
+    public static double value(long bits) {
+        return (bits >>> FIELD_BITS * 2 & FIELD_MASK) * FIELD_SCALE;
+    }
+}
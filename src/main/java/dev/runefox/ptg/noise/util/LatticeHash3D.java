@@ -0,0 +1,281 @@
+/*
+ * Copyright 2020-2026 O. W. Nankman
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "
+ * AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package dev.runefox.ptg.noise.util;
+
+/**
+ * Hashes integer lattice coordinates for the noise kernels. This is the 3D equivalent of {@link LatticeHash2D}.
+ */
+public final class LatticeHash3D {
+    // Multi-output hashes are split into fields of 16 bits, one field per output
+    private static final int FIELD_BITS = 16;
+    private static final long FIELD_MASK = (1L << FIELD_BITS) - 1;
+    private static final double FIELD_SCALE = 1.0 / FIELD_MASK;
+
+    private static final int MAX_TABLE_SIZE = 1 << 18;
+
+    private final HashFamily family;
+    private final int[] seeds;
+    private final int repeatX;
+    private final int repeatY;
+    private final int repeatZ;
+    private final long maskX;
+    private final long maskY;
+    private final long maskZ;
+    private final int[] highs;
+    private final int[] table;
+    private final long[] bitsTable;
+
+    private LatticeHash3D(HashFamily family, int repeatX, int repeatY, int repeatZ, int[] seeds) {
+        if (seeds.length == 0)
+            throw new IllegalArgumentException("There should be at least one seed.");
+        if (repeatX < 0 || repeatY < 0 || repeatZ < 0)
+            throw new IllegalArgumentException("Repeat must not be negative.");
+
+        this.family = family;
+        this.seeds = seeds.clone();
+        this.repeatX = repeatX;
+        this.repeatY = repeatY;
+        this.repeatZ = repeatZ;
+        this.maskX = mask(repeatX);
+        this.maskY = mask(repeatY);
+        this.maskZ = mask(repeatZ);
+        this.highs = createHighs();
+        this.table = createTable();
+        this.bitsTable = createBitsTable();
+    }
+
+    /**
+     * Creates a non-repeating lattice hash with one channel per seed.
+     *
+     * @param seeds The seeds of the channels
+     * @return The created lattice hash
+     */
+    public static LatticeHash3D of(int... seeds) {
+        return new LatticeHash3D(HashFamily.CLASSIC, 0, 0, 0, seeds);
+    }
+
+    /**
+     * Creates a repeating lattice hash with one channel per seed. A period of 0 means no repetition along that axis.
+     *
+     * @param repeatX The period along the X axis
+     * @param repeatY The period along the Y axis
+     * @param repeatZ The period along the Z axis
+     * @param seeds   The seeds of the channels
+     * @return The created lattice hash
+     */
+    public static LatticeHash3D repeating(int repeatX, int repeatY, int repeatZ, int... seeds) {
+        return new LatticeHash3D(HashFamily.CLASSIC, repeatX, repeatY, repeatZ, seeds);
+    }
+
+    /**
+     * Creates a non-repeating lattice hash with one channel per seed, using the given hash family.
+     *
+     * @param family The hash family
+     * @param seeds  The seeds of the channels
+     * @return The created lattice hash
+     */
+    public static LatticeHash3D of(HashFamily family, int... seeds) {
+        return new LatticeHash3D(family, 0, 0, 0, seeds);
+    }
+
+    /**
+     * Creates a repeating lattice hash with one channel per seed, using the given hash family. A period of 0 means no
+     * repetition along that axis.
+     *
+     * @param family  The hash family
+     * @param repeatX The period along the X axis
+     * @param repeatY The period along the Y axis
+     * @param repeatZ The period along the Z axis
+     * @param seeds   The seeds of the channels
+     * @return The created lattice hash
+     */
+    public static LatticeHash3D repeating(HashFamily family, int repeatX, int repeatY, int repeatZ, int... seeds) {
+        return new LatticeHash3D(family, repeatX, repeatY, repeatZ, seeds);
+    }
+
+    private static long mask(int repeat) {
+        return repeat > 0 && (repeat & repeat - 1) == 0 ? repeat - 1 : -1;
+    }
+
+    // For coordinates within int range, the hash of the upper words only depends on the signs of the coordinates, so
+    // we compute it for every channel and every combination of signs up front
+    private int[] createHighs() {
+        if (family != HashFamily.CLASSIC)
+            return null;
+
+        int[] highs = new int[seeds.length << 3];
+        for (int i = 0; i < highs.length; i++) {
+            highs[i] = Hash.high3I(seeds[i >>> 3], -(i & 1), -(i >>> 1 & 1), -(i >>> 2 & 1));
+        }
+        return highs;
+    }
+
+    private int direct(int channel, long x, long y, long z) {
+        int seed = seeds[channel];
+        if (family == HashFamily.MIX)
+            return Hash.mix3I(seed, x, y, z);
+
+        int ix = (int) x;
+        int iy = (int) y;
+        int iz = (int) z;
+        if (ix == x && iy == y && iz == z) {
+            int high = highs[channel << 3 | ix >>> 31 | iy >>> 31 << 1 | iz >>> 31 << 2];
+            return 31 * Hash.hash3I(seed, ix, iy, iz) + high & 0x7FFFFFFF;
+        }
+        return Hash.hash3I(seed, x, y, z);
+    }
+
+    private int[] createTable() {
+        int channels = seeds.length;
+        if (repeatX == 0 || repeatY == 0 || repeatZ == 0 || (long) repeatX * repeatY * repeatZ * channels > MAX_TABLE_SIZE)
+            return null;
+
+        int[] table = new int[repeatX * repeatY * repeatZ * channels];
+        int i = 0;
+        for (int z = 0; z < repeatZ; z++) {
+            for (int y = 0; y < repeatY; y++) {
+                for (int x = 0; x < repeatX; x++) {
+                    for (int c = 0; c < channels; c++) {
+                        table[i++] = direct(c, x, y, z);
+                    }
+                }
+            }
+        }
+        return table;
+    }
+
+    private long[] createBitsTable() {
+        if (family != HashFamily.MIX || repeatX == 0 || repeatY == 0 || repeatZ == 0 || (long) repeatX * repeatY * repeatZ > MAX_TABLE_SIZE)
+            return null;
+
+        long[] table = new long[repeatX * repeatY * repeatZ];
+        int i = 0;
+        for (int z = 0; z < repeatZ; z++) {
+            for (int y = 0; y < repeatY; y++) {
+                for (int x = 0; x < repeatX; x++) {
+                    table[i++] = Hash.mix3L(seeds[0], x, y, z);
+                }
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Returns the hash family this lattice hash hashes with.
+     */
+    public HashFamily getFamily() {
+        return family;
+    }
+
+    /**
+     * Returns whether this lattice hash can produce multiple outputs from one hash, through {@link #hashBits}. This is
+     * the case for the {@link HashFamily#MIX} family, which produces 64 random bits per lattice point in a single pass.
+     * Kernels that need multiple random values per lattice point, such as the cellular noises, split these bits instead
+     * of hashing each channel separately.
+     */
+    public boolean isMultiOutput() {
+        return family == HashFamily.MIX;
+    }
+
+    /**
+     * Wraps an X coordinate into the period of this lattice hash.
+     */
+    public long wrapX(long x) {
+        return LatticeHash2D.wrap(x, repeatX, maskX);
+    }
+
+    /**
+     * Wraps a Y coordinate into the period of this lattice hash.
+     */
+    public long wrapY(long y) {
+        return LatticeHash2D.wrap(y, repeatY, maskY);
+    }
+
+    /**
+     * Wraps a Z coordinate into the period of this lattice hash.
+     */
+    public long wrapZ(long z) {
+        return LatticeHash2D.wrap(z, repeatZ, maskZ);
+    }
+
+    /**
+     * Hashes wrapped lattice coordinates using the first channel.
+     *
+     * @param x The wrapped X coordinate
+     * @param y The wrapped Y coordinate
+     * @param z The wrapped Z coordinate
+     * @return The hash, a non-negative integer
+     */
+    public int hash(long x, long y, long z) {
+        return hash(0, x, y, z);
+    }
+
+    /**
+     * Hashes wrapped lattice coordinates using the specified channel.
+     *
+     * @param channel The channel, the index of the seed this lattice hash was created with
+     * @param x       The wrapped X coordinate
+     * @param y       The wrapped Y coordinate
+     * @param z       The wrapped Z coordinate
+     * @return The hash, a non-negative integer
+     */
+    public int hash(int channel, long x, long y, long z) {
+        if (table != null)
+            return table[(int) ((z * repeatY + y) * repeatX + x) * seeds.length + channel];
+        return direct(channel, x, y, z);
+    }
+
+    /**
+     * Hashes wrapped lattice coordinates to 64 random bits in a single pass, using the seed of the first channel. This
+     * always uses the {@link HashFamily#MIX} family, and is meant to be used when this lattice hash is {@linkplain
+     * #isMultiOutput() multi-output}.
+     *
+     * @param x The wrapped X coordinate
+     * @param y The wrapped Y coordinate
+     * @param z The wrapped Z coordinate
+     * @return The random bits
+     */
+    public long hashBits(long x, long y, long z) {
+        if (bitsTable != null)
+            return bitsTable[(int) ((z * repeatY + y) * repeatX + x)];
+        return Hash.mix3L(seeds[0], x, y, z);
+    }
+
+    /**
+     * Returns the X jitter of a lattice point, between 0 and 1, from its random bits (see {@link #hashBits}).
+     */
+    public static double jitterX(long bits) {
+        return (bits & FIELD_MASK) * FIELD_SCALE;
+    }
+
+    /**
+     * Returns the Y jitter of a lattice point, between 0 and 1, from its random bits (see {@link #hashBits}).
+     */
+    public static double jitterY(long bits) {
+        return (bits >>> FIELD_BITS & FIELD_MASK) * FIELD_SCALE;
+    }
+
+    /**
+     * Returns the Z jitter of a lattice point, between 0 and 1, from its random bits (see {@link #hashBits}).
+     */
+    public static double jitterZ(long bits) {
+        return (bits >>> FIELD_BITS * 2 & FIELD_MASK) * FIELD_SCALE;
+    }
+
+    /**
+     * Returns the value of a lattice point, between 0 and 1, from its random bits (see {@link #hashBits}).
+     */
+    public static double value(long bits) {
+        return (bits >>> FIELD_BITS * 3 & FIELD_MASK) * FIELD_SCALE;
+    }
+}
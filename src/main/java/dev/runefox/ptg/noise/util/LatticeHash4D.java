@@ -0,0 +1,111 @@
+/*
+ * Copyright 2020-2026 O. W. Nankman
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "
+ * AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package dev.runefox.ptg.noise.util;
+
+/**
+ * Hashes integer lattice coordinates for the 4D noise kernels. This is the 4D equivalent of {@link LatticeHash3D},
+ * without repetition.
+ */
+public final class LatticeHash4D {
+    private final HashFamily family;
+    private final int[] seeds;
+    private final int[] highs;
+
+    private LatticeHash4D(HashFamily family, int[] seeds) {
+        if (seeds.length == 0)
+            throw new IllegalArgumentException("There should be at least one seed.");
+
+        this.family = family;
+        this.seeds = seeds.clone();
+        this.highs = createHighs();
+    }
+
+    /**
+     * Creates a lattice hash with one channel per seed.
+     *
+     * @param seeds The seeds of the channels
+     * @return The created lattice hash
+     */
+    public static LatticeHash4D of(int... seeds) {
+        return new LatticeHash4D(HashFamily.CLASSIC, seeds);
+    }
+
+    /**
+     * Creates a lattice hash with one channel per seed, using the given hash family.
+     *
+     * @param family The hash family
+     * @param seeds  The seeds of the channels
+     * @return The created lattice hash
+     */
+    public static LatticeHash4D of(HashFamily family, int... seeds) {
+        return new LatticeHash4D(family, seeds);
+    }
+
+    private int[] createHighs() {
+        if (family != HashFamily.CLASSIC)
+            return null;
+
+        int[] highs = new int[seeds.length << 4];
+        for (int i = 0; i < highs.length; i++) {
+            highs[i] = Hash.high4I(seeds[i >>> 4], -(i & 1), -(i >>> 1 & 1), -(i >>> 2 & 1), -(i >>> 3 & 1));
+        }
+        return highs;
+    }
+
+    /**
+     * Returns the hash family this lattice hash hashes with.
+     */
+    public HashFamily getFamily() {
+        return family;
+    }
+
+    /**
+     * Hashes lattice coordinates using the first channel.
+     *
+     * @param x The X coordinate
+     * @param y The Y coordinate
+     * @param z The Z coordinate
+     * @param w The W coordinate
+     * @return The hash, a non-negative integer
+     */
+    public int hash(long x, long y, long z, long w) {
+        return hash(0, x, y, z, w);
+    }
+
+    /**
+     * Hashes lattice coordinates using the specified channel.
+     *
+     * @param channel The channel, the index of the seed this lattice hash was created with
+     * @param x       The X coordinate
+     * @param y       The Y coordinate
+     * @param z       The Z coordinate
+     * @param w       The W coordinate
+     * @return The hash, a non-negative integer
+     */
+    public int hash(int channel, long x, long y, long z, long w) {
+        int seed = seeds[channel];
+        if (family == HashFamily.MIX)
+            return Hash.mix4I(seed, x, y, z, w);
+
+        int ix = (int) x;
+        int iy = (int) y;
+        int iz = (int) z;
+        int iw = (int) w;
+        if (ix == x && iy == y && iz == z && iw == w) {
+            int high = highs[channel << 4 | ix >>> 31 | iy >>> 31 << 1 | iz >>> 31 << 2 | iw >>> 31 << 3];
+            return 31 * Hash.hash4I(seed, ix, iy, iz, iw) + high & 0x7FFFFFFF;
+        }
+        return Hash.hash4I(seed, x, y, z, w);
+    }
+}
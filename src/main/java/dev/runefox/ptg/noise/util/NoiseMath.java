@@ -64,6 +64,23 @@ public final class NoiseMath {
         return x < a ? a : Math.min(x, b);
     }
 
+    /**
+     * Returns how many octaves of a fractal noise to generate for samples that lie the given spacing apart. The first
+     * octave has the given wavelength, and every next octave has half the wavelength of the previous one. Octaves are
+     * counted as long as their wavelength is at least the spacing, but the first octave is always counted.
+     *
+     * @param octaves    The amount of octaves of the fractal noise
+     * @param wavelength The wavelength of the first octave
+     * @param spacing    The spacing between samples
+     * @return The amount of octaves to generate, from 1 up to {@code octaves}
+     */
+    public static int lodOctaves(int octaves, double wavelength, double spacing) {
+        int n = 1;
+        while (n < octaves && (wavelength *= 0.5) >= spacing)
+            n++;
+        return n;
+    }
+
     public static long floor(double v) {
         long lv = (long) v;
         return v < 0 ? lv - 1 : lv;
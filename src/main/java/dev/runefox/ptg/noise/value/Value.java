@@ -13,8 +13,8 @@
 
 package dev.runefox.ptg.noise.value;
 
-import dev.runefox.ptg.noise.util.HashFunction2D;
-import dev.runefox.ptg.noise.util.HashFunction3D;
+import dev.runefox.ptg.noise.util.LatticeHash2D;
+import dev.runefox.ptg.noise.util.LatticeHash3D;
 import dev.runefox.ptg.noise.util.NoiseMath;
 
 final class Value {
@@ -23,20 +23,24 @@ final class Value {
     private Value() {
     }
 
-    public static double compute(double x, double y, HashFunction2D hf) {
+    public static double compute(double x, double y, LatticeHash2D lattice) {
 
         long minx = NoiseMath.floor(x);
         long miny = NoiseMath.floor(y);
         long maxx = minx + 1L;
         long maxy = miny + 1L;
+        long wminx = lattice.wrapX(minx);
+        long wmaxx = lattice.wrapX(maxx);
+        long wminy = lattice.wrapY(miny);
+        long wmaxy = lattice.wrapY(maxy);
 
         double smoothx = NoiseMath.smooth(x - minx);
         double smoothy = NoiseMath.smooth(y - miny);
 
-        double v1 = hf.hash(minx, miny) / HASH_RANGE * 2 - 1;
-        double v2 = hf.hash(maxx, miny) / HASH_RANGE * 2 - 1;
-        double v3 = hf.hash(minx, maxy) / HASH_RANGE * 2 - 1;
-        double v4 = hf.hash(maxx, maxy) / HASH_RANGE * 2 - 1;
+        double v1 = lattice.hash(wminx, wminy) / HASH_RANGE * 2 - 1;
+        double v2 = lattice.hash(wmaxx, wminy) / HASH_RANGE * 2 - 1;
+        double v3 = lattice.hash(wminx, wmaxy) / HASH_RANGE * 2 - 1;
+        double v4 = lattice.hash(wmaxx, wmaxy) / HASH_RANGE * 2 - 1;
 
         double lerp12 = NoiseMath.lerp(v1, v2, smoothx);
         double lerp34 = NoiseMath.lerp(v3, v4, smoothx);
@@ -44,7 +48,7 @@ final class Value {
         return NoiseMath.lerp(lerp12, lerp34, smoothy);
     }
 
-    public static double compute(double x, double y, double z, HashFunction3D hf) {
+    public static double compute(double x, double y, double z, LatticeHash3D lattice) {
 
         long minx = NoiseMath.floor(x);
         long miny = NoiseMath.floor(y);
@@ -52,20 +56,61 @@ final class Value {
         long maxx = minx + 1L;
         long maxy = miny + 1L;
         long maxz = minz + 1L;
+        long wminx = lattice.wrapX(minx);
+        long wmaxx = lattice.wrapX(maxx);
+        long wminy = lattice.wrapY(miny);
+        long wmaxy = lattice.wrapY(maxy);
+        long wminz = lattice.wrapZ(minz);
+        long wmaxz = lattice.wrapZ(maxz);
 
         double smoothx = NoiseMath.smooth(x - minx);
         double smoothy = NoiseMath.smooth(y - miny);
         double smoothz = NoiseMath.smooth(z - minz);
 
 
-        double v1 = hf.hash(minx, miny, minz) / HASH_RANGE * 2 - 1;
-        double v2 = hf.hash(maxx, miny, minz) / HASH_RANGE * 2 - 1;
-        double v3 = hf.hash(minx, maxy, minz) / HASH_RANGE * 2 - 1;
-        double v4 = hf.hash(maxx, maxy, minz) / HASH_RANGE * 2 - 1;
-        double v5 = hf.hash(minx, miny, maxz) / HASH_RANGE * 2 - 1;
-        double v6 = hf.hash(maxx, miny, maxz) / HASH_RANGE * 2 - 1;
-        double v7 = hf.hash(minx, maxy, maxz) / HASH_RANGE * 2 - 1;
-        double v8 = hf.hash(maxx, maxy, maxz) / HASH_RANGE * 2 - 1;
+        double v1 = lattice.hash(wminx, wminy, wminz) / HASH_RANGE * 2 - 1;
+        double v2 = lattice.hash(wmaxx, wminy, wminz) / HASH_RANGE * 2 - 1;
+        double v3 = lattice.hash(wminx, wmaxy, wminz) / HASH_RANGE * 2 - 1;
+        double v4 = lattice.hash(wmaxx, wmaxy, wminz) / HASH_RANGE * 2 - 1;
+        double v5 = lattice.hash(wminx, wminy, wmaxz) / HASH_RANGE * 2 - 1;
+        double v6 = lattice.hash(wmaxx, wminy, wmaxz) / HASH_RANGE * 2 - 1;
+        double v7 = lattice.hash(wminx, wmaxy, wmaxz) / HASH_RANGE * 2 - 1;
+        double v8 = lattice.hash(wmaxx, wmaxy, wmaxz) / HASH_RANGE * 2 - 1;
+
+        double lerp12 = NoiseMath.lerp(v1, v2, smoothx);
+        double lerp34 = NoiseMath.lerp(v3, v4, smoothx);
+        double lerp1234 = NoiseMath.lerp(lerp12, lerp34, smoothy);
+        double lerp56 = NoiseMath.lerp(v5, v6, smoothx);
+        double lerp78 = NoiseMath.lerp(v7, v8, smoothx);
+        double lerp5678 = NoiseMath.lerp(lerp56, lerp78, smoothy);
+
+        return NoiseMath.lerp(lerp1234, lerp5678, smoothz);
+    }
+
+    // The same as compute(x, y, z, lattice), for a slice at constant z, with the wrapped lattice coordinates around z
+    // and the smoothed fraction of z computed by the caller
+    static double computeSlice(double x, double y, long wminz, long wmaxz, double smoothz, LatticeHash3D lattice) {
+
+        long minx = NoiseMath.floor(x);
+        long miny = NoiseMath.floor(y);
+        long maxx = minx + 1L;
+        long maxy = miny + 1L;
+        long wminx = lattice.wrapX(minx);
+        long wmaxx = lattice.wrapX(maxx);
+        long wminy = lattice.wrapY(miny);
+        long wmaxy = lattice.wrapY(maxy);
+
+        double smoothx = NoiseMath.smooth(x - minx);
+        double smoothy = NoiseMath.smooth(y - miny);
+
+        double v1 = lattice.hash(wminx, wminy, wminz) / HASH_RANGE * 2 - 1;
+        double v2 = lattice.hash(wmaxx, wminy, wminz) / HASH_RANGE * 2 - 1;
+        double v3 = lattice.hash(wminx, wmaxy, wminz) / HASH_RANGE * 2 - 1;
+        double v4 = lattice.hash(wmaxx, wmaxy, wminz) / HASH_RANGE * 2 - 1;
+        double v5 = lattice.hash(wminx, wminy, wmaxz) / HASH_RANGE * 2 - 1;
+        double v6 = lattice.hash(wmaxx, wminy, wmaxz) / HASH_RANGE * 2 - 1;
+        double v7 = lattice.hash(wminx, wmaxy, wmaxz) / HASH_RANGE * 2 - 1;
+        double v8 = lattice.hash(wmaxx, wmaxy, wmaxz) / HASH_RANGE * 2 - 1;
 
         double lerp12 = NoiseMath.lerp(v1, v2, smoothx);
         double lerp34 = NoiseMath.lerp(v3, v4, smoothx);
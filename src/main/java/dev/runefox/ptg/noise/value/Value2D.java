@@ -14,7 +14,6 @@
 package dev.runefox.ptg.noise.value;
 
 import dev.runefox.ptg.noise.BaseNoise2D;
-import dev.runefox.ptg.noise.util.Hash;
 
 /**
  * 2D Value noise generator.
@@ -51,15 +50,11 @@ public class Value2D extends BaseNoise2D {
         super(seed, scaleX, scaleY);
     }
 
-    private int hash(long x, long y) {
-        return Hash.hash2I(seed, x, y);
-    }
-
     @Override
     public double generate(double x, double y) {
         x /= scaleX;
         y /= scaleY;
 
-        return Value.compute(x, y, this::hash);
+        return Value.compute(x, y, lattice());
     }
 }
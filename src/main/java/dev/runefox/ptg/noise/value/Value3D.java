@@ -14,7 +14,7 @@
 package dev.runefox.ptg.noise.value;
 
 import dev.runefox.ptg.noise.BaseNoise3D;
-import dev.runefox.ptg.noise.util.Hash;
+import dev.runefox.ptg.noise.NoiseSlice;
 
 /**
  * 3D Value noise generator.
@@ -52,16 +52,18 @@ public class Value3D extends BaseNoise3D {
         super(seed, scaleX, scaleY, scaleZ);
     }
 
-    private int hash(long x, long y, long z) {
-        return Hash.hash3I(seed, x, y, z);
-    }
-
     @Override
     public double generate(double x, double y, double z) {
         x /= scaleX;
         y /= scaleY;
         z /= scaleZ;
 
-        return Value.compute(x, y, z, this::hash);
+        return Value.compute(x, y, z, lattice());
+    }
+
+    @Override
+    public NoiseSlice slice(double z) {
+        if (getClass() != Value3D.class) return super.slice(z);
+        return new ValueSlice(this::lattice, scaleX, scaleY, scaleZ, z);
     }
 }
@@ -14,6 +14,7 @@
 package dev.runefox.ptg.noise.voronoi;
 
 import dev.runefox.ptg.noise.BaseNoise2D;
+import dev.runefox.ptg.noise.util.HashFamily;
 
 /**
  * Fractal-Voronoi noise generator for 2D space. This generator uses a specified amount of {@link Voronoi2D}-instances
@@ -108,4 +109,12 @@ public class FractalVoronoi2D extends BaseNoise2D {
             value.setSeed(seed++);
         }
     }
+
+    @Override
+    public void setHashFamily(HashFamily family) {
+        super.setHashFamily(family);
+        for (Voronoi2D value : noiseOctaves) {
+            value.setHashFamily(family);
+        }
+    }
 }
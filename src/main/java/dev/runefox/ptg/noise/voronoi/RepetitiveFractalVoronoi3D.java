@@ -14,6 +14,7 @@
 package dev.runefox.ptg.noise.voronoi;
 
 import dev.runefox.ptg.noise.RepetitiveNoise3D;
+import dev.runefox.ptg.noise.util.HashFamily;
 
 /**
  * Repeating fractal-Voronoi noise generator for 3D space. This generator uses a specified amount of {@link
@@ -125,4 +126,12 @@ public class RepetitiveFractalVoronoi3D extends RepetitiveNoise3D {
             value.setSeed(seed++);
         }
     }
+
+    @Override
+    public void setHashFamily(HashFamily family) {
+        super.setHashFamily(family);
+        for (RepetitiveVoronoi3D value : noiseOctaves) {
+            value.setHashFamily(family);
+        }
+    }
 }
@@ -13,8 +13,8 @@
 
 package dev.runefox.ptg.noise.voronoi;
 
-import dev.runefox.ptg.noise.util.HashFunction2D;
-import dev.runefox.ptg.noise.util.HashFunction3D;
+import dev.runefox.ptg.noise.util.LatticeHash2D;
+import dev.runefox.ptg.noise.util.LatticeHash3D;
 import dev.runefox.ptg.noise.util.NoiseMath;
 
 final class Voronoi {
@@ -36,7 +36,73 @@ final class Voronoi {
         return dx * dx + dy * dy + dz * dz;
     }
 
-    public static double compute(double x, double y, HashFunction2D hfx, HashFunction2D hfy) {
+    public static double compute(double x, double y, LatticeHash2D lattice) {
+        if (lattice.isMultiOutput())
+            return computeMulti(x, y, lattice);
+
+        long minx = NoiseMath.floor(x);
+        long miny = NoiseMath.floor(y);
+
+        double nearest = Double.POSITIVE_INFINITY;
+        double nearestx = 0;
+        double nearesty = 0;
+        int nearestix = 0;
+        int nearestiy = 0;
+
+        for (int ix = -1; ix <= 1; ix++) {
+            long wx = lattice.wrapX(minx + ix);
+            for (int iy = -1; iy <= 1; iy++) {
+                long wy = lattice.wrapY(miny + iy);
+                double px = lattice.hash(0, wx, wy) / HASH_RANGE + ix + minx;
+                double py = lattice.hash(1, wx, wy) / HASH_RANGE + iy + miny;
+
+                double d = distsq(x, y, px, py);
+                if (d < nearest) {
+                    nearest = d;
+                    nearestx = px;
+                    nearesty = py;
+                    nearestix = ix;
+                    nearestiy = iy;
+                }
+            }
+        }
+
+        double nearestdx = nearestx - x;
+        double nearestdy = nearesty - y;
+
+        double dist = Double.POSITIVE_INFINITY;
+        for (int ix = -1; ix <= 1; ix++) {
+            long wx = lattice.wrapX(minx + ix);
+            for (int iy = -1; iy <= 1; iy++) {
+                long wy = lattice.wrapY(miny + iy);
+                if (ix == nearestix && iy == nearestiy)
+                    continue;
+
+                double px = lattice.hash(0, wx, wy) / HASH_RANGE + ix + minx;
+                double py = lattice.hash(1, wx, wy) / HASH_RANGE + iy + miny;
+
+                double dx = px - x;
+                double dy = py - y;
+
+                double dcx = (dx + nearestdx) / 2d;
+                double dcy = (dy + nearestdy) / 2d;
+
+                double diffx = dx - nearestdx;
+                double diffy = dy - nearestdy;
+                double difflen = Math.sqrt(diffx * diffx + diffy * diffy);
+                diffx /= difflen;
+                diffy /= difflen;
+
+                double edist = dcx * diffx + dcy * diffy;
+                if (edist < dist)
+                    dist = edist;
+            }
+        }
+
+        return dist * 4 - 1;
+    }
+
+    private static double computeMulti(double x, double y, LatticeHash2D lattice) {
         long minx = NoiseMath.floor(x);
         long miny = NoiseMath.floor(y);
 
@@ -47,9 +113,12 @@ final class Voronoi {
         int nearestiy = 0;
 
         for (int ix = -1; ix <= 1; ix++) {
+            long wx = lattice.wrapX(minx + ix);
             for (int iy = -1; iy <= 1; iy++) {
-                double px = hfx.hash(minx + ix, miny + iy) / HASH_RANGE + ix + minx;
-                double py = hfy.hash(minx + ix, miny + iy) / HASH_RANGE + iy + miny;
+                long wy = lattice.wrapY(miny + iy);
+                long bits = lattice.hashBits(wx, wy);
+                double px = LatticeHash2D.jitterX(bits) + ix + minx;
+                double py = LatticeHash2D.jitterY(bits) + iy + miny;
 
                 double d = distsq(x, y, px, py);
                 if (d < nearest) {
@@ -67,12 +136,15 @@ final class Voronoi {
 
         double dist = Double.POSITIVE_INFINITY;
         for (int ix = -1; ix <= 1; ix++) {
+            long wx = lattice.wrapX(minx + ix);
             for (int iy = -1; iy <= 1; iy++) {
+                long wy = lattice.wrapY(miny + iy);
                 if (ix == nearestix && iy == nearestiy)
                     continue;
 
-                double px = hfx.hash(minx + ix, miny + iy) / HASH_RANGE + ix + minx;
-                double py = hfy.hash(minx + ix, miny + iy) / HASH_RANGE + iy + miny;
+                long bits = lattice.hashBits(wx, wy);
+                double px = LatticeHash2D.jitterX(bits) + ix + minx;
+                double py = LatticeHash2D.jitterY(bits) + iy + miny;
 
                 double dx = px - x;
                 double dy = py - y;
@@ -95,7 +167,91 @@ final class Voronoi {
         return dist * 4 - 1;
     }
 
-    public static double compute(double x, double y, double z, HashFunction3D hfx, HashFunction3D hfy, HashFunction3D hfz) {
+    public static double compute(double x, double y, double z, LatticeHash3D lattice) {
+        if (lattice.isMultiOutput())
+            return computeMulti(x, y, z, lattice);
+
+        long minx = NoiseMath.floor(x);
+        long miny = NoiseMath.floor(y);
+        long minz = NoiseMath.floor(z);
+
+        double nearest = Double.POSITIVE_INFINITY;
+        double nearestx = 0;
+        double nearesty = 0;
+        double nearestz = 0;
+        int nearestix = 0;
+        int nearestiy = 0;
+        int nearestiz = 0;
+
+        for (int ix = -1; ix <= 1; ix++) {
+            long wx = lattice.wrapX(minx + ix);
+            for (int iy = -1; iy <= 1; iy++) {
+                long wy = lattice.wrapY(miny + iy);
+                for (int iz = -1; iz <= 1; iz++) {
+                    long wz = lattice.wrapZ(minz + iz);
+                    double px = lattice.hash(0, wx, wy, wz) / HASH_RANGE + ix + minx;
+                    double py = lattice.hash(1, wx, wy, wz) / HASH_RANGE + iy + miny;
+                    double pz = lattice.hash(2, wx, wy, wz) / HASH_RANGE + iz + minz;
+
+                    double d = distsq(x, y, z, px, py, pz);
+                    if (d < nearest) {
+                        nearest = d;
+                        nearestx = px;
+                        nearesty = py;
+                        nearestz = pz;
+                        nearestix = ix;
+                        nearestiy = iy;
+                        nearestiz = iz;
+                    }
+                }
+            }
+        }
+
+        double nearestdx = nearestx - x;
+        double nearestdy = nearesty - y;
+        double nearestdz = nearestz - z;
+
+        double dist = Double.POSITIVE_INFINITY;
+        for (int ix = -1; ix <= 1; ix++) {
+            long wx = lattice.wrapX(minx + ix);
+            for (int iy = -1; iy <= 1; iy++) {
+                long wy = lattice.wrapY(miny + iy);
+                for (int iz = -1; iz <= 1; iz++) {
+                    long wz = lattice.wrapZ(minz + iz);
+                    if (ix == nearestix && iy == nearestiy && iz == nearestiz)
+                        continue;
+
+                    double px = lattice.hash(0, wx, wy, wz) / HASH_RANGE + ix + minx;
+                    double py = lattice.hash(1, wx, wy, wz) / HASH_RANGE + iy + miny;
+                    double pz = lattice.hash(2, wx, wy, wz) / HASH_RANGE + iz + minz;
+
+                    double dx = px - x;
+                    double dy = py - y;
+                    double dz = pz - z;
+
+                    double dcx = (dx + nearestdx) / 2d;
+                    double dcy = (dy + nearestdy) / 2d;
+                    double dcz = (dz + nearestdz) / 2d;
+
+                    double diffx = dx - nearestdx;
+                    double diffy = dy - nearestdy;
+                    double diffz = dz - nearestdz;
+                    double difflen = Math.sqrt(diffx * diffx + diffy * diffy + diffz * diffz);
+                    diffx /= difflen;
+                    diffy /= difflen;
+                    diffz /= difflen;
+
+                    double edist = dcx * diffx + dcy * diffy + dcz * diffz;
+                    if (edist < dist)
+                        dist = edist;
+                }
+            }
+        }
+
+        return dist * 4 - 1;
+    }
+
+    private static double computeMulti(double x, double y, double z, LatticeHash3D lattice) {
         long minx = NoiseMath.floor(x);
         long miny = NoiseMath.floor(y);
         long minz = NoiseMath.floor(z);
@@ -109,11 +265,15 @@ final class Voronoi {
         int nearestiz = 0;
 
         for (int ix = -1; ix <= 1; ix++) {
+            long wx = lattice.wrapX(minx + ix);
             for (int iy = -1; iy <= 1; iy++) {
+                long wy = lattice.wrapY(miny + iy);
                 for (int iz = -1; iz <= 1; iz++) {
-                    double px = hfx.hash(minx + ix, miny + iy, minz + iz) / HASH_RANGE + ix + minx;
-                    double py = hfy.hash(minx + ix, miny + iy, minz + iz) / HASH_RANGE + iy + miny;
-                    double pz = hfz.hash(minx + ix, miny + iy, minz + iz) / HASH_RANGE + iz + minz;
+                    long wz = lattice.wrapZ(minz + iz);
+                    long bits = lattice.hashBits(wx, wy, wz);
+                    double px = LatticeHash3D.jitterX(bits) + ix + minx;
+                    double py = LatticeHash3D.jitterY(bits) + iy + miny;
+                    double pz = LatticeHash3D.jitterZ(bits) + iz + minz;
 
                     double d = distsq(x, y, z, px, py, pz);
                     if (d < nearest) {
@@ -135,14 +295,18 @@ final class Voronoi {
 
         double dist = Double.POSITIVE_INFINITY;
         for (int ix = -1; ix <= 1; ix++) {
+            long wx = lattice.wrapX(minx + ix);
             for (int iy = -1; iy <= 1; iy++) {
+                long wy = lattice.wrapY(miny + iy);
                 for (int iz = -1; iz <= 1; iz++) {
+                    long wz = lattice.wrapZ(minz + iz);
                     if (ix == nearestix && iy == nearestiy && iz == nearestiz)
                         continue;
 
-                    double px = hfx.hash(minx + ix, miny + iy, minz + iz) / HASH_RANGE + ix + minx;
-                    double py = hfy.hash(minx + ix, miny + iy, minz + iz) / HASH_RANGE + iy + miny;
-                    double pz = hfz.hash(minx + ix, miny + iy, minz + iz) / HASH_RANGE + iz + minz;
+                    long bits = lattice.hashBits(wx, wy, wz);
+                    double px = LatticeHash3D.jitterX(bits) + ix + minx;
+                    double py = LatticeHash3D.jitterY(bits) + iy + miny;
+                    double pz = LatticeHash3D.jitterZ(bits) + iz + minz;
 
                     double dx = px - x;
                     double dy = py - y;
@@ -14,6 +14,7 @@
 package dev.runefox.ptg.noise.worley;
 
 import dev.runefox.ptg.noise.BaseNoise2D;
+import dev.runefox.ptg.noise.util.HashFamily;
 
 /**
  * Fractal-Worley noise generator for 2D space. This generator uses a specified amount of {@link Worley2D}-instances as
@@ -108,4 +109,12 @@ public class FractalWorley2D extends BaseNoise2D {
             value.setSeed(seed++);
         }
     }
+
+    @Override
+    public void setHashFamily(HashFamily family) {
+        super.setHashFamily(family);
+        for (Worley2D value : noiseOctaves) {
+            value.setHashFamily(family);
+        }
+    }
 }
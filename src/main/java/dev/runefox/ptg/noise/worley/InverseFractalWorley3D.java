@@ -14,6 +14,7 @@
 package dev.runefox.ptg.noise.worley;
 
 import dev.runefox.ptg.noise.BaseNoise3D;
+import dev.runefox.ptg.noise.util.HashFamily;
 
 /**
  * Inverse-Fractal-Worley noise generator for 3D space. This generator uses a specified amount of {@link
@@ -110,4 +111,12 @@ public class InverseFractalWorley3D extends BaseNoise3D {
             value.setSeed(seed++);
         }
     }
+
+    @Override
+    public void setHashFamily(HashFamily family) {
+        super.setHashFamily(family);
+        for (Worley3D value : noiseOctaves) {
+            value.setHashFamily(family);
+        }
+    }
 }
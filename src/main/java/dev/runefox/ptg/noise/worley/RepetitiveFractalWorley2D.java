@@ -14,6 +14,7 @@
 package dev.runefox.ptg.noise.worley;
 
 import dev.runefox.ptg.noise.RepetitiveNoise2D;
+import dev.runefox.ptg.noise.util.HashFamily;
 
 /**
  * Repeating fractal-Worley noise generator for 2D space. This generator uses a specified amount of {@link
@@ -120,4 +121,12 @@ public class RepetitiveFractalWorley2D extends RepetitiveNoise2D {
             value.setSeed(seed++);
         }
     }
+
+    @Override
+    public void setHashFamily(HashFamily family) {
+        super.setHashFamily(family);
+        for (RepetitiveWorley2D value : noiseOctaves) {
+            value.setHashFamily(family);
+        }
+    }
 }
@@ -14,7 +14,7 @@
 package dev.runefox.ptg.noise.worley;
 
 import dev.runefox.ptg.noise.RepetitiveNoise3D;
-import dev.runefox.ptg.noise.util.Hash;
+import dev.runefox.ptg.noise.util.LatticeHash3D;
 
 /**
  * Repeating 3D Worley noise generator.
@@ -52,20 +52,9 @@ public class RepetitiveWorley3D extends RepetitiveNoise3D {
         super(seed, scaleX, scaleY, scaleZ, repeatX, repeatY, repeatZ);
     }
 
-    private long repeat(long val, int repeat) {
-        return val % repeat + (val < 0 ? repeat : 0);
-    }
-
-    private int hashx(long x, long y, long z) {
-        return Hash.hash3I(seed * 12551 + 2315, repeat(x, repeatX), repeat(y, repeatY), repeat(z, repeatZ));
-    }
-
-    private int hashy(long x, long y, long z) {
-        return Hash.hash3I(seed * 5281 + 1121, repeat(x, repeatX), repeat(y, repeatY), repeat(z, repeatZ));
-    }
-
-    private int hashz(long x, long y, long z) {
-        return Hash.hash3I(seed * 8911 + 731, repeat(x, repeatX), repeat(y, repeatY), repeat(z, repeatZ));
+    @Override
+    protected LatticeHash3D createLattice() {
+        return LatticeHash3D.repeating(getHashFamily(), repeatX, repeatY, repeatZ, seed * 12551 + 2315, seed * 5281 + 1121, seed * 8911 + 731);
     }
 
     @Override
@@ -74,6 +63,6 @@ public class RepetitiveWorley3D extends RepetitiveNoise3D {
         y /= scaleY;
         z /= scaleZ;
 
-        return Worley.compute(x, y, z, this::hashx, this::hashy, this::hashz);
+        return Worley.compute(x, y, z, lattice());
     }
 }
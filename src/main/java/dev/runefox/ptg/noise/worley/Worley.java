@@ -13,8 +13,8 @@
 
 package dev.runefox.ptg.noise.worley;
 
-import dev.runefox.ptg.noise.util.HashFunction2D;
-import dev.runefox.ptg.noise.util.HashFunction3D;
+import dev.runefox.ptg.noise.util.LatticeHash2D;
+import dev.runefox.ptg.noise.util.LatticeHash3D;
 import dev.runefox.ptg.noise.util.NoiseMath;
 
 final class Worley {
@@ -36,16 +36,21 @@ final class Worley {
         return dx * dx + dy * dy + dz * dz;
     }
 
-    public static double compute(double x, double y, HashFunction2D hfx, HashFunction2D hfy) {
+    public static double compute(double x, double y, LatticeHash2D lattice) {
+        if (lattice.isMultiOutput())
+            return computeMulti(x, y, lattice);
+
         long minx = NoiseMath.floor(x);
         long miny = NoiseMath.floor(y);
 
         double nearest = Double.POSITIVE_INFINITY;
 
         for (int ix = -1; ix <= 1; ix++) {
+            long wx = lattice.wrapX(minx + ix);
             for (int iy = -1; iy <= 1; iy++) {
-                double px = hfx.hash(minx + ix, miny + iy) / HASH_RANGE + ix + minx;
-                double py = hfy.hash(minx + ix, miny + iy) / HASH_RANGE + iy + miny;
+                long wy = lattice.wrapY(miny + iy);
+                double px = lattice.hash(0, wx, wy) / HASH_RANGE + ix + minx;
+                double py = lattice.hash(1, wx, wy) / HASH_RANGE + iy + miny;
 
                 double d = distsq(x, y, px, py);
                 if (d < nearest) nearest = d;
@@ -55,7 +60,58 @@ final class Worley {
         return nearest * 2 - 1;
     }
 
-    public static double compute(double x, double y, double z, HashFunction3D hfx, HashFunction3D hfy, HashFunction3D hfz) {
+    private static double computeMulti(double x, double y, LatticeHash2D lattice) {
+        long minx = NoiseMath.floor(x);
+        long miny = NoiseMath.floor(y);
+
+        double nearest = Double.POSITIVE_INFINITY;
+
+        for (int ix = -1; ix <= 1; ix++) {
+            long wx = lattice.wrapX(minx + ix);
+            for (int iy = -1; iy <= 1; iy++) {
+                long wy = lattice.wrapY(miny + iy);
+                long bits = lattice.hashBits(wx, wy);
+                double px = LatticeHash2D.jitterX(bits) + ix + minx;
+                double py = LatticeHash2D.jitterY(bits) + iy + miny;
+
+                double d = distsq(x, y, px, py);
+                if (d < nearest) nearest = d;
+            }
+        }
+
+        return nearest * 2 - 1;
+    }
+
+    public static double compute(double x, double y, double z, LatticeHash3D lattice) {
+        if (lattice.isMultiOutput())
+            return computeMulti(x, y, z, lattice);
+
+        long minx = NoiseMath.floor(x);
+        long miny = NoiseMath.floor(y);
+        long minz = NoiseMath.floor(z);
+
+        double nearest = Double.POSITIVE_INFINITY;
+
+        for (int ix = -1; ix <= 1; ix++) {
+            long wx = lattice.wrapX(minx + ix);
+            for (int iy = -1; iy <= 1; iy++) {
+                long wy = lattice.wrapY(miny + iy);
+                for (int iz = -1; iz <= 1; iz++) {
+                    long wz = lattice.wrapZ(minz + iz);
+                    double px = lattice.hash(0, wx, wy, wz) / HASH_RANGE + ix + minx;
+                    double py = lattice.hash(1, wx, wy, wz) / HASH_RANGE + iy + miny;
+                    double pz = lattice.hash(2, wx, wy, wz) / HASH_RANGE + iz + minz;
+
+                    double d = distsq(x, y, z, px, py, pz);
+                    if (d < nearest) nearest = d;
+                }
+            }
+        }
+
+        return nearest * 2 - 1;
+    }
+
+    private static double computeMulti(double x, double y, double z, LatticeHash3D lattice) {
         long minx = NoiseMath.floor(x);
         long miny = NoiseMath.floor(y);
         long minz = NoiseMath.floor(z);
@@ -63,11 +119,15 @@ final class Worley {
         double nearest = Double.POSITIVE_INFINITY;
 
         for (int ix = -1; ix <= 1; ix++) {
+            long wx = lattice.wrapX(minx + ix);
             for (int iy = -1; iy <= 1; iy++) {
+                long wy = lattice.wrapY(miny + iy);
                 for (int iz = -1; iz <= 1; iz++) {
-                    double px = hfx.hash(minx + ix, miny + iy, minz + iz) / HASH_RANGE + ix + minx;
-                    double py = hfy.hash(minx + ix, miny + iy, minz + iz) / HASH_RANGE + iy + miny;
-                    double pz = hfz.hash(minx + ix, miny + iy, minz + iz) / HASH_RANGE + iz + minz;
+                    long wz = lattice.wrapZ(minz + iz);
+                    long bits = lattice.hashBits(wx, wy, wz);
+                    double px = LatticeHash3D.jitterX(bits) + ix + minx;
+                    double py = LatticeHash3D.jitterY(bits) + iy + miny;
+                    double pz = LatticeHash3D.jitterZ(bits) + iz + minz;
 
                     double d = distsq(x, y, z, px, py, pz);
                     if (d < nearest) nearest = d;
@@ -14,7 +14,7 @@
 package dev.runefox.ptg.noise.worley;
 
 import dev.runefox.ptg.noise.BaseNoise2D;
-import dev.runefox.ptg.noise.util.Hash;
+import dev.runefox.ptg.noise.util.LatticeHash2D;
 
 /**
  * 2D Worley (voronoi, distance to point) noise generator.
@@ -51,12 +51,9 @@ public class Worley2D extends BaseNoise2D {
         super(seed, scaleX, scaleY);
     }
 
-    private int hashx(long x, long y) {
-        return Hash.hash2I(seed * 12551 + 2315, x, y);
-    }
-
-    private int hashy(long x, long y) {
-        return Hash.hash2I(seed * 5281 + 1121, x, y);
+    @Override
+    protected LatticeHash2D createLattice() {
+        return LatticeHash2D.of(getHashFamily(), seed * 12551 + 2315, seed * 5281 + 1121);
     }
 
     @Override
@@ -64,6 +61,6 @@ public class Worley2D extends BaseNoise2D {
         x /= scaleX;
         y /= scaleY;
 
-        return Worley.compute(x, y, this::hashx, this::hashy);
+        return Worley.compute(x, y, lattice());
     }
 }
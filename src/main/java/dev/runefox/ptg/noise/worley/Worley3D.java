@@ -14,7 +14,7 @@
 package dev.runefox.ptg.noise.worley;
 
 import dev.runefox.ptg.noise.BaseNoise3D;
-import dev.runefox.ptg.noise.util.Hash;
+import dev.runefox.ptg.noise.util.LatticeHash3D;
 
 /**
  * 3D Voronoi (voronoi, distance to point) noise generator.
@@ -52,16 +52,9 @@ public class Worley3D extends BaseNoise3D {
         super(seed, scaleX, scaleY, scaleZ);
     }
 
-    private int hashx(long x, long y, long z) {
-        return Hash.hash3I(seed * 12551 + 2315, x, y, z);
-    }
-
-    private int hashy(long x, long y, long z) {
-        return Hash.hash3I(seed * 5281 + 1121, x, y, z);
-    }
-
-    private int hashz(long x, long y, long z) {
-        return Hash.hash3I(seed * 8911 + 731, x, y, z);
+    @Override
+    protected LatticeHash3D createLattice() {
+        return LatticeHash3D.of(getHashFamily(), seed * 12551 + 2315, seed * 5281 + 1121, seed * 8911 + 731);
     }
 
     @Override
@@ -70,6 +63,6 @@ public class Worley3D extends BaseNoise3D {
         y /= scaleY;
         z /= scaleZ;
 
-        return Worley.compute(x, y, z, this::hashx, this::hashy, this::hashz);
+        return Worley.compute(x, y, z, lattice());
     }
 }
@@ -38,6 +38,13 @@ public abstract class FractalGenerator<T> {
         this.region = factory.buildRegion();
     }
 
+    /**
+     * Returns the {@link Region} this generator generates values from.
+     */
+    public Region getRegion() {
+        return region;
+    }
+
     /**
      * Looks up the specified value for the given ID.
      *
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2020-2026 O. W. Nankman
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "
+ * AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+
+package dev.runefox.ptg.region;
+
+/**
+ * A {@link Region} that evaluates a layer with a {@link RegionRNG}. A {@link LazyRegion} records the type of the layer
+ * and the seed of the RNG of the region it caches, so that a {@link RegionCheckpoint} can tell whether it is restored
+ * into the region stack it was saved from.
+ */
+public interface LayerRegion extends Region {
+    /**
+     * Returns the layer this region evaluates.
+     */
+    Object getLayer();
+
+    /**
+     * Returns the RNG this region evaluates the layer with. When the layer uses multiple RNGs, this is the RNG of which
+     * the seed determines the others.
+     */
+    RegionRNG getRNG();
+}
@@ -13,7 +13,13 @@
 
 package dev.runefox.ptg.region;
 
+import dev.runefox.ptg.region.util.Footprint;
+import dev.runefox.ptg.region.util.ValueSet;
 import it.unimi.dsi.fastutil.longs.Long2IntLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+
+import java.io.DataOutput;
+import java.io.IOException;
 
 /**
  * A {@link Region} implementation that caches the generated values. Such regions are usually managed and created by a
@@ -26,9 +32,36 @@ public class LazyRegion implements Region {
     /** The cache size limit of this region. When the cache size exceeds this limit, some entries are removed. */
     private final int cacheSize;
 
-    /** The cache of this region. Coordinates are mapped to long keys using {@link #asLong(int, int)}. */
+    /**
+     * The cache of this region. Coordinates are mapped to long keys using {@link #asLong(int, int)}. This is null when
+     * this region is constant.
+     */
     private final Long2IntLinkedOpenHashMap cache;
 
+    /** The values this region can generate. */
+    private final ValueSet values;
+
+    /** The value of this region, if this region is constant. */
+    private final int constant;
+
+    /** The regions this region transforms or merges. */
+    private final LazyRegion[] inputs;
+
+    /** The region this region transforms, if the transforming layer has a footprint. */
+    private final LazyRegion source;
+
+    /** The footprint of the layer that transforms {@link #source}, or null. */
+    private final Footprint footprint;
+
+    /** The world seed of the context that created this region, or 0 if not known. */
+    private final long worldSeed;
+
+    /** The class name of the layer the generator evaluates, or null if the generator is not a {@link LayerRegion}. */
+    private final String layer;
+
+    /** The seed of the RNG the generator evaluates its layer with, or 0 if not known. */
+    private final long seed;
+
     /**
      * Creates a {@link LazyRegion}. This is usually done by a {@link LazyRegionContext} instance.
      *
@@ -36,10 +69,75 @@ public class LazyRegion implements Region {
      * @param cacheSize The cache size limit (see {@link #cacheSize})
      */
     public LazyRegion(Region generator, int cacheSize) {
-        this.generator = generator;
+        this(generator, cacheSize, ValueSet.ANY);
+    }
+
+    /**
+     * Creates a {@link LazyRegion} that is known to generate only the given values. This is usually done by a {@link
+     * LazyRegionContext} instance. When the value set is {@linkplain ValueSet#isConstant() constant}, the region
+     * returns that value directly, without evaluating the generator and without a cache.
+     *
+     * @param generator The underlying {@link Region} (see {@link #generator})
+     * @param cacheSize The cache size limit (see {@link #cacheSize})
+     * @param values    The values the generator can generate
+     */
+    public LazyRegion(Region generator, int cacheSize, ValueSet values) {
+        this(generator, cacheSize, values, new LazyRegion[0], null);
+    }
+
+    /**
+     * Creates a {@link LazyRegion} that transforms or merges the given {@link LazyRegion}s. This is usually done by a
+     * {@link LazyRegionContext} instance. The input regions are used by {@link RegionCheckpoint} to find all regions
+     * of a stack. When there is one input region, and the transforming layer has a {@link Footprint}, they are used by
+     * {@link RegionSearch} to search this region from coarse to fine.
+     *
+     * @param generator The underlying {@link Region} (see {@link #generator})
+     * @param cacheSize The cache size limit (see {@link #cacheSize})
+     * @param values    The values the generator can generate
+     * @param inputs    The transformed or merged regions
+     * @param footprint The footprint of the transforming layer, or null
+     */
+    public LazyRegion(Region generator, int cacheSize, ValueSet values, LazyRegion[] inputs, Footprint footprint) {
+        this(generator, cacheSize, values, inputs, footprint, 0);
+    }
+
+    /**
+     * Creates a {@link LazyRegion} that transforms or merges the given {@link LazyRegion}s, in a context with the given
+     * world seed. This is usually done by a {@link LazyRegionContext} instance. The world seed, along with the layer
+     * and RNG seed of the generator when it is a {@link LayerRegion}, is used by {@link RegionCheckpoint} to check
+     * that a checkpoint is restored into the stack it was saved from.
+     *
+     * @param generator The underlying {@link Region} (see {@link #generator})
+     * @param cacheSize The cache size limit (see {@link #cacheSize})
+     * @param values    The values the generator can generate
+     * @param inputs    The transformed or merged regions
+     * @param footprint The footprint of the transforming layer, or null
+     * @param worldSeed The world seed of the context creating this region
+     */
+    public LazyRegion(Region generator, int cacheSize, ValueSet values, LazyRegion[] inputs, Footprint footprint, long worldSeed) {
+        this.worldSeed = worldSeed;
+        if (generator instanceof LayerRegion layerRegion) {
+            this.layer = layerName(layerRegion.getLayer());
+            this.seed = layerRegion.getRNG() instanceof LinearCongruentialRNG rng ? rng.getSeed() : 0;
+        } else {
+            this.layer = null;
+            this.seed = 0;
+        }
+        this.values = values;
+        this.inputs = inputs.clone();
+        this.source = footprint != null && inputs.length == 1 ? inputs[0] : null;
+        this.footprint = source == null ? null : footprint;
         this.cacheSize = cacheSize;
-        cache = new Long2IntLinkedOpenHashMap();
-        cache.defaultReturnValue(Integer.MIN_VALUE);
+        if (values.isConstant()) {
+            this.generator = null;
+            this.constant = values.constant();
+            this.cache = null;
+        } else {
+            this.generator = generator;
+            this.constant = 0;
+            this.cache = new Long2IntLinkedOpenHashMap();
+            cache.defaultReturnValue(Integer.MIN_VALUE);
+        }
     }
 
     /**
@@ -47,6 +145,10 @@ public class LazyRegion implements Region {
      */
     @Override
     public int getValue(int x, int z) {
+        if (cache == null) {
+            return constant;
+        }
+
         long key = asLong(x, z);
         synchronized (cache) {
             if (cache.containsKey(key)) {
@@ -66,6 +168,105 @@ public class LazyRegion implements Region {
         }
     }
 
+    /**
+     * Returns the values this {@link LazyRegion} can generate, {@link ValueSet#ANY} if they are not known.
+     */
+    public ValueSet getValues() {
+        return values;
+    }
+
+    /**
+     * Returns the regions this {@link LazyRegion} transforms or merges.
+     */
+    LazyRegion[] getInputs() {
+        return inputs;
+    }
+
+    /**
+     * Returns the region this {@link LazyRegion} transforms, or null if it is not known or the transforming layer has
+     * no {@link Footprint}.
+     */
+    public LazyRegion getSource() {
+        return source;
+    }
+
+    /**
+     * Returns the {@link Footprint} of the layer that transforms {@linkplain #getSource() the source region}, or null.
+     */
+    public Footprint getFootprint() {
+        return footprint;
+    }
+
+    /**
+     * Returns the world seed of the context that created this {@link LazyRegion}, or 0 if not known.
+     */
+    long getWorldSeed() {
+        return worldSeed;
+    }
+
+    /**
+     * Returns the class name of the layer this {@link LazyRegion} evaluates, or null if not known.
+     */
+    String getLayer() {
+        return layer;
+    }
+
+    /**
+     * Returns the seed of the RNG of the layer this {@link LazyRegion} evaluates, or 0 if not known.
+     */
+    long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Writes the cached coordinates and values of this {@link LazyRegion} in cache order, preceded by the amount of
+     * entries.
+     */
+    void writeCache(DataOutput out) throws IOException {
+        long[] keys;
+        int[] vals;
+        if (cache == null) {
+            keys = new long[0];
+            vals = new int[0];
+        } else {
+            // Copy first so that we don't write to the output while holding the lock
+            synchronized (cache) {
+                keys = new long[cache.size()];
+                vals = new int[keys.length];
+                int i = 0;
+                for (Long2IntMap.Entry entry : cache.long2IntEntrySet()) {
+                    keys[i] = entry.getLongKey();
+                    vals[i] = entry.getIntValue();
+                    i++;
+                }
+            }
+        }
+
+        out.writeInt(keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            out.writeLong(keys[i]);
+            out.writeInt(vals[i]);
+        }
+    }
+
+    /**
+     * Replaces the cache contents of this {@link LazyRegion} by the given coordinates and values, in cache order, as
+     * written by {@link #writeCache}. Entries beyond the cache size limit are dropped.
+     */
+    void restoreCache(long[] keys, int[] vals) {
+        if (cache == null) {
+            return;
+        }
+
+        synchronized (cache) {
+            cache.clear();
+            int n = Math.min(keys.length, cacheSize);
+            for (int i = 0; i < n; i++) {
+                cache.put(keys[i], vals[i]);
+            }
+        }
+    }
+
     /**
      * Returns the cache size limit of this {@link LazyRegion}.
      */
@@ -83,7 +284,17 @@ public class LazyRegion implements Region {
      * @param z Z coordinate
      * @return The packed coordinates
      */
-    private static long asLong(int x, int z) {
+    static long asLong(int x, int z) {
         return (x & 0xFFFFFFFFL) << 32 | z & 0xFFFFFFFFL;
     }
+
+    // The names of lambda classes contain a counter of all lambdas created by the JVM so far, and the names of hidden
+    // classes a suffix that is different every run, so these parts are left out to keep the name the same across runs
+    private static String layerName(Object layer) {
+        String name = layer.getClass().getName();
+        int lambda = name.indexOf("$$Lambda");
+        if (lambda >= 0) return name.substring(0, lambda + "$$Lambda".length());
+        int hidden = name.indexOf('/');
+        return hidden < 0 ? name : name.substring(0, hidden);
+    }
 }
@@ -15,7 +15,11 @@ package dev.runefox.ptg.region;
 
 
 import dev.runefox.ptg.rng.LongScrambler;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Function;
 
 /**
@@ -31,6 +35,12 @@ public class LazyRegionBuilder implements RegionBuilder<LazyRegion, LazyRegionBu
     /** The built {@link RegionFactory} chain. */
     private RegionFactory<LazyRegion> factory;
 
+    /** The factories recorded as levels of detail, from coarse to fine. */
+    private final List<RegionFactory<LazyRegion>> levels = new ArrayList<>();
+
+    /** The zoom shift applied after each recorded level. */
+    private final IntList levelShifts = new IntArrayList();
+
     /** The current seed, which is scrambled by {@link #DEFAULT_SCRAMBLER} to create a series of random seeds. */
     private long seed;
 
@@ -78,6 +88,23 @@ public class LazyRegionBuilder implements RegionBuilder<LazyRegion, LazyRegionBu
         return this;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addLevel(RegionFactory<LazyRegion> factory, int shift) {
+        levels.add(factory);
+        levelShifts.add(shift);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public RegionPyramid<LazyRegion> buildPyramid() {
+        return RegionPyramid.build(factory, levels, levelShifts.toIntArray());
+    }
+
     /**
      * {@inheritDoc}
      */
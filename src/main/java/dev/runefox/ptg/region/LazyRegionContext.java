@@ -16,6 +16,8 @@ package dev.runefox.ptg.region;
 import dev.runefox.ptg.region.layer.GeneratorLayer;
 import dev.runefox.ptg.region.layer.MergerLayer;
 import dev.runefox.ptg.region.layer.TransformerLayer;
+import dev.runefox.ptg.region.util.Footprint;
+import dev.runefox.ptg.region.util.ValueSet;
 
 /**
  * A {@link RegionContext} implementation that uses {@link Region}s that cache their values: {@link LazyRegion}s.
@@ -25,6 +27,7 @@ public class LazyRegionContext implements RegionContext<LazyRegion> {
     private final int cacheSizeMul;
     private final int cacheLimit;
     private final long worldSeed;
+    private final boolean specializeLayers;
 
     /**
      * Creates a {@link LazyRegionContext} with default configuration.
@@ -45,10 +48,25 @@ public class LazyRegionContext implements RegionContext<LazyRegion> {
      * @param worldSeed     The world seed.
      */
     public LazyRegionContext(int initCacheSize, int cacheSizeMul, int cacheLimit, long worldSeed) {
+        this(initCacheSize, cacheSizeMul, cacheLimit, worldSeed, false);
+    }
+
+    /**
+     * Creates a {@link LazyRegionContext} with custom configuration.
+     *
+     * @param initCacheSize    The initial cache size used when creating a generator region.
+     * @param cacheSizeMul     The cache size multiplier used when creating a transformer or merger region.
+     * @param cacheLimit       The cache size limit. Computed cache sizes can't be more than this value.
+     * @param worldSeed        The world seed.
+     * @param specializeLayers Whether layers should be evaluated by specialized regions, see {@link
+     *                         #specializeLayers()}.
+     */
+    public LazyRegionContext(int initCacheSize, int cacheSizeMul, int cacheLimit, long worldSeed, boolean specializeLayers) {
         this.initCacheSize = Math.min(cacheLimit, initCacheSize);
         this.cacheSizeMul = cacheSizeMul;
         this.cacheLimit = cacheLimit;
         this.worldSeed = worldSeed;
+        this.specializeLayers = specializeLayers;
     }
 
     /**
@@ -78,7 +96,7 @@ public class LazyRegionContext implements RegionContext<LazyRegion> {
      */
     @Override
     public LazyRegion create(Region generator) {
-        return new LazyRegion(generator, initCacheSize);
+        return new LazyRegion(generator, initCacheSize, ValueSet.ANY, new LazyRegion[0], null, worldSeed);
     }
 
     /**
@@ -86,7 +104,7 @@ public class LazyRegionContext implements RegionContext<LazyRegion> {
      */
     @Override
     public LazyRegion create(Region generator, LazyRegion region) {
-        return new LazyRegion(generator, computeCacheSize(region.getMaxCacheSize()));
+        return new LazyRegion(generator, computeCacheSize(region.getMaxCacheSize()), ValueSet.ANY, new LazyRegion[] {region}, null, worldSeed);
     }
 
     /**
@@ -95,7 +113,48 @@ public class LazyRegionContext implements RegionContext<LazyRegion> {
     @Override
     public LazyRegion create(Region generator, LazyRegion regionA, LazyRegion regionB) {
         int max = Math.max(regionA.getMaxCacheSize(), regionB.getMaxCacheSize());
-        return new LazyRegion(generator, computeCacheSize(max));
+        return new LazyRegion(generator, computeCacheSize(max), ValueSet.ANY, new LazyRegion[] {regionA, regionB}, null, worldSeed);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LazyRegion create(Region generator, ValueSet values) {
+        return new LazyRegion(generator, initCacheSize, values, new LazyRegion[0], null, worldSeed);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LazyRegion create(Region generator, LazyRegion region, ValueSet values) {
+        return new LazyRegion(generator, computeCacheSize(region.getMaxCacheSize()), values, new LazyRegion[] {region}, null, worldSeed);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LazyRegion create(Region generator, LazyRegion region, ValueSet values, Footprint footprint) {
+        return new LazyRegion(generator, computeCacheSize(region.getMaxCacheSize()), values, new LazyRegion[] {region}, footprint, worldSeed);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LazyRegion create(Region generator, LazyRegion regionA, LazyRegion regionB, ValueSet values) {
+        int max = Math.max(regionA.getMaxCacheSize(), regionB.getMaxCacheSize());
+        return new LazyRegion(generator, computeCacheSize(max), values, new LazyRegion[] {regionA, regionB}, null, worldSeed);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ValueSet values(LazyRegion region) {
+        return region.getValues();
     }
 
     private int computeCacheSize(int size) {
@@ -118,6 +177,14 @@ public class LazyRegionContext implements RegionContext<LazyRegion> {
         return new LinearCongruentialRNG(worldSeed, seed);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean specializeLayers() {
+        return specializeLayers;
+    }
+
     /**
      * {@inheritDoc}
      */
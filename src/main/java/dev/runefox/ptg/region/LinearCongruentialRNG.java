@@ -22,6 +22,12 @@ public class LinearCongruentialRNG implements RegionRNG {
 
     private static final LongScrambler CONSTR_SCRAMBLE = LongScrambler.xorshift(13, -17, 5, -23, 19, -27, 7, -19);
 
+    /** The world seed this instance was created with. */
+    private final long worldSeed;
+
+    /** The seed this instance was created with. */
+    private final long seed;
+
     /**
      * The global seed. This seed is based on the world seed and is the same for all instances used in the same world.
      * This value does not change after initialization.
@@ -42,9 +48,24 @@ public class LinearCongruentialRNG implements RegionRNG {
     private long currentSeed;
 
     public LinearCongruentialRNG(long worldSeed, long seed) {
-        seed = CONSTR_SCRAMBLE.scramble(seed);
+        this.worldSeed = worldSeed;
+        this.seed = seed;
         initWorldSeed(worldSeed);
-        initLocalSeed(seed);
+        initLocalSeed(CONSTR_SCRAMBLE.scramble(seed));
+    }
+
+    /**
+     * Returns the world seed this {@link LinearCongruentialRNG} was created with.
+     */
+    public long getWorldSeed() {
+        return worldSeed;
+    }
+
+    /**
+     * Returns the seed this {@link LinearCongruentialRNG} was created with.
+     */
+    public long getSeed() {
+        return seed;
     }
 
     private void initWorldSeed(long seed) {
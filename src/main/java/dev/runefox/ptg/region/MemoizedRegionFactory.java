@@ -0,0 +1,69 @@
+/*
+ * Copyright 2020-2026 O. W. Nankman
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "
+ * AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package dev.runefox.ptg.region;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * A {@link RegionFactory} that builds its region at most once per build. A build starts when the first memoized
+ * factory on a thread is asked to build a region, and ends when that factory returns. Every memoized factory that is
+ * reached more than once during a build returns the region it built the first time, so a factory chain that shares
+ * factories is built as a graph instead of a tree.
+ *
+ * @see RegionContext#memoize(RegionFactory)
+ */
+final class MemoizedRegionFactory<R extends Region> implements RegionFactory<R> {
+    private static final ThreadLocal<Map<MemoizedRegionFactory<?>, Region>> BUILD = new ThreadLocal<>();
+
+    private final RegionFactory<R> factory;
+
+    MemoizedRegionFactory(RegionFactory<R> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Runs the given action as part of a build, starting a new build if there is none yet, so that all memoized
+     * factories reached by the action are built at most once.
+     */
+    static <T> T build(Supplier<T> action) {
+        if (BUILD.get() != null) {
+            return action.get();
+        }
+
+        BUILD.set(new IdentityHashMap<>());
+        try {
+            return action.get();
+        } finally {
+            BUILD.remove();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public R buildRegion() {
+        Map<MemoizedRegionFactory<?>, Region> build = BUILD.get();
+        if (build == null) {
+            return build(factory::buildRegion);
+        }
+
+        R region = (R) build.get(this);
+        if (region == null) {
+            region = factory.buildRegion();
+            build.put(this, region);
+        }
+        return region;
+    }
+}
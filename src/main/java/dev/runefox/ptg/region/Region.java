@@ -13,6 +13,9 @@
 
 package dev.runefox.ptg.region;
 
+import java.nio.IntBuffer;
+import java.util.Objects;
+
 /**
  * A function that maps XZ-coordinates to integers, based on a procedurally generated noise field. These values are
  * either generated directly, or read from a cache map.
@@ -41,4 +44,47 @@ public interface Region {
     default float getFPValue(int x, int z) {
         return Float.intBitsToFloat(getValue(x, z));
     }
+
+    /**
+     * Gets the values of a rectangular area of {@code nx * nz} coordinates into an array. The value at
+     * {@code (x0 + i, z0 + j)} is stored at index {@code offset + j * nx + i}, so X varies fastest.
+     *
+     * @param x0     The X coordinate of the first value
+     * @param z0     The Z coordinate of the first value
+     * @param nx     The amount of values along the X axis
+     * @param nz     The amount of values along the Z axis
+     * @param out    The array to store the values in
+     * @param offset The index in the array of the first value
+     */
+    default void fill(int x0, int z0, int nx, int nz, int[] out, int offset) {
+        Objects.checkFromIndexSize(offset, nx * nz, out.length);
+        int index = offset;
+        for (int j = 0; j < nz; j++) {
+            for (int i = 0; i < nx; i++) {
+                out[index++] = getValue(x0 + i, z0 + j);
+            }
+        }
+    }
+
+    /**
+     * Gets the values of a rectangular area of {@code nx * nz} coordinates into a buffer. The layout is the same as in
+     * {@link #fill(int, int, int, int, int[], int)}, relative to the position of the buffer. The position of the buffer
+     * is not changed. The buffer may be a direct buffer, in which case the values are not stored on the heap and can be
+     * passed to native code or written to a channel without copying.
+     *
+     * @param x0  The X coordinate of the first value
+     * @param z0  The Z coordinate of the first value
+     * @param nx  The amount of values along the X axis
+     * @param nz  The amount of values along the Z axis
+     * @param out The buffer to store the values in
+     */
+    default void fill(int x0, int z0, int nx, int nz, IntBuffer out) {
+        int index = out.position();
+        Objects.checkFromIndexSize(index, nx * nz, out.limit());
+        for (int j = 0; j < nz; j++) {
+            for (int i = 0; i < nx; i++) {
+                out.put(index++, getValue(x0 + i, z0 + j));
+            }
+        }
+    }
 }
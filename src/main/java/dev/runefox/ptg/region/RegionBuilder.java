@@ -17,6 +17,7 @@ import dev.runefox.ptg.region.layer.*;
 import dev.runefox.ptg.region.util.FloatSelector;
 import dev.runefox.ptg.region.util.IntSelector;
 
+import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -54,6 +55,30 @@ public interface RegionBuilder<R extends Region, T extends RegionBuilder<R, T>>
      */
     T apply(Function<RegionFactory<R>, RegionFactory<R>> function);
 
+    /**
+     * Records the given factory chain as a coarser level of detail, right before a layer is applied that zooms in by a
+     * factor of {@code 1 << shift}. The zoom methods of this builder call this method, so that {@link #buildPyramid()}
+     * can build every level of detail of the chain. Builders that don't keep track of levels ignore this.
+     *
+     * @param factory The factory chain before zooming in
+     * @param shift   The logarithm, base 2, of the zoom factor
+     */
+    default void addLevel(RegionFactory<R> factory, int shift) {
+    }
+
+    /**
+     * Builds a {@link RegionPyramid} of the region built by this builder and all levels recorded by {@link
+     * #addLevel}, i.e. the regions right before each zoom applied by this builder. All levels are built together, so
+     * they share the regions they have in common, except for the intermediate levels of a multi-level zoom, which are
+     * built separately from the zoom itself (see {@link RegionPyramid}). Builders that don't keep track of levels build
+     * a pyramid with only the final region.
+     *
+     * @return The built pyramid
+     */
+    default RegionPyramid<R> buildPyramid() {
+        return RegionPyramid.build(getFactory(), List.of(), new int[0]);
+    }
+
     /**
      * Sets the current seed.
      *
@@ -78,7 +103,7 @@ public interface RegionBuilder<R extends Region, T extends RegionBuilder<R, T>>
      * @see #zoom()
      */
     default T zoom(int amount) {
-        return apply(factory -> ZoomLayer.INSTANCE.magnify(getContext(), nextSeed(), factory, amount));
+        return apply(factory -> ZoomLayer.INSTANCE.magnify(getContext(), nextSeed(), factory, amount, level -> addLevel(level, 1)));
     }
 
     /**
@@ -89,7 +114,10 @@ public interface RegionBuilder<R extends Region, T extends RegionBuilder<R, T>>
      * @see #zoom(int)
      */
     default T zoom() {
-        return apply(factory -> ZoomLayer.INSTANCE.factory(getContext(), nextSeed(), factory));
+        return apply(factory -> {
+            addLevel(factory, 1);
+            return ZoomLayer.INSTANCE.factory(getContext(), nextSeed(), factory);
+        });
     }
 
     /**
@@ -101,7 +129,7 @@ public interface RegionBuilder<R extends Region, T extends RegionBuilder<R, T>>
      * @see #zoomFuzzy()
      */
     default T zoomFuzzy(int amount) {
-        return apply(factory -> FuzzyZoomLayer.INSTANCE.magnify(getContext(), nextSeed(), factory, amount));
+        return apply(factory -> FuzzyZoomLayer.INSTANCE.magnify(getContext(), nextSeed(), factory, amount, level -> addLevel(level, 1)));
     }
 
     /**
@@ -112,7 +140,10 @@ public interface RegionBuilder<R extends Region, T extends RegionBuilder<R, T>>
      * @see #zoomFuzzy(int)
      */
     default T zoomFuzzy() {
-        return apply(factory -> FuzzyZoomLayer.INSTANCE.factory(getContext(), nextSeed(), factory));
+        return apply(factory -> {
+            addLevel(factory, 1);
+            return FuzzyZoomLayer.INSTANCE.factory(getContext(), nextSeed(), factory);
+        });
     }
 
     /**
@@ -125,7 +156,7 @@ public interface RegionBuilder<R extends Region, T extends RegionBuilder<R, T>>
      * @see #zoomInterp()
      */
     default T zoomInterp(int amount) {
-        return apply(factory -> InterpolateZoomLayer.INTEGER.magnify(getContext(), nextSeed(), factory, amount));
+        return apply(factory -> InterpolateZoomLayer.INTEGER.magnify(getContext(), nextSeed(), factory, amount, level -> addLevel(level, 1)));
     }
 
     /**
@@ -137,7 +168,10 @@ public interface RegionBuilder<R extends Region, T extends RegionBuilder<R, T>>
      * @see #zoomInterp(int)
      */
     default T zoomInterp() {
-        return apply(factory -> InterpolateZoomLayer.INTEGER.factory(getContext(), nextSeed(), factory));
+        return apply(factory -> {
+            addLevel(factory, 1);
+            return InterpolateZoomLayer.INTEGER.factory(getContext(), nextSeed(), factory);
+        });
     }
 
     /**
@@ -150,7 +184,7 @@ public interface RegionBuilder<R extends Region, T extends RegionBuilder<R, T>>
      * @see #zoomInterpF()
      */
     default T zoomInterpF(int amount) {
-        return apply(factory -> InterpolateZoomLayer.FLOAT.magnify(getContext(), nextSeed(), factory, amount));
+        return apply(factory -> InterpolateZoomLayer.FLOAT.magnify(getContext(), nextSeed(), factory, amount, level -> addLevel(level, 1)));
     }
 
     /**
@@ -162,7 +196,10 @@ public interface RegionBuilder<R extends Region, T extends RegionBuilder<R, T>>
      * @see #zoomInterpF(int)
      */
     default T zoomInterpF() {
-        return apply(factory -> InterpolateZoomLayer.FLOAT.factory(getContext(), nextSeed(), factory));
+        return apply(factory -> {
+            addLevel(factory, 1);
+            return InterpolateZoomLayer.FLOAT.factory(getContext(), nextSeed(), factory);
+        });
     }
 
     /**
@@ -180,7 +217,10 @@ public interface RegionBuilder<R extends Region, T extends RegionBuilder<R, T>>
      * @return This instance for chaining
      */
     default T zoomVoronoi() {
-        return apply(factory -> VoronoiZoomLayer.INSTANCE.factory(getContext(), nextSeed(), factory));
+        return apply(factory -> {
+            addLevel(factory, 2);
+            return VoronoiZoomLayer.INSTANCE.factory(getContext(), nextSeed(), factory);
+        });
     }
 
     /**
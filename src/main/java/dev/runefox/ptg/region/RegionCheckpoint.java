@@ -0,0 +1,177 @@
+/*
+ * Copyright 2020-2026 O. W. Nankman
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "
+ * AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package dev.runefox.ptg.region;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Saves and restores the cache contents of a stack of {@link LazyRegion}s, along with a progress cursor, so that a long
+ * generation run can be resumed after it was interrupted without warming up all caches again. A checkpoint can only be
+ * restored into a region stack of the same structure, world seed, layers and layer seeds as the stack it was saved
+ * from, which is usually a stack built by the same code with the same {@link LazyRegionContext} settings. The cursor is not interpreted, the caller decides
+ * what it means: a common choice is the index of the next chunk to generate.
+ * <p>
+ * A checkpoint is a deflated stream of a header with the world seed, the cursor, and for each region in the stack a
+ * fingerprint of its layer followed by its cache entries, in cache order. The regions are ordered so that every region comes after the regions it transforms or merges, and every
+ * region that is shared by multiple layers is stored only once.
+ */
+public final class RegionCheckpoint {
+    private static final int MAGIC = 0x50544743; // PTGC
+    private static final int VERSION = 2;
+
+    private RegionCheckpoint() {
+    }
+
+    /**
+     * Saves a checkpoint of the given region stack. The region stack may be used by other threads while the checkpoint
+     * is saved, in which case the checkpoint contains the cache contents of each region at some point during saving.
+     * The stream is not closed.
+     *
+     * @param region   The final region of the stack, which must be a {@link LazyRegion}
+     * @param progress The progress cursor to save
+     * @param out      The stream to write the checkpoint to
+     * @throws IOException When an I/O error occurs
+     */
+    public static void save(Region region, long progress, OutputStream out) throws IOException {
+        List<LazyRegion> regions = regions(region);
+
+        DeflaterOutputStream deflater = new DeflaterOutputStream(out);
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(deflater));
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeLong(worldSeed(regions));
+        data.writeLong(progress);
+        data.writeInt(regions.size());
+        for (LazyRegion lazy : regions) {
+            data.writeInt(lazy.getInputs().length);
+            data.writeInt(lazy.getMaxCacheSize());
+            data.writeUTF(layer(lazy));
+            data.writeLong(lazy.getSeed());
+            lazy.writeCache(data);
+        }
+        data.flush();
+        deflater.finish();
+    }
+
+    /**
+     * Saves a checkpoint of the region stack of the given generator.
+     *
+     * @see #save(Region, long, OutputStream)
+     */
+    public static void save(FractalGenerator<?> generator, long progress, OutputStream out) throws IOException {
+        save(generator.getRegion(), progress, out);
+    }
+
+    /**
+     * Restores a checkpoint into the given region stack, replacing the current cache contents of all regions. The
+     * checkpoint is read entirely before any cache is changed, so when an exception is thrown, the region stack is left
+     * as it was. The stream is not closed.
+     *
+     * @param region The final region of the stack, which must be a {@link LazyRegion}
+     * @param in     The stream to read the checkpoint from
+     * @return The saved progress cursor
+     * @throws IOException When an I/O error occurs, when the stream is not a checkpoint, or when the checkpoint was
+     *                     saved from a region stack of a different structure, world seed, layers or layer seeds
+     */
+    public static long restore(Region region, InputStream in) throws IOException {
+        List<LazyRegion> regions = regions(region);
+
+        DataInputStream data = new DataInputStream(new BufferedInputStream(new InflaterInputStream(in)));
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a region checkpoint");
+        }
+        int version = data.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported region checkpoint version " + version);
+        }
+        if (data.readLong() != worldSeed(regions)) {
+            throw new IOException("Region checkpoint was saved with a different world seed");
+        }
+        long progress = data.readLong();
+        if (data.readInt() != regions.size()) {
+            throw new IOException("Region checkpoint does not match the region stack");
+        }
+
+        long[][] keys = new long[regions.size()][];
+        int[][] vals = new int[regions.size()][];
+        for (int i = 0; i < regions.size(); i++) {
+            LazyRegion lazy = regions.get(i);
+            if (data.readInt() != lazy.getInputs().length || data.readInt() != lazy.getMaxCacheSize()) {
+                throw new IOException("Region checkpoint does not match the region stack");
+            }
+            if (!data.readUTF().equals(layer(lazy)) || data.readLong() != lazy.getSeed()) {
+                throw new IOException("Region checkpoint does not match the layers of the region stack");
+            }
+
+            int size = data.readInt();
+            if (size < 0) {
+                throw new IOException("Corrupt region checkpoint");
+            }
+            keys[i] = new long[size];
+            vals[i] = new int[size];
+            for (int j = 0; j < size; j++) {
+                keys[i][j] = data.readLong();
+                vals[i][j] = data.readInt();
+            }
+        }
+
+        for (int i = 0; i < regions.size(); i++) {
+            regions.get(i).restoreCache(keys[i], vals[i]);
+        }
+        return progress;
+    }
+
+    /**
+     * Restores a checkpoint into the region stack of the given generator.
+     *
+     * @see #restore(Region, InputStream)
+     */
+    public static long restore(FractalGenerator<?> generator, InputStream in) throws IOException {
+        return restore(generator.getRegion(), in);
+    }
+
+    // The final region is created last, by the same context as the rest of the stack
+    private static long worldSeed(List<LazyRegion> regions) {
+        return regions.get(regions.size() - 1).getWorldSeed();
+    }
+
+    private static String layer(LazyRegion region) {
+        String layer = region.getLayer();
+        return layer == null ? "" : layer;
+    }
+
+    private static List<LazyRegion> regions(Region region) {
+        if (!(region instanceof LazyRegion)) {
+            throw new IllegalArgumentException("Region is not a LazyRegion");
+        }
+
+        List<LazyRegion> regions = new ArrayList<>();
+        collect((LazyRegion) region, Collections.newSetFromMap(new IdentityHashMap<>()), regions);
+        return regions;
+    }
+
+    private static void collect(LazyRegion region, Set<LazyRegion> visited, List<LazyRegion> regions) {
+        if (!visited.add(region)) return;
+        for (LazyRegion input : region.getInputs()) {
+            collect(input, visited, regions);
+        }
+        regions.add(region);
+    }
+}
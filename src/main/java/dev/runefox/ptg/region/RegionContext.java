@@ -15,6 +15,8 @@ package dev.runefox.ptg.region;
 
 import dev.runefox.ptg.noise.Noise2D;
 import dev.runefox.ptg.region.layer.*;
+import dev.runefox.ptg.region.util.Footprint;
+import dev.runefox.ptg.region.util.ValueSet;
 
 
 /**
@@ -52,6 +54,71 @@ public interface RegionContext<R extends Region> {
      */
     R create(Region generator, R regionA, R regionB);
 
+    /**
+     * Creates a wrapping generator {@link Region} that is known to generate only the specified values. A context may
+     * use this to replace a constant region by a cheaper one. By default, the values are ignored.
+     *
+     * @param generator The underlying {@link Region} generator.
+     * @param values    The values the generator can generate.
+     * @return The created {@link Region}
+     */
+    default R create(Region generator, ValueSet values) {
+        return create(generator);
+    }
+
+    /**
+     * Creates a wrapping transformer {@link Region} that is known to generate only the specified values. A context may
+     * use this to replace a constant region by a cheaper one. By default, the values are ignored.
+     *
+     * @param generator The underlying {@link Region} generator.
+     * @param region    The {@link Region} that's being transformed.
+     * @param values    The values the generator can generate.
+     * @return The created {@link Region}
+     */
+    default R create(Region generator, R region, ValueSet values) {
+        return create(generator, region);
+    }
+
+    /**
+     * Creates a wrapping transformer {@link Region} that is known to generate only the specified values, and that
+     * reads the transformed region within the given footprint. A context may use the footprint to search regions for
+     * values. By default, the footprint is ignored.
+     *
+     * @param generator The underlying {@link Region} generator.
+     * @param region    The {@link Region} that's being transformed.
+     * @param values    The values the generator can generate.
+     * @param footprint The footprint of the layer, or null if the layer has no footprint.
+     * @return The created {@link Region}
+     */
+    default R create(Region generator, R region, ValueSet values, Footprint footprint) {
+        return create(generator, region, values);
+    }
+
+    /**
+     * Creates a wrapping merger {@link Region} that is known to generate only the specified values. A context may use
+     * this to replace a constant region by a cheaper one. By default, the values are ignored.
+     *
+     * @param generator The underlying {@link Region} generator.
+     * @param regionA   The first {@link Region} that's being merged.
+     * @param regionB   The second {@link Region} that's being merged.
+     * @param values    The values the generator can generate.
+     * @return The created {@link Region}
+     */
+    default R create(Region generator, R regionA, R regionB, ValueSet values) {
+        return create(generator, regionA, regionB);
+    }
+
+    /**
+     * Returns the values a region created by this context can generate, as far as they are known. Returns {@link
+     * ValueSet#ANY} by default.
+     *
+     * @param region The region.
+     * @return The values of the region.
+     */
+    default ValueSet values(R region) {
+        return ValueSet.ANY;
+    }
+
     /**
      * Returns the world seed this context relies on, which is used to create {@link Region} factories.
      *
@@ -67,6 +134,34 @@ public interface RegionContext<R extends Region> {
      */
     RegionRNG getRNG(long seed);
 
+    /**
+     * Returns whether layers built in this context should be evaluated by specialized {@link Region}s. A specialized
+     * region is a copy of the region class, defined at runtime, which is only used by one layer. This lets the JIT
+     * inline the layer into the region that evaluates it, at the cost of defining one class per layer when building
+     * regions. Returns {@code false} by default.
+     *
+     * @return True when layers should be evaluated by specialized regions.
+     */
+    default boolean specializeLayers() {
+        return false;
+    }
+
+    /**
+     * Wraps a {@link RegionFactory} so that it builds its region at most once per build. When a factory is used by
+     * multiple layers, for example as input of two merges, building the final region would otherwise build a separate
+     * copy of that factory's region, with a separate cache, for each layer that uses it. A memoized factory instead
+     * builds one region that all layers share. Separate calls to {@link RegionFactory#buildRegion()} on the final
+     * factory still build separate regions. The factories created by layers are memoized already.
+     *
+     * @param factory The factory to memoize.
+     * @return The memoized factory, or the given factory if it is memoized already.
+     */
+    default RegionFactory<R> memoize(RegionFactory<R> factory) {
+        if (factory instanceof MemoizedRegionFactory)
+            return factory;
+        return new MemoizedRegionFactory<>(factory);
+    }
+
     /**
      * Creates a {@link RegionBuilder} by extending the specified {@link RegionFactory}.
      *
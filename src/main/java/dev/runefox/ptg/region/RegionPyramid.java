@@ -0,0 +1,119 @@
+/*
+ * Copyright 2020-2026 O. W. Nankman
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "
+ * AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package dev.runefox.ptg.region;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The levels of detail of a region, as built by {@link RegionBuilder#buildPyramid()}. Level 0 is the final region, and
+ * every next level is the region right before a zoom layer was applied, so that one cell of a level covers {@code 1 <<
+ * getShift(level)} by {@code 1 << getShift(level)} cells of the final region. Sampling a coarse level for a zoomed out
+ * view is as cheap as sampling the final region, but needs fewer samples, and much fewer layers are evaluated to
+ * compute one sample.
+ * <p>
+ * All levels are built together and share their regions: a coarse level is the very region that the finer levels zoom
+ * in on. The exception are the levels within a multi-level zoom, such as {@code zoom(3)}. Such a zoom evaluates all
+ * its levels at once and caches only the final one, so its intermediate levels are built as separate regions, with
+ * their own caches. They generate the same values, but sampling both a fused zoom and its intermediate levels
+ * evaluates those levels twice. When two levels are separated by a {@linkplain dev.runefox.ptg.region.layer.ZoomLayer zoom layer} or one of
+ * its subclasses and nothing else, the value of a coarse cell equals the value of the finer cell in its lower corner,
+ * so that a zoomed out view shows the same values as the final region. Voronoi zooms move their cells around, so their
+ * levels only match approximately.
+ *
+ * @param <R> The region type
+ */
+public final class RegionPyramid<R extends Region> {
+    private final List<R> levels;
+    private final int[] shifts;
+
+    private RegionPyramid(List<R> levels, int[] shifts) {
+        this.levels = levels;
+        this.shifts = shifts;
+    }
+
+    /**
+     * Builds a pyramid.
+     *
+     * @param factory     The factory of the final region
+     * @param levels      The factories of the coarser levels, from coarse to fine
+     * @param levelShifts The zoom shift applied after each level
+     */
+    static <R extends Region> RegionPyramid<R> build(RegionFactory<R> factory, List<RegionFactory<R>> levels, int[] levelShifts) {
+        int count = levels.size() + 1;
+        int[] shifts = new int[count];
+        for (int i = 1; i < count; i++) {
+            shifts[i] = shifts[i - 1] + levelShifts[count - 1 - i];
+        }
+
+        List<R> regions = MemoizedRegionFactory.build(() -> {
+            List<R> built = new ArrayList<>(count);
+            built.add(factory.buildRegion());
+            for (int i = 1; i < count; i++) {
+                built.add(levels.get(count - 1 - i).buildRegion());
+            }
+            return built;
+        });
+        return new RegionPyramid<>(List.copyOf(regions), shifts);
+    }
+
+    /**
+     * Returns the amount of levels in this pyramid, which is at least 1.
+     */
+    public int getLevelCount() {
+        return levels.size();
+    }
+
+    /**
+     * Returns the region of the given level, where level 0 is the final region.
+     */
+    public R getLevel(int level) {
+        return levels.get(level);
+    }
+
+    /**
+     * Returns the amount of bits a coordinate of the final region is shifted to obtain the coordinate in the given
+     * level.
+     */
+    public int getShift(int level) {
+        return shifts[level];
+    }
+
+    /**
+     * Returns the coarsest level of which one cell covers at most the given amount of cells of the final region along
+     * each axis. For a map view, that is the amount of blocks per pixel.
+     *
+     * @param cellsPerSample The amount of cells of the final region covered by one sample
+     * @return The coarsest level that has enough detail
+     */
+    public int levelFor(int cellsPerSample) {
+        int level = 0;
+        while (level + 1 < shifts.length && 1L << shifts[level + 1] <= cellsPerSample) {
+            level++;
+        }
+        return level;
+    }
+
+    /**
+     * Returns the value of the cell in the given level that covers the given coordinates of the final region.
+     *
+     * @param level The level
+     * @param x     The X coordinate in the final region
+     * @param z     The Z coordinate in the final region
+     * @return The value of the level at the coordinates
+     */
+    public int getValue(int level, int x, int z) {
+        int shift = shifts[level];
+        return levels.get(level).getValue(x >> shift, z >> shift);
+    }
+}
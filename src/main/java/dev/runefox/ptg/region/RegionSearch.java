@@ -0,0 +1,195 @@
+/*
+ * Copyright 2020-2026 O. W. Nankman
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "
+ * AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package dev.runefox.ptg.region;
+
+import dev.runefox.ptg.region.util.Footprint;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.IntPredicate;
+
+/**
+ * Searches a {@link LazyRegion} for the nearest cell with a certain value, from coarse to fine. The search follows the
+ * {@linkplain LazyRegion#getSource() sources} of the region for as long as the transforming layers have a {@link
+ * Footprint}, like the zoom layers do, down to the coarsest such region. It then only refines the coarse cells that
+ * have the searched value, since no finer cell outside their footprints can have that value. Large areas where the
+ * value does not occur are thus ruled out by sampling only a few coarse cells.
+ * <p>
+ * Cells are visited in order of their (lower bound) distance to the search origin, so the first matching cell found is
+ * the nearest one, by euclidean distance. A search instance can be reused for any amount of searches, also from
+ * multiple threads at once.
+ */
+public final class RegionSearch {
+    private final LazyRegion[] levels;
+    private final Footprint[] footprints;
+
+    /**
+     * Creates a search for the given region.
+     *
+     * @param region The region to search
+     */
+    public RegionSearch(LazyRegion region) {
+        List<LazyRegion> levels = new ArrayList<>();
+        List<Footprint> footprints = new ArrayList<>();
+        levels.add(region);
+        while (region.getSource() != null) {
+            footprints.add(region.getFootprint());
+            region = region.getSource();
+            levels.add(region);
+        }
+        this.levels = levels.toArray(new LazyRegion[0]);
+        this.footprints = footprints.toArray(new Footprint[0]);
+    }
+
+    /**
+     * Returns the amount of regions this search uses, including the searched region itself. When this is 1, the search
+     * does no better than testing every cell.
+     */
+    public int getLevelCount() {
+        return levels.length;
+    }
+
+    /**
+     * Finds the nearest cell with the given value.
+     *
+     * @param x      The X coordinate to search from
+     * @param z      The Z coordinate to search from
+     * @param radius The maximum distance to search
+     * @param value  The value to search
+     * @return The coordinates of the nearest cell, as {@code {x, z}}, or null if there is no such cell within the
+     *         radius
+     */
+    public int[] findNearest(int x, int z, int radius, int value) {
+        return findNearest(x, z, radius, v -> v == value);
+    }
+
+    /**
+     * Finds the nearest cell with a value that matches the given predicate.
+     *
+     * @param x         The X coordinate to search from
+     * @param z         The Z coordinate to search from
+     * @param radius    The maximum distance to search
+     * @param predicate The predicate to test values with
+     * @return The coordinates of the nearest cell, as {@code {x, z}}, or null if there is no such cell within the
+     *         radius
+     */
+    public int[] findNearest(int x, int z, int radius, IntPredicate predicate) {
+        if (radius < 0) {
+            throw new IllegalArgumentException("Radius must not be negative.");
+        }
+
+        // Regions that don't generate any matching value can't contain any matching cell
+        for (LazyRegion level : levels) {
+            if (!level.getValues().anyMatch(predicate)) return null;
+        }
+
+        long maxDist = (long) radius * radius;
+        int top = levels.length - 1;
+
+        // Find the coarse cells that are read by the cells within the radius
+        int minX = x - radius, maxX = x + radius;
+        int minZ = z - radius, maxZ = z + radius;
+        for (int i = 0; i < top; i++) {
+            Footprint footprint = footprints[i];
+            minX = footprint.inputMin(minX);
+            maxX = footprint.inputMax(maxX);
+            minZ = footprint.inputMin(minZ);
+            maxZ = footprint.inputMax(maxZ);
+        }
+
+        PriorityQueue<Cell> queue = new PriorityQueue<>();
+        LongOpenHashSet[] visited = new LongOpenHashSet[levels.length];
+        for (int i = 0; i < levels.length; i++) {
+            visited[i] = new LongOpenHashSet();
+        }
+
+        for (int cz = minZ; cz <= maxZ; cz++) {
+            for (int cx = minX; cx <= maxX; cx++) {
+                offer(queue, top, cx, cz, x, z, maxDist);
+            }
+        }
+
+        Cell cell;
+        while ((cell = queue.poll()) != null) {
+            if (!predicate.test(levels[cell.level].getValue(cell.x, cell.z))) continue;
+            if (cell.level == 0) {
+                return new int[] {cell.x, cell.z};
+            }
+
+            // Refine the cell: visit all finer cells that read it
+            int level = cell.level - 1;
+            Footprint footprint = footprints[level];
+            int fx0 = footprint.outputMin(cell.x), fx1 = footprint.outputMax(cell.x);
+            int fz0 = footprint.outputMin(cell.z), fz1 = footprint.outputMax(cell.z);
+            for (int fz = fz0; fz <= fz1; fz++) {
+                for (int fx = fx0; fx <= fx1; fx++) {
+                    if (visited[level].add(LazyRegion.asLong(fx, fz))) {
+                        offer(queue, level, fx, fz, x, z, maxDist);
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private void offer(PriorityQueue<Cell> queue, int level, int cx, int cz, int x, int z, long maxDist) {
+        // Find the area of cells in the searched region that read this cell
+        int minX = cx, maxX = cx;
+        int minZ = cz, maxZ = cz;
+        for (int i = level - 1; i >= 0; i--) {
+            Footprint footprint = footprints[i];
+            minX = footprint.outputMin(minX);
+            maxX = footprint.outputMax(maxX);
+            minZ = footprint.outputMin(minZ);
+            maxZ = footprint.outputMax(maxZ);
+        }
+
+        long dx = distance(x, minX, maxX);
+        long dz = distance(z, minZ, maxZ);
+        long dist = dx * dx + dz * dz;
+        if (dist <= maxDist) {
+            queue.add(new Cell(level, cx, cz, dist));
+        }
+    }
+
+    private static long distance(int x, int min, int max) {
+        if (x < min) return (long) min - x;
+        if (x > max) return (long) x - max;
+        return 0;
+    }
+
+    private static final class Cell implements Comparable<Cell> {
+        final int level;
+        final int x;
+        final int z;
+        final long dist;
+
+        Cell(int level, int x, int z, long dist) {
+            this.level = level;
+            this.x = x;
+            this.z = z;
+            this.dist = dist;
+        }
+
+        // Nearest first, finer levels first so that exact cells win ties, then by coordinates to be deterministic
+        @Override
+        public int compareTo(Cell o) {
+            if (dist != o.dist) return Long.compare(dist, o.dist);
+            if (level != o.level) return Integer.compare(level, o.level);
+            if (z != o.z) return Integer.compare(z, o.z);
+            return Integer.compare(x, o.x);
+        }
+    }
+}
@@ -14,13 +14,61 @@
 package dev.runefox.ptg.region.layer;
 
 import dev.runefox.ptg.region.RegionRNG;
+import dev.runefox.ptg.region.util.ValueSet;
 
 @FunctionalInterface
 public interface ArithmeticMergerLayer extends FilterMergerLayer {
+    /** Multiplies the values, zero in region A absorbs region B. */
+    ArithmeticMergerLayer MULTIPLY = absorbing(0, (a, b) -> a * b);
+
+    /** Takes the minimum value, {@link Integer#MIN_VALUE} in region A absorbs region B. */
+    ArithmeticMergerLayer MIN = absorbing(Integer.MIN_VALUE, Math::min);
+
+    /** Takes the maximum value, {@link Integer#MAX_VALUE} in region A absorbs region B. */
+    ArithmeticMergerLayer MAX = absorbing(Integer.MAX_VALUE, Math::max);
+
+    /** Takes the bitwise AND of the values, zero in region A absorbs region B. */
+    ArithmeticMergerLayer AND = absorbing(0, (a, b) -> a & b);
+
+    /** Takes the bitwise OR of the values, -1 (all bits set) in region A absorbs region B. */
+    ArithmeticMergerLayer OR = absorbing(-1, (a, b) -> a | b);
+
     int compute(int a, int b);
 
     @Override
     default int generate(RegionRNG rng, int a, int b) {
         return compute(a, b);
     }
+
+    @Override
+    default ValueSet values(ValueSet a, ValueSet b) {
+        return a.combine(b, this::compute);
+    }
+
+    /**
+     * Creates an arithmetic layer that declares an absorbing value: when region A has this value, the result must not
+     * depend on region B, and region B is not evaluated.
+     *
+     * @param absorbingValue The absorbing value
+     * @param layer          The arithmetic function
+     * @return The created layer
+     */
+    static ArithmeticMergerLayer absorbing(int absorbingValue, ArithmeticMergerLayer layer) {
+        return new ArithmeticMergerLayer() {
+            @Override
+            public int compute(int a, int b) {
+                return layer.compute(a, b);
+            }
+
+            @Override
+            public boolean absorbs(int a) {
+                return a == absorbingValue || layer.absorbs(a);
+            }
+
+            @Override
+            public ValueSet values(ValueSet a, ValueSet b) {
+                return layer.values(a, b);
+            }
+        };
+    }
 }
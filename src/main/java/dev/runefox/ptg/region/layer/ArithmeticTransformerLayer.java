@@ -14,6 +14,7 @@
 package dev.runefox.ptg.region.layer;
 
 import dev.runefox.ptg.region.RegionRNG;
+import dev.runefox.ptg.region.util.ValueSet;
 
 @FunctionalInterface
 public interface ArithmeticTransformerLayer extends FilterTransformerLayer {
@@ -23,4 +24,9 @@ public interface ArithmeticTransformerLayer extends FilterTransformerLayer {
     default int generate(RegionRNG rng, int value) {
         return compute(value);
     }
+
+    @Override
+    default ValueSet values(ValueSet input) {
+        return input.map(this::compute);
+    }
 }
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2020-2026 O. W. Nankman
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "
+ * AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+
+package dev.runefox.ptg.region.layer;
+
+import dev.runefox.ptg.region.LayerRegion;
+import dev.runefox.ptg.region.Region;
+import dev.runefox.ptg.region.RegionRNG;
+
+/**
+ * The {@link Region} that evaluates a {@link BishopTransformerLayer} on top of another {@link Region}, reading the
+ * neighbourhood of every cell through the table of {@link StencilRegion}. Like {@link TransformerRegion}, this class
+ * doubles as the template that {@link LayerRegions} clones for every specialized layer.
+ */
+final class BishopRegion extends StencilRegion implements LayerRegion {
+    private final BishopTransformerLayer layer;
+    private final RegionRNG rng;
+
+    BishopRegion(BishopTransformerLayer layer, RegionRNG rng, Region region) {
+        super(region);
+        this.layer = layer;
+        this.rng = rng;
+    }
+
+    @Override
+    public Object getLayer() {
+        return layer;
+    }
+
+    @Override
+    public RegionRNG getRNG() {
+        return rng;
+    }
+
+    @Override
+    public int getValue(int x, int z) {
+        return layer.generate(
+            rng.position(x, z),
+            read(x, z),
+            read(x - 1, z - 1),
+            read(x + 1, z - 1),
+            read(x + 1, z + 1),
+            read(x - 1, z + 1)
+        );
+    }
+}
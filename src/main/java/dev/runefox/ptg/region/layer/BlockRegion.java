@@ -0,0 +1,67 @@
+/*
+ * Copyright 2020-2026 O. W. Nankman
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "
+ * AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package dev.runefox.ptg.region.layer;
+
+import dev.runefox.ptg.region.Region;
+
+import java.util.Arrays;
+
+/**
+ * A {@link Region} that generates its values in aligned blocks of 16x16 cells at once, for layers that share work
+ * between neighbouring cells. Recently generated blocks are kept in a direct-mapped table of 16 by 2 blocks, which
+ * covers strips of 256 cells wide, so that cells requested one at a time, as a {@code LazyRegion} does, mostly come from
+ * a block that is generated already. Like the RNGs of layers, a block region must not be used by multiple threads at
+ * once.
+ */
+abstract class BlockRegion implements Region {
+    static final int BLOCK_BITS = 4;
+    static final int BLOCK_SIZE = 1 << BLOCK_BITS;
+    private static final int BLOCK_MASK = BLOCK_SIZE - 1;
+
+    private static final int TABLE_X_BITS = 4;
+    private static final int TABLE_Z_BITS = 1;
+    private static final int TABLE_X_MASK = (1 << TABLE_X_BITS) - 1;
+    private static final int TABLE_Z_MASK = (1 << TABLE_Z_BITS) - 1;
+
+    // Block coordinates fit in 28 bits, so this key never matches a block
+    private static final long EMPTY = Long.MAX_VALUE;
+
+    private final long[] keys = new long[1 << TABLE_X_BITS + TABLE_Z_BITS];
+    private final int[][] blocks = new int[keys.length][BLOCK_SIZE * BLOCK_SIZE];
+
+    BlockRegion() {
+        Arrays.fill(keys, EMPTY);
+    }
+
+    /**
+     * Generates the block of cells from {@code (x0, z0)} up to but excluding {@code (x0 + 16, z0 + 16)}. The value of
+     * cell {@code (x0 + i, z0 + j)} is stored at index {@code j * 16 + i}.
+     */
+    protected abstract void generateBlock(int x0, int z0, int[] out);
+
+    @Override
+    public int getValue(int x, int z) {
+        int bx = x >> BLOCK_BITS;
+        int bz = z >> BLOCK_BITS;
+        int slot = (bz & TABLE_Z_MASK) << TABLE_X_BITS | bx & TABLE_X_MASK;
+        long key = (long) bx << 32 | bz & 0xFFFFFFFFL;
+
+        int[] block = blocks[slot];
+        if (keys[slot] != key) {
+            generateBlock(bx << BLOCK_BITS, bz << BLOCK_BITS, block);
+            keys[slot] = key;
+        }
+        return block[(z & BLOCK_MASK) << BLOCK_BITS | x & BLOCK_MASK];
+    }
+}
@@ -14,10 +14,29 @@
 package dev.runefox.ptg.region.layer;
 
 import dev.runefox.ptg.region.Region;
+import dev.runefox.ptg.region.RegionContext;
+import dev.runefox.ptg.region.RegionFactory;
 import dev.runefox.ptg.region.RegionRNG;
+import dev.runefox.ptg.region.util.ValueSet;
 
 @FunctionalInterface
 public interface CastleTransformerLayer extends TransformerLayer {
+    // Layers that read the transformed region only through the neighbourhood are evaluated by a region that remembers
+    // recently read cells, so that every cell of the transformed region is read about once rather than five times
+    @Override
+    default <R extends Region> RegionFactory<R> factory(RegionContext<R> ctx, long seed, RegionFactory<R> regionFactory) {
+        if (!LayerRegions.inheritsGenerate(this, CastleTransformerLayer.class)) {
+            return TransformerLayer.super.factory(ctx, seed, regionFactory);
+        }
+        return ctx.memoize(() -> {
+            RegionRNG rng = ctx.getRNG(seed);
+            R region = regionFactory.buildRegion();
+            ValueSet input = ctx.values(region);
+            if (isIdentity(input)) return region;
+            return ctx.create(LayerRegions.castle(ctx, this, rng, region), region, values(input), footprint());
+        });
+    }
+
     @Override
     default int generate(RegionRNG rng, Region region, int x, int z) {
         return generate(
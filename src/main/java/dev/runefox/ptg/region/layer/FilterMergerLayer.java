@@ -15,13 +15,51 @@ package dev.runefox.ptg.region.layer;
 
 import dev.runefox.ptg.region.Region;
 import dev.runefox.ptg.region.RegionRNG;
+import dev.runefox.ptg.region.util.IntSelector;
 
 @FunctionalInterface
 public interface FilterMergerLayer extends MergerLayer {
+    // Region B is only evaluated when value A does not absorb it, this can save evaluating the entire stack of region B
     @Override
     default int generate(RegionRNG rng, Region regionA, Region regionB, int x, int z) {
-        return generate(rng, regionA.getValue(x, z), regionB.getValue(x, z));
+        int a = regionA.getValue(x, z);
+        if (absorbs(a)) return generate(rng, a, a);
+        return generate(rng, a, regionB.getValue(x, z));
     }
 
     int generate(RegionRNG rng, int a, int b);
+
+    /**
+     * Returns whether value A absorbs value B, that is, whether {@link #generate(RegionRNG, int, int)} returns the same
+     * result for value A regardless of value B (like zero does in a multiplication). When this returns true, region B
+     * is not evaluated, and the result is computed with value A in place of value B. Returns false by default.
+     *
+     * @param a The value of region A
+     * @return True if the result does not depend on region B
+     */
+    default boolean absorbs(int a) {
+        return false;
+    }
+
+    /**
+     * Returns a layer that applies this layer only where the value of region A is selected, and keeps the value of
+     * region A elsewhere. Region B is only evaluated where the value of region A is selected.
+     *
+     * @param selector Selects the values of region A to apply this layer to
+     * @return The created layer
+     */
+    default FilterMergerLayer selective(IntSelector selector) {
+        FilterMergerLayer layer = this;
+        return new FilterMergerLayer() {
+            @Override
+            public int generate(RegionRNG rng, int a, int b) {
+                return selector.mustReplace(a) ? layer.generate(rng, a, b) : a;
+            }
+
+            @Override
+            public boolean absorbs(int a) {
+                return !selector.mustReplace(a) || layer.absorbs(a);
+            }
+        };
+    }
 }
@@ -23,4 +23,28 @@ public interface FloatArithmeticMergerLayer extends FloatFilterMergerLayer {
     default float generate(RegionRNG rng, float a, float b) {
         return compute(a, b);
     }
+
+    /**
+     * Creates an arithmetic layer that declares an absorbing value: when region A has this value, the result must not
+     * depend on region B, and region B is not evaluated. Note that few floating point operations have a true absorbing
+     * value, because of infinities and NaN: {@code 0 * Infinity} is NaN, and {@code Math.min(-Infinity, NaN)} is NaN.
+     * Only declare an absorbing value if region B can't produce such values.
+     *
+     * @param absorbingValue The absorbing value
+     * @param layer          The arithmetic function
+     * @return The created layer
+     */
+    static FloatArithmeticMergerLayer absorbing(float absorbingValue, FloatArithmeticMergerLayer layer) {
+        return new FloatArithmeticMergerLayer() {
+            @Override
+            public float compute(float a, float b) {
+                return layer.compute(a, b);
+            }
+
+            @Override
+            public boolean absorbs(float a) {
+                return a == absorbingValue || layer.absorbs(a);
+            }
+        };
+    }
 }
@@ -15,13 +15,51 @@ package dev.runefox.ptg.region.layer;
 
 import dev.runefox.ptg.region.Region;
 import dev.runefox.ptg.region.RegionRNG;
+import dev.runefox.ptg.region.util.FloatSelector;
 
 @FunctionalInterface
 public interface FloatFilterMergerLayer extends MergerLayer {
+    // Region B is only evaluated when value A does not absorb it, this can save evaluating the entire stack of region B
     @Override
     default int generate(RegionRNG rng, Region regionA, Region regionB, int x, int z) {
-        return Float.floatToRawIntBits(generate(rng, regionA.getFPValue(x, z), regionB.getFPValue(x, z)));
+        float a = regionA.getFPValue(x, z);
+        if (absorbs(a)) return Float.floatToRawIntBits(generate(rng, a, a));
+        return Float.floatToRawIntBits(generate(rng, a, regionB.getFPValue(x, z)));
     }
 
     float generate(RegionRNG rng, float a, float b);
+
+    /**
+     * Returns whether value A absorbs value B, that is, whether {@link #generate(RegionRNG, float, float)} returns the
+     * same result for value A regardless of value B. When this returns true, region B is not evaluated, and the result
+     * is computed with value A in place of value B. Returns false by default.
+     *
+     * @param a The value of region A
+     * @return True if the result does not depend on region B
+     */
+    default boolean absorbs(float a) {
+        return false;
+    }
+
+    /**
+     * Returns a layer that applies this layer only where the value of region A is selected, and keeps the value of
+     * region A elsewhere. Region B is only evaluated where the value of region A is selected.
+     *
+     * @param selector Selects the values of region A to apply this layer to
+     * @return The created layer
+     */
+    default FloatFilterMergerLayer selective(FloatSelector selector) {
+        FloatFilterMergerLayer layer = this;
+        return new FloatFilterMergerLayer() {
+            @Override
+            public float generate(RegionRNG rng, float a, float b) {
+                return selector.mustReplace(a) ? layer.generate(rng, a, b) : a;
+            }
+
+            @Override
+            public boolean absorbs(float a) {
+                return !selector.mustReplace(a) || layer.absorbs(a);
+            }
+        };
+    }
 }
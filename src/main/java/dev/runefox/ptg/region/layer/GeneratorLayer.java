@@ -17,15 +17,23 @@ import dev.runefox.ptg.region.Region;
 import dev.runefox.ptg.region.RegionContext;
 import dev.runefox.ptg.region.RegionFactory;
 import dev.runefox.ptg.region.RegionRNG;
+import dev.runefox.ptg.region.util.ValueSet;
 
 @FunctionalInterface
 public interface GeneratorLayer {
     int generate(RegionRNG rng, int x, int z);
 
+    /**
+     * Returns the values this layer can generate. Returns {@link ValueSet#ANY} by default.
+     */
+    default ValueSet values() {
+        return ValueSet.ANY;
+    }
+
     default <R extends Region> RegionFactory<R> factory(RegionContext<R> ctx, long seed) {
-        return () -> {
+        return ctx.memoize(() -> {
             RegionRNG rng = ctx.getRNG(seed);
-            return ctx.create((x, z) -> generate(rng.position(x, z), x, z));
-        };
+            return ctx.create(LayerRegions.generator(ctx, this, rng), values());
+        });
     }
 }
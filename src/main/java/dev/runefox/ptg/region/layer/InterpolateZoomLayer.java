@@ -14,6 +14,8 @@
 package dev.runefox.ptg.region.layer;
 
 import dev.runefox.ptg.region.RegionRNG;
+import dev.runefox.ptg.region.util.Footprint;
+import dev.runefox.ptg.region.util.ValueSet;
 
 public class InterpolateZoomLayer extends ZoomLayer {
     public static final InterpolateZoomLayer INTEGER = new InterpolateZoomLayer();
@@ -40,6 +42,20 @@ public class InterpolateZoomLayer extends ZoomLayer {
     protected InterpolateZoomLayer() {
     }
 
+    // Interpolation creates new values, unless all values are the same (barring overflow and rounding). Subclasses may
+    // interpolate randomly, so we only know the values of the built-in instances.
+    @Override
+    public ValueSet values(ValueSet input) {
+        if (this != INTEGER && this != FLOAT || !input.isConstant()) return ValueSet.ANY;
+        int v = input.constant();
+        return ValueSet.of(v, pickRandom(null, v, v), pickRandom(null, v, v, v, v));
+    }
+
+    @Override
+    public Footprint footprint() {
+        return null;
+    }
+
     @Override
     protected int pickRandom(RegionRNG rng, int a, int b, int c, int d) {
         // avg(avg(a, b), avg(c, d)) = avg(a, b, c, d)
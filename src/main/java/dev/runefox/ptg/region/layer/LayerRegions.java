@@ -0,0 +1,159 @@
+/*
+ * Copyright 2020-2026 O. W. Nankman
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "
+ * AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package dev.runefox.ptg.region.layer;
+
+import dev.runefox.ptg.region.Region;
+import dev.runefox.ptg.region.RegionContext;
+import dev.runefox.ptg.region.RegionRNG;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Binds layers to the {@link Region}s that evaluate them. When a {@link RegionContext} asks for {@linkplain
+ * RegionContext#specializeLayers() specialized layers}, every bound layer gets its own copy of the region class, defined
+ * as a hidden class from the bytecode of the template. Every copy has its own profile, so the JIT sees one layer type
+ * and one parent region type at the call sites inside it and can inline the layer into the region that evaluates it.
+ * When the template bytecode can't be read or defined, the shared template class is used instead.
+ */
+final class LayerRegions {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final Template GENERATOR = new Template(
+        GeneratorRegion.class,
+        MethodType.methodType(void.class, GeneratorLayer.class, RegionRNG.class)
+    );
+    private static final Template TRANSFORMER = new Template(
+        TransformerRegion.class,
+        MethodType.methodType(void.class, TransformerLayer.class, RegionRNG.class, Region.class)
+    );
+    private static final Template MERGER = new Template(
+        MergerRegion.class,
+        MethodType.methodType(void.class, MergerLayer.class, RegionRNG.class, Region.class, Region.class)
+    );
+    private static final Template CASTLE = new Template(
+        CastleRegion.class,
+        MethodType.methodType(void.class, CastleTransformerLayer.class, RegionRNG.class, Region.class)
+    );
+    private static final Template BISHOP = new Template(
+        BishopRegion.class,
+        MethodType.methodType(void.class, BishopTransformerLayer.class, RegionRNG.class, Region.class)
+    );
+
+    private LayerRegions() {
+    }
+
+    static Region generator(RegionContext<?> ctx, GeneratorLayer layer, RegionRNG rng) {
+        if (ctx.specializeLayers()) {
+            Region region = GENERATOR.instantiate(layer, rng);
+            if (region != null) return region;
+        }
+        return new GeneratorRegion(layer, rng);
+    }
+
+    static Region transformer(RegionContext<?> ctx, TransformerLayer layer, RegionRNG rng, Region region) {
+        if (ctx.specializeLayers()) {
+            Region specialized = TRANSFORMER.instantiate(layer, rng, region);
+            if (specialized != null) return specialized;
+        }
+        return new TransformerRegion(layer, rng, region);
+    }
+
+    static Region merger(RegionContext<?> ctx, MergerLayer layer, RegionRNG rng, Region regionA, Region regionB) {
+        if (ctx.specializeLayers()) {
+            Region specialized = MERGER.instantiate(layer, rng, regionA, regionB);
+            if (specialized != null) return specialized;
+        }
+        return new MergerRegion(layer, rng, regionA, regionB);
+    }
+
+    static Region castle(RegionContext<?> ctx, CastleTransformerLayer layer, RegionRNG rng, Region region) {
+        if (ctx.specializeLayers()) {
+            Region specialized = CASTLE.instantiate(layer, rng, region);
+            if (specialized != null) return specialized;
+        }
+        return new CastleRegion(layer, rng, region);
+    }
+
+    static Region bishop(RegionContext<?> ctx, BishopTransformerLayer layer, RegionRNG rng, Region region) {
+        if (ctx.specializeLayers()) {
+            Region specialized = BISHOP.instantiate(layer, rng, region);
+            if (specialized != null) return specialized;
+        }
+        return new BishopRegion(layer, rng, region);
+    }
+
+    /**
+     * Returns whether the given layer inherits {@link TransformerLayer#generate(RegionRNG, Region, int, int)} from the
+     * given type, that is, whether a region specific to that type may evaluate the layer without calling it.
+     */
+    static boolean inheritsGenerate(TransformerLayer layer, Class<? extends TransformerLayer> type) {
+        return declaringClass(layer, RegionRNG.class, Region.class, int.class, int.class) == type;
+    }
+
+    /**
+     * Returns whether the given layer inherits {@link FilterTransformerLayer#generate(RegionRNG, int)} from the given
+     * type, that is, whether the type knows what the layer does to a value.
+     */
+    static boolean inheritsFilter(FilterTransformerLayer layer, Class<? extends FilterTransformerLayer> type) {
+        return declaringClass(layer, RegionRNG.class, int.class) == type;
+    }
+
+    private static Class<?> declaringClass(Object layer, Class<?>... parameterTypes) {
+        try {
+            return layer.getClass().getMethod("generate", parameterTypes).getDeclaringClass();
+        } catch (NoSuchMethodException exc) {
+            throw new AssertionError(exc);
+        }
+    }
+
+    private static final class Template {
+        private final Class<? extends Region> type;
+        private final MethodType constructor;
+        private volatile byte[] bytecode;
+        private volatile boolean failed;
+
+        Template(Class<? extends Region> type, MethodType constructor) {
+            this.type = type;
+            this.constructor = constructor;
+        }
+
+        private byte[] bytecode() throws IOException {
+            byte[] bytes = bytecode;
+            if (bytes == null) {
+                try (InputStream in = type.getResourceAsStream(type.getSimpleName() + ".class")) {
+                    if (in == null) throw new IOException("Missing bytecode of " + type.getName());
+                    bytes = in.readAllBytes();
+                }
+                bytecode = bytes;
+            }
+            return bytes;
+        }
+
+        Region instantiate(Object... args) {
+            if (failed) return null;
+            try {
+                // Not strongly linked to the class loader, so the copy is unloaded along with the region using it
+                MethodHandles.Lookup lookup = LOOKUP.defineHiddenClass(bytecode(), true);
+                MethodHandle init = lookup.findConstructor(lookup.lookupClass(), constructor);
+                return (Region) init.invokeWithArguments(args);
+            } catch (Throwable exc) {
+                failed = true;
+                return null;
+            }
+        }
+    }
+}
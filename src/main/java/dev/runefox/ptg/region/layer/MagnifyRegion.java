@@ -0,0 +1,133 @@
+/*
+ * Copyright 2020-2026 O. W. Nankman
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "
+ * AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package dev.runefox.ptg.region.layer;
+
+import dev.runefox.ptg.region.LayerRegion;
+import dev.runefox.ptg.region.Region;
+import dev.runefox.ptg.region.RegionRNG;
+
+/**
+ * The {@link Region} that evaluates multiple levels of a {@link ZoomLayer} at once. For every block of 16x16 output
+ * cells, it reads the window of parent cells that the block depends on once, and zooms it level by level through small
+ * arrays, with the RNG of each level. The intermediate levels are never stored in a {@code LazyRegion}, which saves a
+ * cache lookup and insertion per level for every output cell.
+ */
+final class MagnifyRegion extends BlockRegion implements LayerRegion {
+    private final ZoomLayer layer;
+    private final RegionRNG[] rngs;
+    private final Region region;
+
+    // The window of each level, from the parent region to the level below the output
+    private final Window[] windows;
+
+    MagnifyRegion(ZoomLayer layer, RegionRNG[] rngs, Region region) {
+        this.layer = layer;
+        this.rngs = rngs;
+        this.region = region;
+
+        windows = new Window[rngs.length];
+        int size = BLOCK_SIZE;
+        for (int i = windows.length - 1; i >= 0; i--) {
+            // A window of n cells zooms out to at most n / 2 + 2 cells
+            size = size / 2 + 2;
+            windows[i] = new Window(size);
+        }
+    }
+
+    @Override
+    public Object getLayer() {
+        return layer;
+    }
+
+    @Override
+    public RegionRNG getRNG() {
+        return rngs[0];
+    }
+
+    @Override
+    protected void generateBlock(int x0, int z0, int[] out) {
+        int levels = windows.length;
+
+        // Find the window of every level, from fine to coarse. Output cell x reads cells x >> 1 and (x >> 1) + 1.
+        int minX = x0, maxX = x0 + BLOCK_SIZE - 1;
+        int minZ = z0, maxZ = z0 + BLOCK_SIZE - 1;
+        for (int i = levels - 1; i >= 0; i--) {
+            minX >>= 1;
+            minZ >>= 1;
+            maxX = (maxX >> 1) + 1;
+            maxZ = (maxZ >> 1) + 1;
+            windows[i].place(minX, minZ, maxX - minX + 1, maxZ - minZ + 1);
+        }
+
+        Window parent = windows[0];
+        int[] values = parent.values;
+        int index = 0;
+        for (int j = 0; j < parent.sizeZ; j++) {
+            for (int i = 0; i < parent.sizeX; i++) {
+                values[index++] = region.getValue(parent.x0 + i, parent.z0 + j);
+            }
+        }
+
+        for (int level = 0; level < levels; level++) {
+            RegionRNG rng = rngs[level];
+            Window input = windows[level];
+            if (level == levels - 1) {
+                index = 0;
+                for (int j = 0; j < BLOCK_SIZE; j++) {
+                    for (int i = 0; i < BLOCK_SIZE; i++) {
+                        int x = x0 + i;
+                        int z = z0 + j;
+                        out[index++] = layer.generate(rng.position(x, z), input, x, z);
+                    }
+                }
+            } else {
+                Window output = windows[level + 1];
+                values = output.values;
+                index = 0;
+                for (int j = 0; j < output.sizeZ; j++) {
+                    for (int i = 0; i < output.sizeX; i++) {
+                        int x = output.x0 + i;
+                        int z = output.z0 + j;
+                        values[index++] = layer.generate(rng.position(x, z), input, x, z);
+                    }
+                }
+            }
+        }
+    }
+
+    // The cells of one level within the window a block depends on, in rows along X
+    private static final class Window implements Region {
+        final int[] values;
+        int x0;
+        int z0;
+        int sizeX;
+        int sizeZ;
+
+        Window(int size) {
+            values = new int[size * size];
+        }
+
+        void place(int x0, int z0, int sizeX, int sizeZ) {
+            this.x0 = x0;
+            this.z0 = z0;
+            this.sizeX = sizeX;
+            this.sizeZ = sizeZ;
+        }
+
+        @Override
+        public int getValue(int x, int z) {
+            return values[(z - z0) * sizeX + x - x0];
+        }
+    }
+}
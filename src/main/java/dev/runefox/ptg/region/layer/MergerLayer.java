@@ -17,20 +17,44 @@ import dev.runefox.ptg.region.Region;
 import dev.runefox.ptg.region.RegionContext;
 import dev.runefox.ptg.region.RegionFactory;
 import dev.runefox.ptg.region.RegionRNG;
+import dev.runefox.ptg.region.util.ValueSet;
 
 @FunctionalInterface
 public interface MergerLayer {
     int generate(RegionRNG rng, Region regionA, Region regionB, int x, int z);
 
+    /**
+     * Returns the values this layer can generate, given the values of the merged regions. Returns {@link
+     * ValueSet#ANY} by default.
+     *
+     * @param a The values of region A
+     * @param b The values of region B
+     * @return The values this layer can generate
+     */
+    default ValueSet values(ValueSet a, ValueSet b) {
+        return ValueSet.ANY;
+    }
+
+    /**
+     * Returns whether this layer returns the value of region A at the same coordinates, given the values of region A.
+     * When this returns true, the layer is skipped, and region B is not even built. Returns false by default.
+     *
+     * @param a The values of region A
+     * @return True if this layer always returns the value of region A
+     */
+    default boolean isIdentityA(ValueSet a) {
+        return false;
+    }
+
     default <R extends Region> RegionFactory<R> factory(RegionContext<R> ctx, long seed, RegionFactory<R> regionFactoryA, RegionFactory<R> regionFactoryB) {
-        return () -> {
+        return ctx.memoize(() -> {
             RegionRNG rng = ctx.getRNG(seed);
             R regionA = regionFactoryA.buildRegion();
+            ValueSet a = ctx.values(regionA);
+            if (isIdentityA(a)) return regionA;
             R regionB = regionFactoryB.buildRegion();
-            return ctx.create(
-                (x, z) -> generate(rng.position(x, z), regionA, regionB, x, z),
-                regionA, regionB
-            );
-        };
+            ValueSet b = ctx.values(regionB);
+            return ctx.create(LayerRegions.merger(ctx, this, rng, regionA, regionB), regionA, regionB, values(a, b));
+        });
     }
 }
@@ -14,10 +14,18 @@
 package dev.runefox.ptg.region.layer;
 
 import dev.runefox.ptg.region.RegionRNG;
+import dev.runefox.ptg.region.util.ValueSet;
 
 public class OutlineLayer implements CastleTransformerLayer {
     public static final OutlineLayer INSTANCE = new OutlineLayer();
 
+    // Subclasses may generate other values, so we only know the values of this class itself
+    @Override
+    public ValueSet values(ValueSet input) {
+        if (getClass() != OutlineLayer.class) return ValueSet.ANY;
+        return input.isConstant() ? ValueSet.of(0) : ValueSet.of(0, 1);
+    }
+
     @Override
     public int generate(RegionRNG rng, int center, int negX, int posX, int negZ, int posZ) {
         return areAllSame(center, negX, posX, negZ, posZ) ? 0 : 1;
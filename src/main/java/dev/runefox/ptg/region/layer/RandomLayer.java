@@ -14,24 +14,31 @@
 package dev.runefox.ptg.region.layer;
 
 import dev.runefox.ptg.region.RegionRNG;
+import dev.runefox.ptg.region.util.ValueSet;
 
 public class RandomLayer implements GeneratorLayer {
     private final RandomFunction function;
+    private final ValueSet values;
 
     public RandomLayer(RandomFunction function) {
+        this(function, ValueSet.ANY);
+    }
+
+    private RandomLayer(RandomFunction function, ValueSet values) {
         this.function = function;
+        this.values = values;
     }
 
     public RandomLayer(int min, int max) {
-        this(rng -> rng.random(max - min + 1) + min);
+        this(rng -> rng.random(max - min + 1) + min, ValueSet.range(min, max));
     }
 
     public RandomLayer(int[] ints) {
-        this(rng -> rng.pickRandom(ints));
+        this(rng -> rng.pickRandom(ints), ValueSet.of(ints));
     }
 
     public RandomLayer(double oneChance) {
-        this(rng -> rng.randomDouble() < oneChance ? 1 : 0);
+        this(rng -> rng.randomDouble() < oneChance ? 1 : 0, oneChance >= 1 ? ValueSet.of(1) : oneChance > 0 ? ValueSet.of(0, 1) : ValueSet.of(0));
     }
 
     @Override
@@ -39,6 +46,12 @@ public class RandomLayer implements GeneratorLayer {
         return function.random(rng);
     }
 
+    // Subclasses may generate other values, so we only know the values of this class itself
+    @Override
+    public ValueSet values() {
+        return getClass() == RandomLayer.class ? values : ValueSet.ANY;
+    }
+
     @FunctionalInterface
     public interface RandomFunction {
         int random(RegionRNG rng);
@@ -16,6 +16,7 @@ package dev.runefox.ptg.region.layer;
 import dev.runefox.ptg.region.RegionRNG;
 import dev.runefox.ptg.region.util.FloatSelector;
 import dev.runefox.ptg.region.util.IntSelector;
+import dev.runefox.ptg.region.util.ValueSet;
 
 public class ReplaceLayer implements FilterTransformerLayer {
     private final IntSelector selector;
@@ -45,4 +46,18 @@ public class ReplaceLayer implements FilterTransformerLayer {
     public int generate(RegionRNG rng, int value) {
         return selector.mustReplace(value) ? replacement : value;
     }
+
+    // Subclasses may replace values randomly, so we only know the values when the replacement is our own
+    @Override
+    public ValueSet values(ValueSet input) {
+        if (!LayerRegions.inheritsFilter(this, ReplaceLayer.class)) return ValueSet.ANY;
+        return input.map(value -> generate(null, value));
+    }
+
+    // A replace layer that can't match any input value does nothing, unless it is a subclass that replaces differently
+    @Override
+    public boolean isIdentity(ValueSet input) {
+        if (!LayerRegions.inheritsFilter(this, ReplaceLayer.class)) return false;
+        return !input.anyMatch(selector::mustReplace);
+    }
 }
@@ -17,6 +17,7 @@ import dev.runefox.ptg.region.Region;
 import dev.runefox.ptg.region.RegionRNG;
 import dev.runefox.ptg.region.util.FloatSelector;
 import dev.runefox.ptg.region.util.IntSelector;
+import dev.runefox.ptg.region.util.ValueSet;
 
 public class ReplaceMergeLayer implements MergerLayer {
     private final IntSelector selector;
@@ -37,6 +38,21 @@ public class ReplaceMergeLayer implements MergerLayer {
         this.selector = val -> Float.intBitsToFloat(val) == selector;
     }
 
+    // Subclasses may merge differently, so we only know the values and identity of this class itself
+    @Override
+    public ValueSet values(ValueSet a, ValueSet b) {
+        if (getClass() != ReplaceMergeLayer.class) return ValueSet.ANY;
+        if (!a.anyMatch(selector::mustReplace)) return a;
+        return a.remove(selector::mustReplace).union(b);
+    }
+
+    // When region A never generates a selected value, region B is never used
+    @Override
+    public boolean isIdentityA(ValueSet a) {
+        if (getClass() != ReplaceMergeLayer.class) return false;
+        return !a.anyMatch(selector::mustReplace);
+    }
+
     // For performance we use a raw MergerLayer
     // - We don't want region B to generate anything unless regionA generated a selected value
     @Override
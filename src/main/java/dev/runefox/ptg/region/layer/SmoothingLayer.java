@@ -14,13 +14,29 @@
 package dev.runefox.ptg.region.layer;
 
 import dev.runefox.ptg.region.RegionRNG;
+import dev.runefox.ptg.region.util.Footprint;
+import dev.runefox.ptg.region.util.ValueSet;
 
 public class SmoothingLayer implements CastleTransformerLayer {
     public static final SmoothingLayer INSTANCE = new SmoothingLayer();
 
+    private static final Footprint FOOTPRINT = Footprint.of(0, -1, 1);
+
     protected SmoothingLayer() {
     }
 
+    // Smoothing copies one of the values around a cell. Subclasses may generate differently, so we only know the
+    // values and footprint of the built-in instance.
+    @Override
+    public ValueSet values(ValueSet input) {
+        return this == INSTANCE ? input : ValueSet.ANY;
+    }
+
+    @Override
+    public Footprint footprint() {
+        return this == INSTANCE ? FOOTPRINT : null;
+    }
+
     @Override
     public int generate(RegionRNG rng, int center, int negX, int posX, int negZ, int posZ) {
         boolean x = negX == posX;
@@ -14,6 +14,7 @@
 package dev.runefox.ptg.region.layer;
 
 import dev.runefox.ptg.region.RegionRNG;
+import dev.runefox.ptg.region.util.ValueSet;
 
 public class StaticValueLayer implements GeneratorLayer {
     private final int value;
@@ -30,4 +31,10 @@ public class StaticValueLayer implements GeneratorLayer {
     public int generate(RegionRNG rng, int x, int z) {
         return value;
     }
+
+    // Subclasses may generate other values, so we only know the values of this class itself
+    @Override
+    public ValueSet values() {
+        return getClass() == StaticValueLayer.class ? ValueSet.of(value) : ValueSet.ANY;
+    }
 }
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2020-2026 O. W. Nankman
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "
+ * AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+
+package dev.runefox.ptg.region.layer;
+
+import dev.runefox.ptg.region.Region;
+
+/**
+ * A {@link Region} that evaluates a layer reading a small neighbourhood of cells of another {@link Region}. Neighbouring
+ * cells read mostly the same cells, so this region remembers recently read cells in a direct-mapped table of 256 by 4
+ * cells. Three adjacent rows of cells never evict each other, so a cell of the transformed region is read only once as
+ * long as the cells around it are requested shortly after one another, without the locking and hashing of a
+ * {@code LazyRegion} lookup for every read. Like the RNGs of layers, this region must not be used by multiple threads
+ * at once.
+ */
+abstract class StencilRegion implements Region {
+    private static final int CACHE_X_BITS = 8;
+    private static final int CACHE_Z_BITS = 2;
+    private static final int CACHE_X_MASK = (1 << CACHE_X_BITS) - 1;
+    private static final int CACHE_Z_MASK = (1 << CACHE_Z_BITS) - 1;
+
+    private final Region region;
+    private final long[] keys = new long[1 << CACHE_X_BITS + CACHE_Z_BITS];
+    private final int[] values = new int[keys.length];
+
+    StencilRegion(Region region) {
+        this.region = region;
+
+        // Every slot starts with the key of a cell of another slot, so that it never matches
+        for (int slot = 0; slot < keys.length; slot++) {
+            keys[slot] = key(slot & CACHE_X_MASK, (slot >> CACHE_X_BITS) + 1);
+        }
+    }
+
+    /**
+     * Returns the value of the transformed region at the given coordinates, reading it from the transformed region
+     * only when it is not in the table.
+     */
+    final int read(int x, int z) {
+        int slot = (z & CACHE_Z_MASK) << CACHE_X_BITS | x & CACHE_X_MASK;
+        long key = key(x, z);
+        if (keys[slot] != key) {
+            values[slot] = region.getValue(x, z);
+            keys[slot] = key;
+        }
+        return values[slot];
+    }
+
+    private static long key(int x, int z) {
+        return (long) x << 32 | z & 0xFFFFFFFFL;
+    }
+}
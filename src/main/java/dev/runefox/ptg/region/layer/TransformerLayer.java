@@ -17,16 +17,53 @@ import dev.runefox.ptg.region.Region;
 import dev.runefox.ptg.region.RegionContext;
 import dev.runefox.ptg.region.RegionFactory;
 import dev.runefox.ptg.region.RegionRNG;
+import dev.runefox.ptg.region.util.Footprint;
+import dev.runefox.ptg.region.util.ValueSet;
 
 @FunctionalInterface
 public interface TransformerLayer {
     int generate(RegionRNG rng, Region region, int x, int z);
 
+    /**
+     * Returns the values this layer can generate, given the values of the transformed region. Returns {@link
+     * ValueSet#ANY} by default.
+     *
+     * @param input The values of the transformed region
+     * @return The values this layer can generate
+     */
+    default ValueSet values(ValueSet input) {
+        return ValueSet.ANY;
+    }
+
+    /**
+     * Returns whether this layer returns the value of the transformed region at the same coordinates, given the values
+     * of the transformed region. When this returns true, the layer is skipped. Returns false by default.
+     *
+     * @param input The values of the transformed region
+     * @return True if this layer doesn't change the transformed region
+     */
+    default boolean isIdentity(ValueSet input) {
+        return false;
+    }
+
+    /**
+     * Returns the footprint of this layer, if every value this layer generates is one of the values it reads from the
+     * transformed region within that footprint. Returns null by default, meaning that the layer may generate other
+     * values, or read cells anywhere.
+     *
+     * @return The footprint of this layer, or null
+     */
+    default Footprint footprint() {
+        return null;
+    }
+
     default <R extends Region> RegionFactory<R> factory(RegionContext<R> ctx, long seed, RegionFactory<R> regionFactory) {
-        return () -> {
+        return ctx.memoize(() -> {
             RegionRNG rng = ctx.getRNG(seed);
             R region = regionFactory.buildRegion();
-            return ctx.create((x, z) -> generate(rng.position(x, z), region, x, z), region);
-        };
+            ValueSet input = ctx.values(region);
+            if (isIdentity(input)) return region;
+            return ctx.create(LayerRegions.transformer(ctx, this, rng, region), region, values(input), footprint());
+        });
     }
 }
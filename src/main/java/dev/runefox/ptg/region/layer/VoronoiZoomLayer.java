@@ -14,14 +14,47 @@
 package dev.runefox.ptg.region.layer;
 
 import dev.runefox.ptg.region.Region;
+import dev.runefox.ptg.region.RegionContext;
+import dev.runefox.ptg.region.RegionFactory;
 import dev.runefox.ptg.region.RegionRNG;
+import dev.runefox.ptg.region.util.Footprint;
+import dev.runefox.ptg.region.util.ValueSet;
 
 public class VoronoiZoomLayer implements TransformerLayer {
     public static final VoronoiZoomLayer INSTANCE = new VoronoiZoomLayer();
 
+    // Cell x reads cells x - 2 >> 2 and (x - 2 >> 2) + 1 = x + 2 >> 2
+    private static final Footprint FOOTPRINT = Footprint.of(2, -2, 2);
+
     protected VoronoiZoomLayer() {
     }
 
+    // Every value is picked from the values of the zoomed region. Subclasses may generate differently, so we only know
+    // the values and footprint of the built-in instance.
+    @Override
+    public ValueSet values(ValueSet input) {
+        return this == INSTANCE ? input : ValueSet.ANY;
+    }
+
+    @Override
+    public Footprint footprint() {
+        return this == INSTANCE ? FOOTPRINT : null;
+    }
+
+    // This layer itself is evaluated by a region that caches the jitter of lattice points. Subclasses may generate
+    // differently, so they are evaluated like any other layer.
+    @Override
+    public <R extends Region> RegionFactory<R> factory(RegionContext<R> ctx, long seed, RegionFactory<R> regionFactory) {
+        if (getClass() != VoronoiZoomLayer.class) {
+            return TransformerLayer.super.factory(ctx, seed, regionFactory);
+        }
+        return ctx.memoize(() -> {
+            RegionRNG rng = ctx.getRNG(seed);
+            R region = regionFactory.buildRegion();
+            return ctx.create(new VoronoiZoomRegion(rng, region), region, values(ctx.values(region)), footprint());
+        });
+    }
+
     @Override
     public int generate(RegionRNG rng, Region region, int x, int z) {
         int ox = x - 2;
@@ -72,13 +105,13 @@ public class VoronoiZoomLayer implements TransformerLayer {
         }
     }
 
-    private static double distSq(double x, double z, double px, double pz) {
+    static double distSq(double x, double z, double px, double pz) {
         double rx = x - px;
         double rz = z - pz;
         return rx * rx + rz * rz;
     }
 
-    private static double randomPointCoord(RegionRNG rng) {
+    static double randomPointCoord(RegionRNG rng) {
         return (rng.random(1024) / 1024D - 0.5) * 3.6;
     }
 }
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2020-2026 O. W. Nankman
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "
+ * AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package dev.runefox.ptg.region.layer;
+
+import dev.runefox.ptg.region.LayerRegion;
+import dev.runefox.ptg.region.Region;
+import dev.runefox.ptg.region.RegionRNG;
+
+import java.util.Arrays;
+
+/**
+ * The {@link Region} that evaluates the {@link VoronoiZoomLayer}. The jitter of a lattice point is shared by the 16
+ * cells around it, so this region remembers the jitter of recently used lattice points in a direct-mapped table of 64
+ * by 4 points, which covers strips of 256 cells wide. Like the RNG it uses, this region must not be used by multiple
+ * threads at once.
+ */
+final class VoronoiZoomRegion implements LayerRegion {
+    private static final int CACHE_X_BITS = 6;
+    private static final int CACHE_Z_BITS = 2;
+    private static final int CACHE_X_MASK = (1 << CACHE_X_BITS) - 1;
+    private static final int CACHE_Z_MASK = (1 << CACHE_Z_BITS) - 1;
+
+    // Lattice points lie at multiples of 4, so a key with an odd Z coordinate never matches a lattice point
+    private static final long EMPTY = 1;
+
+    private final RegionRNG rng;
+    private final Region region;
+    private final long[] keys = new long[1 << CACHE_X_BITS + CACHE_Z_BITS];
+    private final double[] points = new double[keys.length * 2];
+
+    VoronoiZoomRegion(RegionRNG rng, Region region) {
+        this.rng = rng;
+        this.region = region;
+        Arrays.fill(keys, EMPTY);
+    }
+
+    // Returns the index in the point table of the jitter of the lattice point at the given coordinates, computing the
+    // jitter first when it is not in the table
+    private int point(int x, int z) {
+        int slot = (z >> 2 & CACHE_Z_MASK) << CACHE_X_BITS | x >> 2 & CACHE_X_MASK;
+        long key = (long) x << 32 | z & 0xFFFFFFFFL;
+        int index = slot * 2;
+        if (keys[slot] != key) {
+            rng.setPosition(x, z);
+            points[index] = VoronoiZoomLayer.randomPointCoord(rng);
+            points[index + 1] = VoronoiZoomLayer.randomPointCoord(rng);
+            keys[slot] = key;
+        }
+        return index;
+    }
+
+    @Override
+    public Object getLayer() {
+        return VoronoiZoomLayer.INSTANCE;
+    }
+
+    @Override
+    public RegionRNG getRNG() {
+        return rng;
+    }
+
+    @Override
+    public int getValue(int x, int z) {
+        int ox = x - 2;
+        int oz = z - 2;
+
+        int lx = ox >> 2 << 2;
+        int lz = oz >> 2 << 2;
+
+        int ux = lx + 4;
+        int uz = lz + 4;
+
+        // The four lattice points fall in four different slots, so they can't evict each other
+        int p00 = point(lx, lz);
+        int p10 = point(ux, lz);
+        int p01 = point(lx, uz);
+        int p11 = point(ux, uz);
+
+        double[] points = this.points;
+        double point00X = points[p00];
+        double point00Z = points[p00 + 1];
+        double point10X = points[p10] + 4;
+        double point10Z = points[p10 + 1];
+        double point01X = points[p01];
+        double point01Z = points[p01 + 1] + 4;
+        double point11X = points[p11] + 4;
+        double point11Z = points[p11 + 1] + 4;
+
+        int sx = ox & 3;
+        int sz = oz & 3;
+
+        double dist00 = VoronoiZoomLayer.distSq(sx, sz, point00X, point00Z);
+        double dist10 = VoronoiZoomLayer.distSq(sx, sz, point10X, point10Z);
+        double dist01 = VoronoiZoomLayer.distSq(sx, sz, point01X, point01Z);
+        double dist11 = VoronoiZoomLayer.distSq(sx, sz, point11X, point11Z);
+
+        if (dist00 < dist01 && dist00 < dist10 && dist00 < dist11) {
+            return region.getValue(lx >> 2, lz >> 2);
+        } else if (dist01 < dist10 && dist01 < dist11) {
+            return region.getValue(lx >> 2, uz >> 2);
+        } else if (dist10 < dist11) {
+            return region.getValue(ux >> 2, lz >> 2);
+        } else {
+            return region.getValue(ux >> 2, uz >> 2);
+        }
+    }
+}
@@ -17,6 +17,10 @@ import dev.runefox.ptg.region.Region;
 import dev.runefox.ptg.region.RegionContext;
 import dev.runefox.ptg.region.RegionFactory;
 import dev.runefox.ptg.region.RegionRNG;
+import dev.runefox.ptg.region.util.Footprint;
+import dev.runefox.ptg.region.util.ValueSet;
+
+import java.util.function.Consumer;
 
 /**
  * Transformation layer that zooms in on another layer with a ratio of 2:1.
@@ -24,6 +28,9 @@ import dev.runefox.ptg.region.RegionRNG;
 public class ZoomLayer implements TransformerLayer {
     public static final ZoomLayer INSTANCE = new ZoomLayer();
 
+    // Cell x reads cells x >> 1 and (x >> 1) + 1 = x + 2 >> 1
+    private static final Footprint FOOTPRINT = Footprint.of(1, 0, 2);
+
     protected ZoomLayer() {
     }
 
@@ -62,6 +69,22 @@ public class ZoomLayer implements TransformerLayer {
         return pickRandom(rng, v00, v01, v10, v11);
     }
 
+    // Every zoomed value is picked from the values of the zoomed region. Subclasses may pick values differently, so we
+    // only know the values and footprint of the built-in instances.
+    @Override
+    public ValueSet values(ValueSet input) {
+        return isBuiltIn() ? input : ValueSet.ANY;
+    }
+
+    @Override
+    public Footprint footprint() {
+        return isBuiltIn() ? FOOTPRINT : null;
+    }
+
+    private boolean isBuiltIn() {
+        return this == INSTANCE || this == FuzzyZoomLayer.INSTANCE || this == CellZoomLayer.INSTANCE;
+    }
+
     protected int pickRandom(RegionRNG rng, int a, int b) {
         return rng.pickRandom(a, b);
     }
@@ -149,10 +172,55 @@ public class ZoomLayer implements TransformerLayer {
     }
 
     public <R extends Region> RegionFactory<R> magnify(RegionContext<R> ctx, long seed, RegionFactory<R> factory, int amount) {
+        return magnify(ctx, seed, factory, amount, level -> {
+        });
+    }
+
+    /**
+     * Applies this layer the given amount of times, passing the factory chain to the given consumer right before each
+     * time this layer is applied. The consumer thus receives every intermediate level of detail, from coarse to fine.
+     * <p>
+     * When this layer is applied more than once, the returned factory evaluates all levels at once, in blocks of 16x16
+     * cells, and caches only the final level. It gives the same values as applying the layer level by level. The
+     * factories passed to the consumer build the intermediate levels as separate regions, which the returned factory
+     * doesn't share. Layers that override {@link
+     * #generate} are always applied level by level.
+     */
+    public <R extends Region> RegionFactory<R> magnify(RegionContext<R> ctx, long seed, RegionFactory<R> factory, int amount, Consumer<RegionFactory<R>> levels) {
+        if (amount < 2 || !LayerRegions.inheritsGenerate(this, ZoomLayer.class)) {
+            for (int i = 0; i < amount; i++) {
+                levels.accept(factory);
+                factory = factory(ctx, seed, factory);
+                seed = seed * 1277 + 73 & 0xFFFF;
+            }
+            return factory;
+        }
+
+        RegionFactory<R> parent = factory;
+        long[] seeds = new long[amount];
         for (int i = 0; i < amount; i++) {
-            factory = factory(ctx, seed, factory);
+            levels.accept(factory);
+            seeds[i] = seed;
+            if (i < amount - 1) {
+                factory = factory(ctx, seed, factory);
+            }
             seed = seed * 1277 + 73 & 0xFFFF;
         }
-        return factory;
+
+        return ctx.memoize(() -> {
+            R region = parent.buildRegion();
+            RegionRNG[] rngs = new RegionRNG[seeds.length];
+            ValueSet values = ctx.values(region);
+            Footprint footprint = footprint();
+            Footprint combined = footprint;
+            for (int i = 0; i < seeds.length; i++) {
+                rngs[i] = ctx.getRNG(seeds[i]);
+                values = values(values);
+                if (i > 0 && combined != null) {
+                    combined = combined.andThen(footprint);
+                }
+            }
+            return ctx.create(new MagnifyRegion(this, rngs, region), region, values, combined);
+        });
     }
 }
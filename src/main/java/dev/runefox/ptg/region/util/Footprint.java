@@ -0,0 +1,109 @@
+/*
+ * Copyright 2020-2026 O. W. Nankman
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "
+ * AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package dev.runefox.ptg.region.util;
+
+/**
+ * Describes which cells of its input region a transforming layer reads, for a layer whose output value is always one of
+ * the input values it reads. The cell at coordinate {@code x} of the output reads the input cells from {@code (x + min)
+ * >> shift} up to and including {@code (x + max) >> shift}, and the same goes for the Z axis. A footprint may be larger
+ * than the actual set of cells a layer reads, but never smaller.
+ * <p>
+ * Footprints allow searching a region for a value from coarse to fine: when none of the input cells of an area of
+ * output cells has a certain value, then none of the output cells in that area has that value either.
+ */
+public final class Footprint {
+    private final int shift;
+    private final int min;
+    private final int max;
+
+    private Footprint(int shift, int min, int max) {
+        this.shift = shift;
+        this.min = min;
+        this.max = max;
+    }
+
+    /**
+     * Returns a footprint where output cell {@code x} reads the input cells from {@code (x + min) >> shift} to {@code
+     * (x + max) >> shift}.
+     *
+     * @param shift The amount of bits an output coordinate is shifted by to obtain an input coordinate, i.e. the
+     *              logarithm of the zoom factor of the layer
+     * @param min   The lowest offset, in output cells, of the cells read
+     * @param max   The highest offset, in output cells, of the cells read
+     */
+    public static Footprint of(int shift, int min, int max) {
+        if (shift < 0 || shift > 16) {
+            throw new IllegalArgumentException("Shift must be between 0 and 16.");
+        }
+        if (max < min) {
+            throw new IllegalArgumentException("Max offset must not be less than min offset.");
+        }
+        return new Footprint(shift, min, max);
+    }
+
+    public int getShift() {
+        return shift;
+    }
+
+    public int getMin() {
+        return min;
+    }
+
+    public int getMax() {
+        return max;
+    }
+
+    /**
+     * Returns the lowest input coordinate read by the given output coordinate.
+     */
+    public int inputMin(int x) {
+        return x + min >> shift;
+    }
+
+    /**
+     * Returns the highest input coordinate read by the given output coordinate.
+     */
+    public int inputMax(int x) {
+        return x + max >> shift;
+    }
+
+    /**
+     * Returns the lowest output coordinate that reads the given input coordinate.
+     */
+    public int outputMin(int x) {
+        return (x << shift) - max;
+    }
+
+    /**
+     * Returns the highest output coordinate that reads the given input coordinate.
+     */
+    public int outputMax(int x) {
+        return (x + 1 << shift) - 1 - min;
+    }
+
+    /**
+     * Returns the footprint of applying the layer of this footprint and then the layer of the given footprint on top of
+     * it, or null when the combined shift is more than 16.
+     *
+     * @param next The footprint of the layer applied on top
+     */
+    public Footprint andThen(Footprint next) {
+        if (shift + next.shift > 16) return null;
+        return new Footprint(shift + next.shift, next.min + (min << next.shift), next.max + (max << next.shift));
+    }
+
+    @Override
+    public String toString() {
+        return "Footprint[shift=" + shift + ", min=" + min + ", max=" + max + "]";
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2020-2026 O. W. Nankman
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "
+ * AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package dev.runefox.ptg.region.util;
+
+import java.util.Arrays;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * The set of values a region can possibly generate, as far as it is known when the region is built. A value set is
+ * either a finite set of at most {@link #LIMIT} values, or {@linkplain #ANY any value}, when the values are unknown or
+ * when there are too many to track. Layers use value sets to find out when a region is constant, or when a layer can't
+ * change anything, so that such layers can be skipped.
+ */
+public final class ValueSet {
+    /** The maximum amount of values a finite value set tracks. Larger sets become {@link #ANY}. */
+    public static final int LIMIT = 256;
+
+    /** The value set that contains any value. */
+    public static final ValueSet ANY = new ValueSet(null);
+
+    /** The value set that contains no values. */
+    public static final ValueSet NONE = new ValueSet(new int[0]);
+
+    private final int[] values;
+
+    private ValueSet(int[] values) {
+        this.values = values;
+    }
+
+    private static ValueSet sorted(int[] values) {
+        Arrays.sort(values);
+        int n = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (i == 0 || values[i] != values[i - 1]) values[n++] = values[i];
+        }
+        if (n > LIMIT) return ANY;
+        return new ValueSet(n == values.length ? values : Arrays.copyOf(values, n));
+    }
+
+    /**
+     * Returns the value set of the given values.
+     */
+    public static ValueSet of(int... values) {
+        if (values.length > LIMIT * 16) {
+            // Do not sort huge arrays just to find out they have too many distinct values
+            return sorted(Arrays.stream(values).distinct().limit(LIMIT + 1).toArray());
+        }
+        return sorted(values.clone());
+    }
+
+    /**
+     * Returns the value set of all values from {@code min} to {@code max}, inclusive.
+     */
+    public static ValueSet range(int min, int max) {
+        if (max < min) return NONE;
+        if ((long) max - min >= LIMIT) return ANY;
+        int[] values = new int[max - min + 1];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = min + i;
+        }
+        return new ValueSet(values);
+    }
+
+    /**
+     * Returns whether this set contains any value.
+     */
+    public boolean isAny() {
+        return values == null;
+    }
+
+    /**
+     * Returns whether this set contains exactly one value.
+     */
+    public boolean isConstant() {
+        return values != null && values.length == 1;
+    }
+
+    /**
+     * Returns the only value of this set.
+     *
+     * @throws IllegalStateException If this set is not {@linkplain #isConstant() constant}
+     */
+    public int constant() {
+        if (!isConstant()) throw new IllegalStateException("Value set is not constant");
+        return values[0];
+    }
+
+    /**
+     * Returns the amount of values in this set, or -1 if this set contains any value.
+     */
+    public int size() {
+        return values == null ? -1 : values.length;
+    }
+
+    /**
+     * Returns whether this set may contain the given value.
+     */
+    public boolean contains(int value) {
+        return values == null || Arrays.binarySearch(values, value) >= 0;
+    }
+
+    /**
+     * Returns whether the given predicate may hold for some value in this set. For {@link #ANY}, this is always true.
+     */
+    public boolean anyMatch(IntPredicate predicate) {
+        if (values == null) return true;
+        for (int v : values) {
+            if (predicate.test(v)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the values of this set in ascending order, or null if this set contains any value.
+     */
+    public int[] values() {
+        return values == null ? null : values.clone();
+    }
+
+    /**
+     * Returns the union of this set and the given set.
+     */
+    public ValueSet union(ValueSet other) {
+        if (values == null || other.values == null) return ANY;
+        int[] all = Arrays.copyOf(values, values.length + other.values.length);
+        System.arraycopy(other.values, 0, all, values.length, other.values.length);
+        return sorted(all);
+    }
+
+    /**
+     * Returns the values of this set for which the given predicate does not hold. For {@link #ANY}, this is
+     * {@link #ANY}.
+     */
+    public ValueSet remove(IntPredicate predicate) {
+        if (values == null) return ANY;
+        return new ValueSet(Arrays.stream(values).filter(predicate.negate()).toArray());
+    }
+
+    /**
+     * Returns the set of results of the given function for every value in this set. The function must not have side
+     * effects.
+     */
+    public ValueSet map(IntUnaryOperator function) {
+        if (values == null) return ANY;
+        int[] mapped = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            mapped[i] = function.applyAsInt(values[i]);
+        }
+        return sorted(mapped);
+    }
+
+    /**
+     * Returns the set of results of the given function for every pair of a value in this set and a value in the other
+     * set. The function must not have side effects.
+     */
+    public ValueSet combine(ValueSet other, IntBinaryOperator function) {
+        if (values == null || other.values == null) return ANY;
+        if ((long) values.length * other.values.length > (long) LIMIT * LIMIT) return ANY;
+        int[] combined = new int[values.length * other.values.length];
+        int n = 0;
+        for (int a : values) {
+            for (int b : other.values) {
+                combined[n++] = function.applyAsInt(a, b);
+            }
+        }
+        return sorted(combined);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof ValueSet)) return false;
+        return Arrays.equals(values, ((ValueSet) obj).values);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(values);
+    }
+
+    @Override
+    public String toString() {
+        return values == null ? "ValueSet[any]" : "ValueSet" + Arrays.toString(values);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2020-2026 O. W. Nankman
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "
+ * AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+
+import dev.runefox.ptg.region.LazyRegion;
+import dev.runefox.ptg.region.LazyRegionContext;
+import dev.runefox.ptg.region.RegionCheckpoint;
+import dev.runefox.ptg.region.layer.CastleTransformerLayer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+// Round trip of a region checkpoint. A checkpoint saved from a region stack must restore into a freshly built copy of
+// that stack, with the same progress cursor and the same values afterwards, and must be rejected by stacks with another
+// world seed or other layer seeds. Restoring must bring back the cache itself, so saving the restored stack again must
+// give the same checkpoint. Layers that are lambdas must be recognised across runs, even though the JVM names their
+// classes differently each time.
+public final class CheckpointRoundTrip {
+    private static final int SIZE = 64;
+
+    private CheckpointRoundTrip() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        LazyRegion saved = stack(1, 7);
+        int[] expected = new int[SIZE * SIZE];
+        saved.fill(0, 0, SIZE, SIZE, expected, 0);
+
+        byte[] checkpoint = save(saved, 1234);
+
+        LazyRegion restored = stack(1, 7);
+        long progress = RegionCheckpoint.restore(restored, new ByteArrayInputStream(checkpoint));
+        check(progress == 1234, "progress cursor changed to " + progress);
+        check(Arrays.equals(save(restored, 1234), checkpoint), "cache changed after restoring");
+
+        int[] values = new int[SIZE * SIZE];
+        restored.fill(0, 0, SIZE, SIZE, values, 0);
+        for (int i = 0; i < values.length; i++) {
+            check(values[i] == expected[i], "value " + i + " changed after restoring");
+        }
+
+        reject(stack(2, 7), checkpoint, "a different world seed");
+        reject(stack(1, 8), checkpoint, "a different layer seed");
+
+        // Two lambdas from different call sites get classes with a different counter in their name, like a lambda
+        // from the same call site would get in another run
+        LazyRegion lambda = castle((rng, center, negX, posX, negZ, posZ) -> center == negX ? posX : center);
+        lambda.fill(0, 0, SIZE, SIZE, expected, 0);
+        byte[] lambdaCheckpoint = save(lambda, 5678);
+
+        LazyRegion otherLambda = castle((rng, center, negX, posX, negZ, posZ) -> center == negX ? posX : center);
+        progress = RegionCheckpoint.restore(otherLambda, new ByteArrayInputStream(lambdaCheckpoint));
+        check(progress == 5678, "progress cursor of lambda stack changed to " + progress);
+        check(Arrays.equals(save(otherLambda, 5678), lambdaCheckpoint), "cache of lambda stack changed after restoring");
+        System.out.println("Checkpoint round trip passed (" + checkpoint.length + " bytes)");
+    }
+
+    private static LazyRegion stack(long worldSeed, long seed) {
+        LazyRegionContext ctx = new LazyRegionContext(25, worldSeed);
+        return ctx.random(0, 40, seed).zoom(3).smooth().zoomVoronoi().buildRegion();
+    }
+
+    private static LazyRegion castle(CastleTransformerLayer layer) {
+        LazyRegionContext ctx = new LazyRegionContext(25, 1);
+        return ctx.random(0, 40, 7).zoom(2).transform(layer).buildRegion();
+    }
+
+    private static byte[] save(LazyRegion region, long progress) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RegionCheckpoint.save(region, progress, out);
+        return out.toByteArray();
+    }
+
+    private static void reject(LazyRegion region, byte[] checkpoint, String difference) {
+        try {
+            RegionCheckpoint.restore(region, new ByteArrayInputStream(checkpoint));
+        } catch (IOException exc) {
+            return;
+        }
+        throw new AssertionError("Checkpoint restored into a stack with " + difference);
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) throw new AssertionError(message);
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2020-2026 O. W. Nankman
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "
+ * AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+import dev.runefox.ptg.noise.util.Hash;
+import dev.runefox.ptg.noise.util.HashFamily;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+// Statistical quality and speed of the hash families. For every input bit of the seed and the coordinates, the test
+// flips that bit on random inputs and records which of the 31 output bits flip.
+// - Avalanche: every output bit should flip with a probability of 1/2. The worst bias |p - 1/2| is reported.
+// - Bit independence: the flips of every two output bits should be uncorrelated. The worst |correlation| is reported.
+// With the default amount of trials, sampling noise alone gives a worst bias of about 0.016 and a worst correlation of
+// about 0.035, so a good hash stays near those. After that, the 2D hash functions of both families are timed.
+public final class HashQuality {
+    private static final int OUTPUT_BITS = 31;
+    private static final int INPUT_BITS = 32 + 64 + 64;
+
+    private HashQuality() {
+    }
+
+    public static void main(String[] args) {
+        int trials = args.length > 0 ? Integer.parseInt(args[0]) : 1 << 14;
+        for (HashFamily family : HashFamily.values()) {
+            test(family, trials);
+        }
+        for (int round = 0; round < 5; round++) {
+            for (HashFamily family : HashFamily.values()) {
+                benchmark(family);
+            }
+        }
+    }
+
+    private static int hash(HashFamily family, int seed, long x, long y) {
+        return family == HashFamily.MIX ? Hash.mix2I(seed, x, y) : Hash.hash2I(seed, x, y);
+    }
+
+    private static void test(HashFamily family, int trials) {
+        SplittableRandom random = new SplittableRandom(9521);
+        double worstBias = 0;
+        double worstCorrelation = 0;
+        int worstBiasBit = 0;
+        int worstCorrelationBit = 0;
+
+        long[] flips = new long[OUTPUT_BITS];
+        long[][] pairs = new long[OUTPUT_BITS][OUTPUT_BITS];
+        for (int bit = 0; bit < INPUT_BITS; bit++) {
+            Arrays.fill(flips, 0);
+            for (long[] row : pairs) Arrays.fill(row, 0);
+
+            for (int t = 0; t < trials; t++) {
+                int seed = random.nextInt();
+                long x = random.nextLong();
+                long y = random.nextLong();
+                int a = hash(family, seed, x, y);
+
+                if (bit < 32) seed ^= 1 << bit;
+                else if (bit < 96) x ^= 1L << bit - 32;
+                else y ^= 1L << bit - 96;
+                int diff = a ^ hash(family, seed, x, y);
+
+                for (int j = 0; j < OUTPUT_BITS; j++) {
+                    if ((diff >>> j & 1) == 0) continue;
+                    flips[j]++;
+                    for (int k = j + 1; k < OUTPUT_BITS; k++) {
+                        pairs[j][k] += diff >>> k & 1;
+                    }
+                }
+            }
+
+            for (int j = 0; j < OUTPUT_BITS; j++) {
+                double pj = flips[j] / (double) trials;
+                double bias = Math.abs(pj - 0.5);
+                if (bias > worstBias) {
+                    worstBias = bias;
+                    worstBiasBit = bit;
+                }
+                for (int k = j + 1; k < OUTPUT_BITS; k++) {
+                    double pk = flips[k] / (double) trials;
+                    double pjk = pairs[j][k] / (double) trials;
+                    double var = pj * (1 - pj) * pk * (1 - pk);
+                    double corr = var == 0 ? 1 : Math.abs(pjk - pj * pk) / Math.sqrt(var);
+                    if (corr > worstCorrelation) {
+                        worstCorrelation = corr;
+                        worstCorrelationBit = bit;
+                    }
+                }
+            }
+        }
+
+        System.out.printf(
+            Locale.ROOT, "%-8s avalanche bias %.4f (input bit %d), bit independence %.4f (input bit %d)%n",
+            family, worstBias, worstBiasBit, worstCorrelation, worstCorrelationBit
+        );
+    }
+
+    private static void benchmark(HashFamily family) {
+        int samples = 1 << 24;
+        int sum = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < samples; i++) {
+            sum += hash(family, 617259123, i & 4095, (i >> 12) - 2048);
+        }
+        long time = System.nanoTime() - start;
+        System.out.printf(Locale.ROOT, "%-8s %6.2f ns/hash%s%n", family, time / (double) samples, sum == 42 ? " " : "");
+    }
+}
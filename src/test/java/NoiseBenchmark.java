@@ -0,0 +1,153 @@
+/*
+ * Copyright 2020-2026 O. W. Nankman
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "
+ * AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+import dev.runefox.ptg.noise.BaseNoise2D;
+import dev.runefox.ptg.noise.BaseNoise3D;
+import dev.runefox.ptg.noise.Noise2D;
+import dev.runefox.ptg.noise.Noise3D;
+import dev.runefox.ptg.noise.Noise4D;
+import dev.runefox.ptg.noise.cell.*;
+import dev.runefox.ptg.noise.opensimplex.*;
+import dev.runefox.ptg.noise.perlin.*;
+import dev.runefox.ptg.noise.simplex.*;
+import dev.runefox.ptg.noise.value.*;
+import dev.runefox.ptg.noise.util.HashFamily;
+import dev.runefox.ptg.noise.worley.*;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// Rough throughput measurement of noise generators. All generators run interleaved for several rounds, so that shared
+// call sites see every noise type, as they do in a world generator that mixes many noises. The best round is reported.
+public final class NoiseBenchmark {
+    private static final int SAMPLES = 1 << 20;
+    private static final int ROUNDS = 8;
+
+    private static double sink;
+
+    private NoiseBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int seed = 617259123;
+        Noise2D[] noises2 = {
+            new Perlin2D(seed, 16),
+            new Value2D(seed, 16),
+            new Simplex2D(seed, 16),
+            new OpenSimplex2D(seed, 16),
+            new Worley2D(seed, 16),
+            new Cell2D(seed, 16),
+            new RepetitivePerlin2D(seed, 16, 64),
+            new FractalPerlin2D(seed, 16, 6),
+            mix(new Perlin2D(seed, 16)),
+            mix(new Worley2D(seed, 16)),
+            mix(new FractalPerlin2D(seed, 16, 6)),
+            new Perlin2D(seed, 64).warp(new FractalPerlin2D(seed + 1, 32, 4), new FractalPerlin2D(seed + 2, 32, 4), 8)
+        };
+        Noise3D[] noises3 = {
+            new Perlin3D(seed, 16),
+            new Value3D(seed, 16),
+            new Simplex3D(seed, 16),
+            new OpenSimplex3D(seed, 16),
+            new Worley3D(seed, 16),
+            new RepetitivePerlin3D(seed, 16, 64),
+            new FractalOpenSimplex3D(seed, 16, 6),
+            mix(new Perlin3D(seed, 16)),
+            mix(new Worley3D(seed, 16))
+        };
+        Noise4D[] noises4 = {
+            new Simplex4D(seed, 16),
+            new OpenSimplex4D(seed, 16),
+            new FractalOpenSimplex4D(seed, 16, 6)
+        };
+
+        Map<String, Long> best = new LinkedHashMap<>();
+        for (int round = 0; round < ROUNDS; round++) {
+            for (Noise2D noise : noises2) {
+                measure(best, name(noise), () -> run2D(noise));
+            }
+            for (Noise3D noise : noises3) {
+                measure(best, name(noise), () -> run3D(noise));
+            }
+            for (Noise4D noise : noises4) {
+                measure(best, name(noise), () -> run4D(noise));
+                measure(best, name(noise) + " (grid)", () -> run4DGrid(noise));
+            }
+        }
+        best.forEach((name, time) -> System.out.printf(Locale.ROOT, "%-28s %8.2f ns/sample%n", name, time / (double) SAMPLES));
+        System.out.print(sink == 0 ? "" : " ");
+    }
+
+    private static BaseNoise2D mix(BaseNoise2D noise) {
+        noise.setHashFamily(HashFamily.MIX);
+        return noise;
+    }
+
+    private static BaseNoise3D mix(BaseNoise3D noise) {
+        noise.setHashFamily(HashFamily.MIX);
+        return noise;
+    }
+
+    private static String name(Object noise) {
+        String name = noise.getClass().getSimpleName();
+        if (noise instanceof BaseNoise2D base && base.getHashFamily() == HashFamily.MIX
+                || noise instanceof BaseNoise3D base3 && base3.getHashFamily() == HashFamily.MIX)
+            return name + " (MIX)";
+        return name;
+    }
+
+    static void measure(Map<String, Long> best, String name, Runnable task) {
+        long start = System.nanoTime();
+        task.run();
+        long time = System.nanoTime() - start;
+        best.merge(name, time, Math::min);
+    }
+
+    private static void run2D(Noise2D noise) {
+        double sum = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            sum += noise.generate((i & 1023) * 0.37, (i >> 10) * 0.37);
+        }
+        sink += sum;
+    }
+
+    private static void run3D(Noise3D noise) {
+        double sum = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            sum += noise.generate((i & 127) * 0.37, (i >> 7 & 127) * 0.37, (i >> 14) * 0.37);
+        }
+        sink += sum;
+    }
+
+    private static void run4D(Noise4D noise) {
+        double sum = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            sum += noise.generate((i & 127) * 0.37, (i >> 7 & 127) * 0.37, (i >> 14) * 0.37, 1.5);
+        }
+        sink += sum;
+    }
+
+    // The same points as run4D, generated one 128x128 layer at a time
+    private static void run4DGrid(Noise4D noise) {
+        double[] out = new double[128 * 128];
+        double sum = 0;
+        for (int k = 0; k < SAMPLES >> 14; k++) {
+            noise.generateGrid(0, 0, k * 0.37, 1.5, 0.37, 0.37, 0.37, 128, 128, 1, out, 0);
+            for (double v : out) {
+                sum += v;
+            }
+        }
+        sink += sum;
+    }
+}